@@ -0,0 +1,114 @@
+package com.autoapply.auth;
+
+import com.autoapply.auth.entity.User;
+import com.autoapply.auth.security.TokenEpochs;
+import com.autoapply.auth.service.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-request cost of JWT authentication before and after parse-once verification,
+ * plus the cost of signing a token at login.
+ * The {@code hmacVerifications} aux counter reports signature verifications per simulated request:
+ * 3 for the legacy filter path, 1 for a cold cache and 0 for a warm one.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+    private static final String SECRET = "benchmark-secret-key-with-at-least-256-bits-of-entropy";
+
+    private static final int DISTINCT_TOKENS = 1024;
+
+    private JwtService jwtService;
+    private JwtService uncachedJwtService;
+    private String token;
+    private String[] distinctTokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        // Every user at epoch 0, as if each had been looked up once already
+        TokenEpochs tokenEpochs = new TokenEpochs(userId -> 0, Duration.ofHours(1), 10_000L);
+        jwtService = new JwtService(SECRET, 3_600_000L, 10_000L, tokenEpochs);
+        token = jwtService.generateToken(42L, "bench@example.com", User.Role.USER, 0);
+
+        // A single-entry cache cycling through many tokens behaves like a permanently cold cache
+        uncachedJwtService = new JwtService(SECRET, 3_600_000L, 1L, tokenEpochs);
+        distinctTokens = new String[DISTINCT_TOKENS];
+        for (int i = 0; i < DISTINCT_TOKENS; i++) {
+            distinctTokens[i] = jwtService.generateToken((long) i, "bench" + i + "@example.com", User.Role.USER, 0);
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Verifications {
+        public long hmacVerifications;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            hmacVerifications = 0;
+        }
+    }
+
+    /**
+     * Reproduces the previous filter: extractEmail, then validateToken re-parsing for the
+     * subject and the expiration, each with a freshly built key and parser.
+     */
+    @Benchmark
+    public boolean legacyFilterPath(Verifications counters) {
+        String email = legacyParse(token).getSubject();
+        String tokenEmail = legacyParse(token).getSubject();
+        Date expiration = legacyParse(token).getExpiration();
+        counters.hmacVerifications += 3;
+        return email.equals(tokenEmail) && expiration.after(new Date());
+    }
+
+    @Benchmark
+    public String sign() {
+        return jwtService.generateToken(42L, "bench@example.com", User.Role.USER, 0);
+    }
+
+    @Benchmark
+    public boolean verifyColdCache(Verifications counters) {
+        String coldToken = distinctTokens[next++ & (DISTINCT_TOKENS - 1)];
+        long before = uncachedJwtService.getSignatureVerificationCount();
+        boolean valid = uncachedJwtService.verify(coldToken).isPresent();
+        counters.hmacVerifications += uncachedJwtService.getSignatureVerificationCount() - before;
+        return valid;
+    }
+
+    @Benchmark
+    public boolean verifyWarmCache(Verifications counters) {
+        long before = jwtService.getSignatureVerificationCount();
+        boolean valid = jwtService.verify(token).isPresent();
+        counters.hmacVerifications += jwtService.getSignatureVerificationCount() - before;
+        return valid;
+    }
+
+    private static Claims legacyParse(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
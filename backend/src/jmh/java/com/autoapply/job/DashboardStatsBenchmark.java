@@ -0,0 +1,70 @@
+package com.autoapply.job;
+
+import com.autoapply.job.dto.DashboardStatsDTO;
+import com.autoapply.job.entity.JobApplication;
+import com.autoapply.job.entity.JobStatusCounter;
+import com.autoapply.job.service.JobStatsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process part of the dashboard stats endpoint. {@code fromCounters} is the current path:
+ * one counter row per status, whatever the number of jobs. {@code fromJobRows} aggregates
+ * the statuses of every job in memory, which is what the endpoint cost per request before
+ * the counters existed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class DashboardStatsBenchmark {
+
+    @Param({"1000", "100000"})
+    public int jobs;
+
+    private List<JobStatusCounter> counters;
+    private JobApplication.Status[] jobStatuses;
+
+    @Setup
+    public void seed() {
+        JobApplication.Status[] statuses = JobApplication.Status.values();
+        jobStatuses = new JobApplication.Status[jobs];
+        Map<JobApplication.Status, Long> counts = new EnumMap<>(JobApplication.Status.class);
+        for (int i = 0; i < jobs; i++) {
+            jobStatuses[i] = statuses[(i * 7) % statuses.length];
+            counts.merge(jobStatuses[i], 1L, Long::sum);
+        }
+        counters = new ArrayList<>();
+        counts.forEach((status, count) ->
+                counters.add(new JobStatusCounter(new JobStatusCounter.Key(42L, status), count)));
+    }
+
+    @Benchmark
+    public DashboardStatsDTO fromCounters() {
+        Map<JobApplication.Status, Long> counts = new EnumMap<>(JobApplication.Status.class);
+        for (JobStatusCounter counter : counters) {
+            counts.put(counter.getId().getStatus(), counter.getJobCount());
+        }
+        return JobStatsService.toDashboardStats(counts);
+    }
+
+    @Benchmark
+    public DashboardStatsDTO fromJobRows() {
+        Map<JobApplication.Status, Long> counts = new EnumMap<>(JobApplication.Status.class);
+        for (JobApplication.Status status : jobStatuses) {
+            counts.merge(status, 1L, Long::sum);
+        }
+        return JobStatsService.toDashboardStats(counts);
+    }
+}
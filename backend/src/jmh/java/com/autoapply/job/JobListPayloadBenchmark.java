@@ -0,0 +1,105 @@
+package com.autoapply.job;
+
+import com.autoapply.job.dto.JobApplicationDTO;
+import com.autoapply.job.dto.JobApplicationSummaryDTO;
+import com.autoapply.job.entity.JobApplication;
+import com.autoapply.job.service.JobMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps and serializes one page of already loaded entities as full DTOs (the previous list
+ * response) and as summary projections: the CPU side only. No results are recorded yet;
+ * compare {@code gc.alloc.rate.norm} per page from a run with {@code -prof gc}, which the
+ * {@code jmh} task adds. The database read and materialization, and response bytes per
+ * page, are measured by {@code ./gradlew jobListBenchmark} (loadtest source set). The
+ * seeded rows carry description and notes sizes typical of pasted job postings.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class JobListPayloadBenchmark {
+
+    @Param({"50", "1000"})
+    public int rows;
+
+    private List<JobApplication> seeded;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void seed() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        Random random = new Random(42);
+        JobApplication.Status[] statuses = JobApplication.Status.values();
+        LocalDateTime now = LocalDateTime.now();
+        seeded = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            seeded.add(JobApplication.builder()
+                    .id((long) i)
+                    .userId(1L)
+                    .url("https://boards.example.com/jobs/" + i)
+                    .title("Senior Software Engineer " + i)
+                    .company("Company " + (i % 97))
+                    .description(text(random, 4_000))
+                    .notes(text(random, 400))
+                    .status(statuses[i % statuses.length])
+                    .sourceType(JobApplication.SourceType.LINK)
+                    .appliedAt(now.minusDays(i % 30))
+                    .createdAt(now.minusMinutes(i))
+                    .updatedAt(now.minusMinutes(i))
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public byte[] fullDtoPage() throws Exception {
+        List<JobApplicationDTO> page = new ArrayList<>(seeded.size());
+        for (JobApplication job : seeded) {
+            page.add(JobMapper.toDTO(job));
+        }
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] summaryPage() throws Exception {
+        List<JobApplicationSummaryDTO> page = new ArrayList<>(seeded.size());
+        for (JobApplication job : seeded) {
+            // Mirrors the JPA constructor projection used by JobApplicationRepositoryImpl.findPage
+            page.add(new JobApplicationSummaryDTO(
+                    job.getId(), job.getUserId(), job.getUrl(), job.getTitle(), job.getCompany(),
+                    job.getStatus(), job.getSourceType(), job.getAppliedAt(), job.getCreatedAt(),
+                    job.getUpdatedAt()));
+        }
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    private static String text(Random random, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        while (sb.length() < length) {
+            int wordLength = 2 + random.nextInt(9);
+            for (int i = 0; i < wordLength; i++) {
+                sb.append((char) ('a' + random.nextInt(26)));
+            }
+            sb.append(' ');
+        }
+        return sb.substring(0, length);
+    }
+}
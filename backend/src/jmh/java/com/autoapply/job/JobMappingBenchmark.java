@@ -0,0 +1,56 @@
+package com.autoapply.job;
+
+import com.autoapply.job.dto.JobApplicationDTO;
+import com.autoapply.job.dto.JobApplicationSummaryDTO;
+import com.autoapply.job.entity.JobApplication;
+import com.autoapply.job.service.JobMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping done for every job returned or written through the API.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class JobMappingBenchmark {
+
+    private JobApplication job;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        job = JobApplication.builder()
+                .id(1L)
+                .userId(42L)
+                .url("https://boards.example.com/jobs/1")
+                .title("Senior Software Engineer")
+                .company("Example Corp")
+                .description("Build and operate services. ".repeat(150))
+                .notes("Referred by a former colleague.")
+                .status(JobApplication.Status.INTERVIEW)
+                .sourceType(JobApplication.SourceType.LINK)
+                .appliedAt(now.minusDays(3))
+                .createdAt(now.minusDays(5))
+                .updatedAt(now)
+                .build();
+    }
+
+    @Benchmark
+    public JobApplicationDTO toDTO() {
+        return JobMapper.toDTO(job);
+    }
+
+    @Benchmark
+    public JobApplicationSummaryDTO toSummaryDTO() {
+        return JobMapper.toSummaryDTO(job);
+    }
+}
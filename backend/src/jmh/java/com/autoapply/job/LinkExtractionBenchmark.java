@@ -0,0 +1,104 @@
+package com.autoapply.job;
+
+import com.autoapply.job.extractor.GreenhouseJobPostingExtractor;
+import com.autoapply.job.extractor.IndeedJobPostingExtractor;
+import com.autoapply.job.extractor.JobPostingExtractorRegistry;
+import com.autoapply.job.extractor.LeverJobPostingExtractor;
+import com.autoapply.job.extractor.LinkedInJobPostingExtractor;
+import com.autoapply.job.extractor.ParsedJobPosting;
+import com.autoapply.job.extractor.WorkdayJobPostingExtractor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Extraction cost over saved job-board pages (src/jmh/resources/fixtures): the previous
+ * title/body heuristic versus the extractor registry. Network time is excluded.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class LinkExtractionBenchmark {
+    private static final Map<String, String> FIXTURE_URLS = Map.of(
+            "linkedin", "https://www.linkedin.com/jobs/view/123456",
+            "indeed", "https://uk.indeed.com/viewjob?jk=abc123",
+            "greenhouse", "https://boards.greenhouse.io/acme/jobs/42",
+            "lever", "https://jobs.lever.co/acme/5f1c",
+            "workday", "https://acme.wd5.myworkdayjobs.com/en-US/careers/job/Berlin/Senior-Backend-Engineer_R123",
+            "generic", "https://careers.acme.example/jobs/senior-backend-engineer");
+
+    @Param({"linkedin", "indeed", "greenhouse", "lever", "workday", "generic"})
+    public String fixture;
+
+    private String html;
+    private String url;
+    private String host;
+    private JobPostingExtractorRegistry registry;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/fixtures/" + fixture + ".html")) {
+            if (in == null) {
+                throw new IllegalStateException("Missing fixture " + fixture);
+            }
+            html = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        url = FIXTURE_URLS.get(fixture);
+        host = java.net.URI.create(url).getHost();
+        registry = new JobPostingExtractorRegistry(List.of(
+                new LinkedInJobPostingExtractor(),
+                new IndeedJobPostingExtractor(),
+                new GreenhouseJobPostingExtractor(),
+                new LeverJobPostingExtractor(),
+                new WorkdayJobPostingExtractor()), new ObjectMapper());
+    }
+
+    /**
+     * The extraction previously inlined in LinkParserService: full DOM, then the body text
+     * computed twice for a 500-character snippet and the company guessed from the title.
+     */
+    @Benchmark
+    public String[] legacyHeuristic() {
+        Document doc = Jsoup.parse(html, url);
+        String title = doc.title();
+        String company = null;
+        String description = doc.select("meta[name=description]").attr("content");
+        if (description.isEmpty()) {
+            description = doc.body().text().substring(0, Math.min(doc.body().text().length(), 500)) + "...";
+        }
+        if (title.contains("|")) {
+            String[] parts = title.split("\\|");
+            if (parts.length > 1) {
+                company = parts[1].trim();
+                title = parts[0].trim();
+            }
+        } else if (title.contains(" at ")) {
+            String[] parts = title.split(" at ");
+            if (parts.length > 1) {
+                company = parts[1].trim();
+                title = parts[0].trim();
+            }
+        }
+        return new String[] {title, company, description};
+    }
+
+    @Benchmark
+    public ParsedJobPosting extractorRegistry() {
+        return registry.extract(html, url, host);
+    }
+}
@@ -0,0 +1,96 @@
+package com.autoapply.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * Minimal client for the endpoints the load test drives. Responses are never cached, so
+ * conditional GETs (ETags) do not short-circuit the measured requests.
+ */
+final class ApiClient {
+    static final ObjectMapper JSON = new ObjectMapper();
+
+    private final HttpClient http;
+    private final String baseUrl;
+
+    ApiClient(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    /** Registers a user and returns its bearer token. */
+    String register(String email, String password) throws IOException, InterruptedException {
+        String body = JSON.writeValueAsString(Map.of(
+                "email", email, "password", password, "firstName", "Load", "lastName", "Test"));
+        HttpResponse<String> response = send("POST", "/api/auth/register", null, body);
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Register failed (" + response.statusCode() + "): " + response.body());
+        }
+        return JSON.readTree(response.body()).path("accessToken").asText();
+    }
+
+    /** Logs an existing user in and returns its bearer token. */
+    String login(String email, String password) throws IOException, InterruptedException {
+        String body = JSON.writeValueAsString(Map.of("email", email, "password", password));
+        HttpResponse<String> response = send("POST", "/api/auth/login", null, body);
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Login failed (" + response.statusCode() + "): " + response.body());
+        }
+        return JSON.readTree(response.body()).path("accessToken").asText();
+    }
+
+    void bulkCreate(String token, List<?> jobs) throws IOException, InterruptedException {
+        HttpResponse<String> response = send("POST", "/api/jobs/bulk", token, JSON.writeValueAsString(jobs));
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Bulk import failed (" + response.statusCode() + "): " + response.body());
+        }
+    }
+
+    /** Collects the ids of all of a user's jobs by walking the cursor-paginated list. */
+    List<Long> listJobIds(String token) throws IOException, InterruptedException {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            String path = "/api/jobs?limit=200" + (cursor != null ? "&cursor=" + cursor : "");
+            HttpResponse<String> response = send("GET", path, token, null);
+            if (response.statusCode() != 200) {
+                throw new IOException("Listing jobs failed (" + response.statusCode() + ")");
+            }
+            JsonNode page = JSON.readTree(response.body());
+            page.path("items").forEach(item -> ids.add(item.path("id").asLong()));
+            cursor = page.path("hasMore").asBoolean() ? page.path("nextCursor").asText() : null;
+        } while (cursor != null);
+        return ids;
+    }
+
+    HttpResponse<String> send(String method, String path, String token, String body)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .method(method, body != null
+                        ? HttpRequest.BodyPublishers.ofString(body)
+                        : HttpRequest.BodyPublishers.noBody());
+        if (body != null) {
+            request.header("Content-Type", "application/json");
+        }
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
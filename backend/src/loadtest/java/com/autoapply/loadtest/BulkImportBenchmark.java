@@ -0,0 +1,109 @@
+package com.autoapply.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Measures POST /api/jobs/bulk end to end: one JSON import of {@code --rows} rows per
+ * iteration, each into a fresh user, reporting rows per second. The whole request is timed,
+ * so parsing, validation, the chunked inserts and the per-row response are all included.
+ * Uses the {@link EmbeddedStack}, so it needs Docker:
+ *
+ * <pre>
+ * ./gradlew bulkImportBenchmark --args="--rows=10000 --iterations=5"
+ * </pre>
+ */
+public final class BulkImportBenchmark {
+
+    private BulkImportBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        int rows = intArg(args, "rows", 10_000);
+        int iterations = intArg(args, "iterations", 5);
+        int warmupIterations = intArg(args, "warmup-iterations", 1);
+
+        ObjectNode report;
+        try (EmbeddedStack stack = EmbeddedStack.start(options)) {
+            ApiClient api = new ApiClient(stack.baseUrl());
+            Random random = new Random(options.seed());
+            List<Map<String, Object>> jobs = new ArrayList<>(rows);
+            for (int i = 0; i < rows; i++) {
+                jobs.add(Seeder.job(random, i));
+            }
+            String body = ApiClient.JSON.writeValueAsString(jobs);
+            String runId = Long.toString(System.currentTimeMillis(), 36);
+
+            for (int i = 0; i < warmupIterations; i++) {
+                importOnce(api, runId + "-warmup-" + i, body, rows);
+            }
+            report = ApiClient.JSON.createObjectNode();
+            report.put("label", "bulk-import");
+            report.put("rows", rows);
+            report.put("iterations", iterations);
+            ArrayNode results = report.putArray("results");
+            double[] rowsPerSecond = new double[iterations];
+            for (int i = 0; i < iterations; i++) {
+                System.out.printf("Importing %d rows (%d/%d)...%n", rows, i + 1, iterations);
+                long nanos = importOnce(api, runId + "-" + i, body, rows);
+                rowsPerSecond[i] = rows / (nanos / 1e9);
+                ObjectNode node = results.addObject();
+                node.put("ms", nanos / 1e6);
+                node.put("rowsPerSecond", rowsPerSecond[i]);
+            }
+            Arrays.sort(rowsPerSecond);
+            report.put("medianRowsPerSecond", rowsPerSecond[iterations / 2]);
+            report.put("minRowsPerSecond", rowsPerSecond[0]);
+        }
+        print(report);
+        Path file = Report.write(report, options.outputDir());
+        System.out.printf("%nReport written to %s%n", file);
+        // Non-daemon threads of the backend would otherwise keep the JVM alive
+        System.exit(0);
+    }
+
+    /** Imports the rows for a new user and returns the request time in nanoseconds. */
+    private static long importOnce(ApiClient api, String userSuffix, String body, int rows)
+            throws IOException, InterruptedException {
+        String token = api.register("loadtest-bulk-" + userSuffix + "@example.com", Seeder.PASSWORD);
+        long started = System.nanoTime();
+        HttpResponse<String> response = api.send("POST", "/api/jobs/bulk", token, body);
+        long nanos = System.nanoTime() - started;
+        if (response.statusCode() != 200) {
+            throw new IOException("Bulk import failed (" + response.statusCode() + "): " + response.body());
+        }
+        int created = ApiClient.JSON.readTree(response.body()).path("created").asInt();
+        if (created != rows) {
+            throw new IOException("Bulk import created " + created + " of " + rows + " rows");
+        }
+        return nanos;
+    }
+
+    private static int intArg(String[] args, String name, int defaultValue) {
+        String prefix = "--" + name + "=";
+        for (String arg : args) {
+            if (arg.startsWith(prefix)) {
+                return Integer.parseInt(arg.substring(prefix.length()));
+            }
+        }
+        return defaultValue;
+    }
+
+    private static void print(JsonNode report) {
+        System.out.printf("%n== bulk import (%d rows per request, %d iterations) ==%n",
+                report.path("rows").asInt(), report.path("iterations").asInt());
+        System.out.printf("median %.0f rows/s, slowest %.0f rows/s%n",
+                report.path("medianRowsPerSecond").asDouble(), report.path("minRowsPerSecond").asDouble());
+    }
+}
@@ -0,0 +1,152 @@
+package com.autoapply.loadtest;
+
+import com.autoapply.job.entity.JobApplication;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Writes users and job applications straight into Postgres with COPY, which seeds millions
+ * of rows in the time the API takes for thousands. Derived state the backend keeps in step
+ * with its writes (status counters, collection versions, change sequence numbers) is filled
+ * in the same way migrations backfill it.
+ */
+final class DatabaseSeeder {
+    private static final String[] COMPANIES = {"Acme", "Globex", "Initech", "Umbrella", "Hooli", "Stark", "Wayne"};
+    private static final int COPY_BATCH_ROWS = 20_000;
+
+    private DatabaseSeeder() {
+    }
+
+    /**
+     * @param passwordHash hash of {@link Seeder#PASSWORD}, computed once by the backend's encoder
+     * @return the seeded users' emails mapped to their job ids
+     */
+    static Map<String, List<Long>> seed(Connection connection, String runId, int users, int jobsPerUser,
+                                        String passwordHash, long seed) throws SQLException {
+        CopyManager copy = connection.unwrap(PGConnection.class).getCopyAPI();
+        connection.setAutoCommit(false);
+        try {
+            StringBuilder rows = new StringBuilder();
+            for (int u = 0; u < users; u++) {
+                rows.append(email(runId, u)).append('\t').append(passwordHash).append("\tLoad\tTest\n");
+            }
+            copyIn(copy, "COPY users (email, password, first_name, last_name) FROM STDIN", rows);
+
+            Map<Long, String> emailsById = new HashMap<>();
+            try (PreparedStatement select = connection.prepareStatement(
+                    "SELECT id, email FROM users WHERE email LIKE ?")) {
+                select.setString(1, "loadtest-" + runId + "-%");
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        emailsById.put(rs.getLong(1), rs.getString(2));
+                    }
+                }
+            }
+
+            SplittableRandom random = new SplittableRandom(seed);
+            JobApplication.Status[] statuses = JobApplication.Status.values();
+            LocalDateTime now = LocalDateTime.now();
+            String sql = "COPY job_applications (user_id, job_title, company_name, job_url, status, applied_date, "
+                    + "notes, description, source_type, created_at, updated_at, change_seq) FROM STDIN";
+            rows.setLength(0);
+            int buffered = 0;
+            for (Long userId : emailsById.keySet()) {
+                for (int j = 1; j <= jobsPerUser; j++) {
+                    String company = COMPANIES[random.nextInt(COMPANIES.length)];
+                    JobApplication.Status status = statuses[random.nextInt(statuses.length)];
+                    LocalDateTime created = now.minusMinutes((long) (jobsPerUser - j) * 7);
+                    rows.append(userId).append('\t')
+                            .append("Software Engineer ").append(j).append('\t')
+                            .append(company).append('\t')
+                            .append("https://jobs.example.com/").append(company.toLowerCase()).append('/')
+                            .append(userId).append('-').append(j).append('\t')
+                            .append(status).append('\t')
+                            .append(status == JobApplication.Status.SAVED ? "\\N" : created.toString()).append('\t')
+                            .append("Seeded by the load test").append('\t')
+                            .append("Build and operate services. Java, Postgres, Kubernetes. Posting ")
+                            .append(j).append(".\t")
+                            .append(JobApplication.SourceType.LINK).append('\t')
+                            .append(created).append('\t')
+                            .append(created).append('\t')
+                            // Sequence numbers 1..M, so the user's collection version below is M
+                            .append(j).append('\n');
+                    if (++buffered == COPY_BATCH_ROWS) {
+                        copyIn(copy, sql, rows);
+                        buffered = 0;
+                    }
+                }
+            }
+            copyIn(copy, sql, rows);
+
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("""
+                        INSERT INTO job_status_counters (user_id, status, job_count)
+                        SELECT user_id, status, COUNT(*) FROM job_applications
+                        WHERE user_id IN (SELECT id FROM users WHERE email LIKE 'loadtest-%s-%%')
+                        GROUP BY user_id, status
+                        """.formatted(runId));
+                statement.executeUpdate("""
+                        INSERT INTO user_job_versions (user_id, version)
+                        SELECT id, %d FROM users WHERE email LIKE 'loadtest-%s-%%'
+                        """.formatted(jobsPerUser, runId));
+            }
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE users, job_applications, job_status_counters, user_job_versions");
+        }
+        return jobIds(connection, runId);
+    }
+
+    static String email(String runId, int n) {
+        return "loadtest-" + runId + "-" + n + "@example.com";
+    }
+
+    private static Map<String, List<Long>> jobIds(Connection connection, String runId) throws SQLException {
+        Map<String, List<Long>> ids = new HashMap<>();
+        try (PreparedStatement select = connection.prepareStatement("""
+                SELECT u.email, j.id FROM job_applications j JOIN users u ON u.id = j.user_id
+                WHERE u.email LIKE ?
+                """)) {
+            select.setString(1, "loadtest-" + runId + "-%");
+            try (ResultSet rs = select.executeQuery()) {
+                while (rs.next()) {
+                    ids.computeIfAbsent(rs.getString(1), email -> new ArrayList<>()).add(rs.getLong(2));
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static void copyIn(CopyManager copy, String sql, StringBuilder rows) throws SQLException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            copy.copyIn(sql, new StringReader(rows.toString()));
+        } catch (IOException e) {
+            throw new SQLException("COPY failed", e);
+        }
+        rows.setLength(0);
+    }
+}
@@ -0,0 +1,151 @@
+package com.autoapply.loadtest;
+
+import com.autoapply.AutoApplyApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Everything the load test needs on one machine: Postgres in a container with
+ * {@code pg_stat_statements}, the migrations from {@code database/migrations} applied in
+ * file name order, a {@link FakeJobBoard}, and the backend started in this JVM against both.
+ * Requires Docker.
+ */
+final class EmbeddedStack implements AutoCloseable {
+    private final PostgreSQLContainer<?> postgres;
+    private final FakeJobBoard jobBoard;
+    private final ConfigurableApplicationContext backend;
+    private final Connection connection;
+
+    private EmbeddedStack(PostgreSQLContainer<?> postgres, FakeJobBoard jobBoard,
+                          ConfigurableApplicationContext backend, Connection connection) {
+        this.postgres = postgres;
+        this.jobBoard = jobBoard;
+        this.backend = backend;
+        this.connection = connection;
+    }
+
+    static EmbeddedStack start(LoadTestOptions options) throws Exception {
+        PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(
+                DockerImageName.parse(options.postgresImage()).asCompatibleSubstituteFor("postgres"))
+                .withDatabaseName("autoapply")
+                // Utility statements are left out so counts are queries, not transaction bookkeeping
+                .withCommand("postgres",
+                        "-c", "shared_preload_libraries=pg_stat_statements",
+                        "-c", "pg_stat_statements.track_utility=off",
+                        "-c", "max_connections=200");
+        FakeJobBoard jobBoard = null;
+        ConfigurableApplicationContext backend = null;
+        Connection connection = null;
+        try {
+            System.out.printf("Starting %s...%n", options.postgresImage());
+            postgres.start();
+            connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+            migrate(connection, options.migrationsDir());
+
+            jobBoard = FakeJobBoard.start(options.jobBoardDelay());
+
+            System.out.println("Starting backend...");
+            // Passed as arguments, which outrank application.properties and the environment
+            String[] args = backendProperties(postgres).entrySet().stream()
+                    .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                    .toArray(String[]::new);
+            backend = new SpringApplicationBuilder(AutoApplyApplication.class).run(args);
+            return new EmbeddedStack(postgres, jobBoard, backend, connection);
+        } catch (Exception e) {
+            closeQuietly(backend, jobBoard, connection);
+            postgres.stop();
+            throw e;
+        }
+    }
+
+    private static Map<String, Object> backendProperties(PostgreSQLContainer<?> postgres) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.datasource.url", postgres.getJdbcUrl());
+        properties.put("spring.datasource.username", postgres.getUsername());
+        properties.put("spring.datasource.password", postgres.getPassword());
+        // The schema comes from database/migrations, applied above
+        properties.put("spring.flyway.enabled", false);
+        // Every parse hits the same local host; the production per-host limit would turn most into 503s
+        properties.put("link-parser.per-host-concurrency", 256);
+        // The fake job board listens on loopback
+        properties.put("link-parser.allow-private-hosts", true);
+        // Every virtual user logs in from localhost; the per-IP login throttle would refuse most of them
+        properties.put("auth.throttle.ip.max-attempts", 100_000_000);
+        properties.put("logging.level.root", "WARN");
+        return properties;
+    }
+
+    private static void migrate(Connection connection, Path migrationsDir) throws IOException, SQLException {
+        List<Path> scripts;
+        try (Stream<Path> files = Files.list(migrationsDir)) {
+            scripts = files.filter(file -> file.getFileName().toString().endsWith(".sql")).sorted().toList();
+        }
+        if (scripts.isEmpty()) {
+            throw new IllegalStateException("No migrations found in " + migrationsDir.toAbsolutePath());
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE EXTENSION IF NOT EXISTS pg_stat_statements");
+            for (Path script : scripts) {
+                statement.execute(Files.readString(script));
+            }
+        }
+        System.out.printf("Applied %d migrations from %s%n", scripts.size(), migrationsDir);
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + backend.getEnvironment().getProperty("local.server.port");
+    }
+
+    FakeJobBoard jobBoard() {
+        return jobBoard;
+    }
+
+    /** Direct connection to the database, outside the backend's pool. */
+    Connection connection() {
+        return connection;
+    }
+
+    /** A bean of the running backend, for benchmarks that call it in-process. */
+    <T> T bean(Class<T> type) {
+        return backend.getBean(type);
+    }
+
+    String encodePassword(String raw) {
+        return backend.getBean(PasswordEncoder.class).encode(raw);
+    }
+
+    @Override
+    public void close() {
+        closeQuietly(backend, jobBoard, connection);
+        postgres.stop();
+    }
+
+    private static void closeQuietly(AutoCloseable... resources) {
+        for (AutoCloseable resource : resources) {
+            if (resource == null) {
+                continue;
+            }
+            try {
+                resource.close();
+            } catch (Exception e) {
+                System.err.println("Failed to close " + resource + ": " + e.getMessage());
+            }
+        }
+    }
+}
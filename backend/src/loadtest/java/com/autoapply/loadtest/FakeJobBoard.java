@@ -0,0 +1,96 @@
+package com.autoapply.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for a job board, so that {@code POST /api/jobs/parse} can be load tested
+ * without fetching real sites. {@code /jobs/{id}} answers after a fixed delay that models a
+ * remote server. Even ids embed JobPosting JSON-LD, which the parser reads without a DOM;
+ * odd ids are plain HTML, which goes through the DOM heuristics.
+ */
+final class FakeJobBoard implements AutoCloseable {
+    private static final String DESCRIPTION = "<p>We are hiring an engineer to build and operate services. "
+            + "You will work with Java, Postgres and Kubernetes on a small team.</p>";
+
+    private final HttpServer server;
+    private final Duration delay;
+    private final AtomicLong served = new AtomicLong();
+
+    private FakeJobBoard(HttpServer server, Duration delay) {
+        this.server = server;
+        this.delay = delay;
+    }
+
+    static FakeJobBoard start(Duration delay) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        FakeJobBoard board = new FakeJobBoard(server, delay);
+        server.createContext("/jobs/", board::handle);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+        return board;
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    long pagesServed() {
+        return served.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String id = exchange.getRequestURI().getPath().substring("/jobs/".length());
+            if (!delay.isZero()) {
+                Thread.sleep(delay);
+            }
+            byte[] body = page(id).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+            served.incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String page(String id) {
+        String title = "Software Engineer " + id;
+        String company = "Company " + Math.floorMod(id.hashCode(), 50);
+        boolean jsonLd = Math.floorMod(id.hashCode(), 2) == 0;
+        StringBuilder html = new StringBuilder(4096)
+                .append("<!DOCTYPE html><html><head><title>").append(title).append(" - ").append(company)
+                .append("</title><meta property=\"og:title\" content=\"").append(title).append("\">");
+        if (jsonLd) {
+            html.append("<script type=\"application/ld+json\">{\"@context\":\"https://schema.org\",")
+                    .append("\"@type\":\"JobPosting\",\"title\":\"").append(title)
+                    .append("\",\"hiringOrganization\":{\"@type\":\"Organization\",\"name\":\"").append(company)
+                    .append("\"},\"description\":\"").append(DESCRIPTION.replace("\"", "\\\"")).append("\"}</script>");
+        }
+        html.append("</head><body><header><nav>Jobs | Companies | Sign in</nav></header><main>")
+                .append("<h1 class=\"job-title\">").append(title).append("</h1>")
+                .append("<div class=\"company\">").append(company).append("</div>")
+                .append("<section class=\"description\">");
+        for (int i = 0; i < 20; i++) {
+            html.append(DESCRIPTION);
+        }
+        return html.append("</section></main><footer>Fake job board</footer></body></html>").toString();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
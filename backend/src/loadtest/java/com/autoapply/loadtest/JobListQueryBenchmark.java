@@ -0,0 +1,199 @@
+package com.autoapply.loadtest;
+
+import com.autoapply.job.dto.JobApplicationDTO;
+import com.autoapply.job.dto.JobApplicationSummaryDTO;
+import com.autoapply.job.entity.JobApplication;
+import com.autoapply.job.repository.JobApplicationRepository;
+import com.autoapply.job.service.JobMapper;
+import com.autoapply.job.service.JobService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures one page of the job list read path against Postgres, from query through JDBC and
+ * Hibernate materialization to DTO mapping and JSON serialization, for the summary
+ * projection the list serves now and for the full entities it loaded before. Reports time,
+ * heap allocated on the reading thread, and response bytes per page. Seeded rows are widened
+ * to ~4 KB descriptions and ~400 B notes, the size of pasted job postings. Uses the
+ * {@link EmbeddedStack}, so it needs Docker:
+ *
+ * <pre>
+ * ./gradlew jobListBenchmark --args="--users=20 --jobs-per-user=500 --iterations=2000"
+ * </pre>
+ */
+public final class JobListQueryBenchmark {
+    private static final String ENTITY_PAGE = "SELECT j FROM JobApplication j WHERE j.userId = :userId "
+            + "ORDER BY j.createdAt DESC, j.id DESC";
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private JobListQueryBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        int iterations = intArg(args, "iterations", 2000);
+        int warmupIterations = intArg(args, "warmup-iterations", 500);
+
+        ObjectNode report;
+        try (EmbeddedStack stack = EmbeddedStack.start(options)) {
+            String runId = Long.toString(System.currentTimeMillis(), 36);
+            System.out.printf("Seeding %d users with %d jobs each...%n", options.users(), options.jobsPerUser());
+            DatabaseSeeder.seed(stack.connection(), runId, options.users(), options.jobsPerUser(),
+                    stack.encodePassword(Seeder.PASSWORD), options.seed());
+            widenText(stack);
+            List<Long> userIds = userIds(stack, runId);
+
+            TransactionTemplate readOnly = new TransactionTemplate(stack.bean(PlatformTransactionManager.class));
+            readOnly.setReadOnly(true);
+            EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+                    stack.bean(EntityManagerFactory.class));
+            JobApplicationRepository jobRepository = stack.bean(JobApplicationRepository.class);
+            ObjectMapper json = stack.bean(ObjectMapper.class);
+
+            // Both read one extra row, as JobService does to learn whether another page exists
+            PageReader summaries = (userId, pageSize) -> {
+                List<JobApplicationSummaryDTO> rows = readOnly.execute(
+                        tx -> jobRepository.findPage(userId, null, null, pageSize + 1));
+                return new Page(rows.size(), json.writeValueAsBytes(rows.subList(0, Math.min(pageSize, rows.size()))));
+            };
+            PageReader entities = (userId, pageSize) -> {
+                List<JobApplicationDTO> rows = readOnly.execute(tx -> entityManager
+                        .createQuery(ENTITY_PAGE, JobApplication.class)
+                        .setParameter("userId", userId)
+                        .setMaxResults(pageSize + 1)
+                        .getResultList()
+                        .stream()
+                        .map(JobMapper::toDTO)
+                        .toList());
+                return new Page(rows.size(), json.writeValueAsBytes(rows.subList(0, Math.min(pageSize, rows.size()))));
+            };
+
+            report = ApiClient.JSON.createObjectNode();
+            report.put("label", "job-list-query");
+            report.put("users", options.users());
+            report.put("jobsPerUser", options.jobsPerUser());
+            report.put("iterations", iterations);
+            ArrayNode results = report.putArray("results");
+            for (int pageSize : new int[] {50, JobService.MAX_PAGE_SIZE}) {
+                System.out.printf("Measuring pages of %d...%n", pageSize);
+                results.add(measure("entities", entities, pageSize, userIds, warmupIterations, iterations));
+                results.add(measure("summaries", summaries, pageSize, userIds, warmupIterations, iterations));
+            }
+        }
+        print(report);
+        Path file = Report.write(report, options.outputDir());
+        System.out.printf("%nReport written to %s%n", file);
+        // Non-daemon threads of the backend would otherwise keep the JVM alive
+        System.exit(0);
+    }
+
+    private static ObjectNode measure(String variant, PageReader reader, int pageSize, List<Long> userIds,
+                                      int warmupIterations, int iterations) throws Exception {
+        for (int i = 0; i < warmupIterations; i++) {
+            reader.read(userIds.get(i % userIds.size()), pageSize);
+        }
+        long[] nanos = new long[iterations];
+        long allocated = 0;
+        long payload = 0;
+        long rows = 0;
+        for (int i = 0; i < iterations; i++) {
+            long userId = userIds.get(i % userIds.size());
+            long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+            long started = System.nanoTime();
+            Page page = reader.read(userId, pageSize);
+            nanos[i] = System.nanoTime() - started;
+            allocated += THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+            payload += page.body().length;
+            rows += page.rows();
+        }
+        Arrays.sort(nanos);
+
+        ObjectNode node = ApiClient.JSON.createObjectNode();
+        node.put("variant", variant);
+        node.put("pageSize", pageSize);
+        node.put("rowsPerOp", (double) rows / iterations);
+        node.put("meanMs", Arrays.stream(nanos).average().orElse(0) / 1e6);
+        node.put("p50Ms", nanos[iterations / 2] / 1e6);
+        node.put("p99Ms", nanos[Math.min(iterations - 1, (int) Math.ceil(iterations * 0.99) - 1)] / 1e6);
+        node.put("allocatedBytesPerOp", allocated / iterations);
+        node.put("payloadBytesPerOp", payload / iterations);
+        return node;
+    }
+
+    /** Gives the seeded rows realistic text sizes; the search vector trigger re-indexes them. */
+    private static void widenText(EmbeddedStack stack) throws SQLException {
+        System.out.println("Widening descriptions and notes...");
+        try (Statement statement = stack.connection().createStatement()) {
+            // Correlated on the row id, so every row gets its own text rather than one shared value
+            statement.executeUpdate("""
+                    UPDATE job_applications j SET
+                        description = (SELECT string_agg(md5(j.id::text || '-' || g), ' ') FROM generate_series(1, 120) g),
+                        notes = (SELECT string_agg(md5(j.id::text || '+' || g), ' ') FROM generate_series(1, 12) g)
+                    """);
+            statement.execute("VACUUM ANALYZE job_applications");
+        }
+    }
+
+    private static List<Long> userIds(EmbeddedStack stack, String runId) throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        try (PreparedStatement select = stack.connection().prepareStatement(
+                "SELECT id FROM users WHERE email LIKE ? ORDER BY id")) {
+            select.setString(1, "loadtest-" + runId + "-%");
+            try (ResultSet rs = select.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getLong(1));
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static int intArg(String[] args, String name, int defaultValue) {
+        String prefix = "--" + name + "=";
+        for (String arg : args) {
+            if (arg.startsWith(prefix)) {
+                return Integer.parseInt(arg.substring(prefix.length()));
+            }
+        }
+        return defaultValue;
+    }
+
+    private static void print(JsonNode report) {
+        System.out.printf("%n== job list read path (%d users x %d jobs, %d iterations) ==%n",
+                report.path("users").asInt(), report.path("jobsPerUser").asInt(), report.path("iterations").asInt());
+        System.out.printf("%-10s %6s %9s %9s %9s %16s %16s%n",
+                "variant", "page", "mean ms", "p50 ms", "p99 ms", "alloc bytes/op", "payload bytes/op");
+        for (JsonNode row : report.path("results")) {
+            System.out.printf("%-10s %6d %9.3f %9.3f %9.3f %16d %16d%n",
+                    row.path("variant").asText(), row.path("pageSize").asInt(), row.path("meanMs").asDouble(),
+                    row.path("p50Ms").asDouble(), row.path("p99Ms").asDouble(),
+                    row.path("allocatedBytesPerOp").asLong(), row.path("payloadBytesPerOp").asLong());
+        }
+    }
+
+    @FunctionalInterface
+    private interface PageReader {
+        Page read(long userId, int pageSize) throws Exception;
+    }
+
+    private record Page(int rows, byte[] body) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.autoapply.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Growable array of latencies in microseconds. Each worker owns its recorders; they are
+ * merged once the run is over, so recording needs no synchronization.
+ */
+final class LatencyRecorder {
+    private long[] values = new long[1024];
+    private int size;
+    private long errors;
+
+    void record(long micros) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = micros;
+    }
+
+    void recordError() {
+        errors++;
+    }
+
+    void mergeFrom(LatencyRecorder other) {
+        if (size + other.size > values.length) {
+            values = Arrays.copyOf(values, Math.max(values.length * 2, size + other.size));
+        }
+        System.arraycopy(other.values, 0, values, size, other.size);
+        size += other.size;
+        errors += other.errors;
+    }
+
+    int count() {
+        return size;
+    }
+
+    long errors() {
+        return errors;
+    }
+
+    /** Sorted copy of the recorded latencies. */
+    long[] sorted() {
+        long[] copy = Arrays.copyOf(values, size);
+        Arrays.sort(copy);
+        return copy;
+    }
+}
@@ -0,0 +1,119 @@
+package com.autoapply.loadtest;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * HTTP load test for the API. Against a running backend it seeds users and jobs through
+ * the API, warms up, then measures a closed-loop workload and reports throughput and latency
+ * percentiles per endpoint. Run once per threading mode and compare the saved reports:
+ *
+ * <pre>
+ * ./gradlew loadTest --args="--label=platform"
+ * ./gradlew loadTest --args="--label=virtual"
+ * ./gradlew loadTest --args="--baseline=build/loadtest/platform.json --candidate=build/loadtest/virtual.json"
+ * </pre>
+ *
+ * With {@code --embedded} it brings up its own {@link EmbeddedStack} instead, seeds the
+ * database directly, drives the full mix including register, login and parse, and adds
+ * database statements per request to the report.
+ */
+public final class LoadTest {
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        if (options.isCompare()) {
+            Report.compare(options.compareBaseline(), options.compareCandidate());
+            return;
+        }
+        if (options.embedded()) {
+            try (EmbeddedStack stack = EmbeddedStack.start(options)) {
+                runEmbedded(stack, options);
+            }
+            // Non-daemon threads of the backend would otherwise keep the JVM alive
+            System.exit(0);
+        }
+
+        ApiClient api = new ApiClient(options.baseUrl());
+        System.out.printf("Seeding %d users with %d jobs each...%n", options.users(), options.jobsPerUser());
+        List<Seeder.TestUser> users = Seeder.seed(api, options);
+
+        Workload workload = new Workload(api, users, options.seed(), Workload.DASHBOARD_MIX, null);
+        warmUp(workload, options);
+        ObjectNode report = measure(workload, options);
+        finish(report, options);
+    }
+
+    private static void runEmbedded(EmbeddedStack stack, LoadTestOptions options) throws Exception {
+        ApiClient api = new ApiClient(stack.baseUrl());
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        System.out.printf("Seeding %d users with %d jobs each...%n", options.users(), options.jobsPerUser());
+        long started = System.nanoTime();
+        Map<String, List<Long>> jobIds = DatabaseSeeder.seed(stack.connection(), runId, options.users(),
+                options.jobsPerUser(), stack.encodePassword(Seeder.PASSWORD), options.seed());
+        System.out.printf("Seeded %d rows in %.1fs%n", (long) options.users() * options.jobsPerUser(),
+                (System.nanoTime() - started) / 1e9);
+        List<Seeder.TestUser> users = login(api, jobIds);
+
+        Workload workload = new Workload(api, users, options.seed(), Workload.FULL_MIX, stack.jobBoard().baseUrl());
+        QueryStats queryStats = new QueryStats(stack.connection());
+        warmUp(workload, options);
+        queryStats.reset();
+        ObjectNode report = measure(workload, options);
+        report.put("users", options.users());
+        report.put("jobsPerUser", options.jobsPerUser());
+        report.set("topStatements", queryStats.top(10));
+
+        if (options.profileRequests() > 0) {
+            // One endpoint at a time and one request at a time, so every statement is attributable
+            System.out.printf("Profiling database statements, %d requests per endpoint...%n", options.profileRequests());
+            for (String endpoint : workload.endpoints()) {
+                queryStats.reset();
+                LatencyRecorder recorder = workload.runSequential(endpoint, options.profileRequests());
+                Report.addDatabaseProfile(report, endpoint, recorder.count() + (int) recorder.errors(), queryStats.totals());
+            }
+        }
+        report.put("jobBoardPagesServed", stack.jobBoard().pagesServed());
+        finish(report, options);
+    }
+
+    /** Logs every seeded user in through the API, which also warms up the login path. */
+    private static List<Seeder.TestUser> login(ApiClient api, Map<String, List<Long>> jobIds) throws Exception {
+        List<Future<Seeder.TestUser>> logins = new ArrayList<>(jobIds.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            jobIds.forEach((email, ids) -> logins.add(executor.submit(
+                    () -> new Seeder.TestUser(email, api.login(email, Seeder.PASSWORD), ids))));
+        }
+        List<Seeder.TestUser> users = new ArrayList<>(logins.size());
+        for (Future<Seeder.TestUser> login : logins) {
+            users.add(login.get());
+        }
+        return users;
+    }
+
+    private static void warmUp(Workload workload, LoadTestOptions options) throws Exception {
+        System.out.printf("Warming up for %ds...%n", options.warmup().toSeconds());
+        workload.run(options.concurrency(), options.warmup());
+    }
+
+    private static ObjectNode measure(Workload workload, LoadTestOptions options) throws Exception {
+        System.out.printf("Measuring %d clients for %ds...%n", options.concurrency(), options.duration().toSeconds());
+        Workload.Result result = workload.run(options.concurrency(), options.duration());
+        return Report.build(options.label(), options, result);
+    }
+
+    private static void finish(ObjectNode report, LoadTestOptions options) throws Exception {
+        Report.print(report);
+        Path file = Report.write(report, options.outputDir());
+        System.out.printf("%nReport written to %s%n", file);
+    }
+}
@@ -0,0 +1,73 @@
+package com.autoapply.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line options, given as {@code --name=value}.
+ */
+record LoadTestOptions(
+        String baseUrl,
+        String label,
+        int users,
+        int jobsPerUser,
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        long seed,
+        Path outputDir,
+        Path compareBaseline,
+        Path compareCandidate,
+        boolean embedded,
+        Path migrationsDir,
+        String postgresImage,
+        Duration jobBoardDelay,
+        int profileRequests) {
+
+    LoadTestOptions {
+        if (users < 1 || jobsPerUser < 1 || concurrency < 1) {
+            throw new IllegalArgumentException("users, jobs-per-user and concurrency must be at least 1");
+        }
+        if (profileRequests < 0) {
+            throw new IllegalArgumentException("profile-requests must not be negative");
+        }
+    }
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                values.put(arg.substring(2), "true");
+            } else {
+                values.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        return new LoadTestOptions(
+                values.getOrDefault("base-url", "http://localhost:8080"),
+                values.getOrDefault("label", "run"),
+                Integer.parseInt(values.getOrDefault("users", "20")),
+                Integer.parseInt(values.getOrDefault("jobs-per-user", "500")),
+                Integer.parseInt(values.getOrDefault("concurrency", "256")),
+                Duration.parse("PT" + values.getOrDefault("warmup", "15s").toUpperCase()),
+                Duration.parse("PT" + values.getOrDefault("duration", "60s").toUpperCase()),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Path.of(values.getOrDefault("output-dir", "build/loadtest")),
+                values.containsKey("baseline") ? Path.of(values.get("baseline")) : null,
+                values.containsKey("candidate") ? Path.of(values.get("candidate")) : null,
+                Boolean.parseBoolean(values.getOrDefault("embedded", "false")),
+                Path.of(values.getOrDefault("migrations", "../database/migrations")),
+                values.getOrDefault("postgres-image", "postgres:16-alpine"),
+                Duration.parse("PT" + values.getOrDefault("job-board-delay", "0.1s").toUpperCase()),
+                Integer.parseInt(values.getOrDefault("profile-requests", "200")));
+    }
+
+    boolean isCompare() {
+        return compareBaseline != null && compareCandidate != null;
+    }
+}
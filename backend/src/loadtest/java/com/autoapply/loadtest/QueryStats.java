@@ -0,0 +1,71 @@
+package com.autoapply.loadtest;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Reads statement counts from {@code pg_stat_statements} on the embedded database. The
+ * extension only sees what reaches Postgres, so queries answered from a backend cache do not
+ * count. Utility statements (BEGIN, COMMIT, SET) are not tracked; see {@link EmbeddedStack}.
+ */
+final class QueryStats {
+    /** Keeps the harness's own bookkeeping out of the numbers. */
+    private static final String OWN_QUERIES = "query NOT ILIKE '%pg_stat_statements%'";
+
+    private final Connection connection;
+
+    QueryStats(Connection connection) {
+        this.connection = connection;
+    }
+
+    void reset() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SELECT pg_stat_statements_reset()");
+        }
+    }
+
+    /** Statements executed and their total execution time since the last reset. */
+    Totals totals() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                     "SELECT COALESCE(SUM(calls), 0), COALESCE(SUM(total_exec_time), 0) FROM pg_stat_statements WHERE "
+                             + OWN_QUERIES)) {
+            rs.next();
+            return new Totals(rs.getLong(1), rs.getDouble(2));
+        }
+    }
+
+    /** The statements with the most total execution time since the last reset. */
+    ArrayNode top(int limit) throws SQLException {
+        ArrayNode statements = ApiClient.JSON.createArrayNode();
+        try (PreparedStatement select = connection.prepareStatement("""
+                SELECT query, calls, total_exec_time, mean_exec_time, rows
+                FROM pg_stat_statements
+                WHERE %s
+                ORDER BY total_exec_time DESC
+                LIMIT ?
+                """.formatted(OWN_QUERIES))) {
+            select.setInt(1, limit);
+            try (ResultSet rs = select.executeQuery()) {
+                while (rs.next()) {
+                    ObjectNode row = statements.addObject();
+                    row.put("query", rs.getString(1).replaceAll("\\s+", " ").trim());
+                    row.put("calls", rs.getLong(2));
+                    row.put("totalMs", rs.getDouble(3));
+                    row.put("meanMs", rs.getDouble(4));
+                    row.put("rows", rs.getLong(5));
+                }
+            }
+        }
+        return statements;
+    }
+
+    record Totals(long statements, double execMillis) {
+    }
+}
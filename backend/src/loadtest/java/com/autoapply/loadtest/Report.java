@@ -0,0 +1,152 @@
+package com.autoapply.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Per-endpoint throughput and latency percentiles of one run, printed as a table and
+ * written as JSON so two runs (e.g. platform vs virtual threads) can be compared. Runs
+ * against the embedded stack also carry database statements per request and the most
+ * expensive statements of the measured run.
+ */
+final class Report {
+    private Report() {
+    }
+
+    static ObjectNode build(String label, LoadTestOptions options, Workload.Result result) {
+        double seconds = result.elapsed().toNanos() / 1e9;
+        ObjectNode report = ApiClient.JSON.createObjectNode();
+        report.put("label", label);
+        report.put("concurrency", options.concurrency());
+        report.put("durationSeconds", seconds);
+        ArrayNode endpoints = report.putArray("endpoints");
+
+        LatencyRecorder total = new LatencyRecorder();
+        for (Map.Entry<String, LatencyRecorder> entry : result.latencies().entrySet()) {
+            endpoints.add(endpointNode(entry.getKey(), entry.getValue(), seconds));
+            total.mergeFrom(entry.getValue());
+        }
+        report.set("total", endpointNode("total", total, seconds));
+        return report;
+    }
+
+    /**
+     * Records what one endpoint cost the database, measured by sending it {@code requests}
+     * requests on its own.
+     */
+    static void addDatabaseProfile(ObjectNode report, String endpoint, int requests, QueryStats.Totals totals) {
+        JsonNode node = find(report, endpoint);
+        if (node instanceof ObjectNode row && requests > 0) {
+            row.put("dbStatementsPerRequest", (double) totals.statements() / requests);
+            row.put("dbMsPerRequest", totals.execMillis() / requests);
+        }
+    }
+
+    private static ObjectNode endpointNode(String name, LatencyRecorder recorder, double seconds) {
+        long[] sorted = recorder.sorted();
+        ObjectNode node = ApiClient.JSON.createObjectNode();
+        node.put("endpoint", name);
+        node.put("requests", recorder.count());
+        node.put("errors", recorder.errors());
+        node.put("throughput", recorder.count() / seconds);
+        node.put("p50Ms", percentile(sorted, 0.50));
+        node.put("p95Ms", percentile(sorted, 0.95));
+        node.put("p99Ms", percentile(sorted, 0.99));
+        node.put("maxMs", sorted.length > 0 ? sorted[sorted.length - 1] / 1000.0 : 0);
+        return node;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1000.0;
+    }
+
+    static void print(JsonNode report) {
+        System.out.printf("%n== %s (concurrency %d, %.0fs) ==%n", report.path("label").asText(),
+                report.path("concurrency").asInt(), report.path("durationSeconds").asDouble());
+        System.out.printf("%-22s %10s %8s %10s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (JsonNode endpoint : report.path("endpoints")) {
+            printRow(endpoint);
+        }
+        printRow(report.path("total"));
+
+        if (report.path("endpoints").path(0).has("dbStatementsPerRequest")) {
+            System.out.printf("%n%-22s %14s %14s%n", "endpoint", "db stmts/req", "db ms/req");
+            for (JsonNode endpoint : report.path("endpoints")) {
+                System.out.printf("%-22s %14.2f %14.3f%n", endpoint.path("endpoint").asText(),
+                        endpoint.path("dbStatementsPerRequest").asDouble(), endpoint.path("dbMsPerRequest").asDouble());
+            }
+        }
+        if (report.has("topStatements")) {
+            System.out.printf("%nTop statements by total time:%n");
+            for (JsonNode statement : report.path("topStatements")) {
+                String query = statement.path("query").asText();
+                System.out.printf("%10d calls %10.1f ms total %8.3f ms mean  %s%n",
+                        statement.path("calls").asLong(), statement.path("totalMs").asDouble(),
+                        statement.path("meanMs").asDouble(), query.length() > 120 ? query.substring(0, 120) + "..." : query);
+            }
+        }
+    }
+
+    private static void printRow(JsonNode row) {
+        System.out.printf("%-22s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                row.path("endpoint").asText(), row.path("requests").asLong(), row.path("errors").asLong(),
+                row.path("throughput").asDouble(), row.path("p50Ms").asDouble(), row.path("p95Ms").asDouble(),
+                row.path("p99Ms").asDouble(), row.path("maxMs").asDouble());
+    }
+
+    static Path write(JsonNode report, Path outputDir) throws IOException {
+        Files.createDirectories(outputDir);
+        Path file = outputDir.resolve(report.path("label").asText() + ".json");
+        ApiClient.JSON.writer().with(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+        return file;
+    }
+
+    /** Prints throughput and p99 of two saved runs side by side. */
+    static void compare(Path baselineFile, Path candidateFile) throws IOException {
+        JsonNode baseline = ApiClient.JSON.readTree(baselineFile.toFile());
+        JsonNode candidate = ApiClient.JSON.readTree(candidateFile.toFile());
+        String a = baseline.path("label").asText();
+        String b = candidate.path("label").asText();
+        System.out.printf("%-22s %12s %12s %8s %12s %12s %8s%n",
+                "endpoint", a + " req/s", b + " req/s", "change", a + " p99", b + " p99", "change");
+        for (JsonNode row : baseline.path("endpoints")) {
+            compareRow(row, find(candidate, row.path("endpoint").asText()));
+        }
+        compareRow(baseline.path("total"), candidate.path("total"));
+    }
+
+    private static JsonNode find(JsonNode report, String endpoint) {
+        for (JsonNode row : report.path("endpoints")) {
+            if (row.path("endpoint").asText().equals(endpoint)) {
+                return row;
+            }
+        }
+        return ApiClient.JSON.createObjectNode();
+    }
+
+    private static void compareRow(JsonNode a, JsonNode b) {
+        double throughputA = a.path("throughput").asDouble();
+        double throughputB = b.path("throughput").asDouble();
+        double p99A = a.path("p99Ms").asDouble();
+        double p99B = b.path("p99Ms").asDouble();
+        System.out.printf("%-22s %12.1f %12.1f %7.1f%% %12.2f %12.2f %7.1f%%%n",
+                a.path("endpoint").asText(), throughputA, throughputB, change(throughputA, throughputB),
+                p99A, p99B, change(p99A, p99B));
+    }
+
+    private static double change(double from, double to) {
+        return from == 0 ? 0 : (to - from) * 100 / from;
+    }
+}
@@ -0,0 +1,56 @@
+package com.autoapply.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Creates the test users and their job applications through the public API.
+ */
+final class Seeder {
+    static final String PASSWORD = "loadtest-password";
+    private static final String[] STATUSES = {"SAVED", "APPLIED", "SCREENING", "INTERVIEW", "OFFER", "REJECTED"};
+    private static final String[] COMPANIES = {"Acme", "Globex", "Initech", "Umbrella", "Hooli", "Stark", "Wayne"};
+    private static final int BULK_CHUNK = 500;
+
+    private Seeder() {
+    }
+
+    static List<TestUser> seed(ApiClient api, LoadTestOptions options) throws Exception {
+        Random random = new Random(options.seed());
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        List<TestUser> users = new ArrayList<>(options.users());
+        for (int u = 0; u < options.users(); u++) {
+            String email = "loadtest-" + runId + "-" + u + "@example.com";
+            String token = api.register(email, PASSWORD);
+            List<Map<String, Object>> chunk = new ArrayList<>(BULK_CHUNK);
+            for (int j = 0; j < options.jobsPerUser(); j++) {
+                chunk.add(job(random, j));
+                if (chunk.size() == BULK_CHUNK) {
+                    api.bulkCreate(token, chunk);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                api.bulkCreate(token, chunk);
+            }
+            users.add(new TestUser(email, token, api.listJobIds(token)));
+        }
+        return users;
+    }
+
+    static Map<String, Object> job(Random random, int n) {
+        String company = COMPANIES[random.nextInt(COMPANIES.length)];
+        return Map.of(
+                "title", "Software Engineer " + n,
+                "company", company,
+                "url", "https://jobs.example.com/" + company.toLowerCase() + "/" + n,
+                "description", "Build and operate services. Java, Postgres, Kubernetes. Posting " + n + ".",
+                "status", STATUSES[random.nextInt(STATUSES.length)],
+                "notes", "Seeded by the load test");
+    }
+
+    record TestUser(String email, String token, List<Long> jobIds) {
+    }
+}
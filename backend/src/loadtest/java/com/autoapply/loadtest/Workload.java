@@ -0,0 +1,179 @@
+package com.autoapply.loadtest;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop workload over the API: each client sends its next request as soon as the
+ * previous one returns. The dashboard mix covers the job endpoints and is mostly reads;
+ * the full mix adds register, login and link parsing, which needs a job board to fetch from.
+ */
+final class Workload {
+    static final String LIST = "GET /api/jobs";
+    static final String STATS = "GET /api/jobs/stats";
+    static final String GET = "GET /api/jobs/{id}";
+    static final String UPDATE = "PUT /api/jobs/{id}";
+    static final String CREATE = "POST /api/jobs";
+    static final String REGISTER = "POST /api/auth/register";
+    static final String LOGIN = "POST /api/auth/login";
+    static final String PARSE = "POST /api/jobs/parse";
+
+    /** Endpoint weights, in percent. */
+    static final Map<String, Integer> DASHBOARD_MIX = mix(
+            LIST, 40, STATS, 20, GET, 20, UPDATE, 10, CREATE, 10);
+    static final Map<String, Integer> FULL_MIX = mix(
+            LIST, 30, STATS, 15, GET, 15, UPDATE, 10, CREATE, 10, PARSE, 10, LOGIN, 8, REGISTER, 2);
+
+    private static final String[] STATUSES = {"APPLIED", "SCREENING", "INTERVIEW"};
+
+    private final ApiClient api;
+    private final List<Seeder.TestUser> users;
+    private final long seed;
+    private final Map<String, Integer> mix;
+    private final String jobBoardUrl;
+    /** Distinct suffix per registered user and parsed link, across runs of this workload. */
+    private final AtomicLong sequence = new AtomicLong();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    Workload(ApiClient api, List<Seeder.TestUser> users, long seed, Map<String, Integer> mix, String jobBoardUrl) {
+        if (mix.containsKey(PARSE) && jobBoardUrl == null) {
+            throw new IllegalArgumentException("The parse endpoint needs a job board URL");
+        }
+        this.api = api;
+        this.users = users;
+        this.seed = seed;
+        this.mix = mix;
+        this.jobBoardUrl = jobBoardUrl;
+    }
+
+    List<String> endpoints() {
+        return List.copyOf(mix.keySet());
+    }
+
+    /**
+     * Runs {@code concurrency} clients for {@code duration} and returns the merged latencies
+     * per endpoint together with the measured wall-clock time.
+     */
+    Result run(int concurrency, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        long started = System.nanoTime();
+        List<Future<Map<String, LatencyRecorder>>> workers = new ArrayList<>(concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                SplittableRandom random = new SplittableRandom(seed + i);
+                workers.add(executor.submit(() -> runClient(random, deadline)));
+            }
+        }
+        long elapsedNanos = System.nanoTime() - started;
+
+        Map<String, LatencyRecorder> merged = recorders();
+        for (Future<Map<String, LatencyRecorder>> worker : workers) {
+            worker.get().forEach((endpoint, recorder) -> merged.get(endpoint).mergeFrom(recorder));
+        }
+        return new Result(merged, Duration.ofNanos(elapsedNanos));
+    }
+
+    /**
+     * Sends {@code requests} requests to a single endpoint, one at a time, so that whatever
+     * the database sees meanwhile can be attributed to that endpoint.
+     */
+    LatencyRecorder runSequential(String endpoint, int requests) {
+        SplittableRandom random = new SplittableRandom(seed);
+        LatencyRecorder recorder = new LatencyRecorder();
+        for (int i = 0; i < requests && !Thread.currentThread().isInterrupted(); i++) {
+            call(endpoint, random, recorder);
+        }
+        return recorder;
+    }
+
+    private Map<String, LatencyRecorder> runClient(SplittableRandom random, long deadline) {
+        Map<String, LatencyRecorder> recorders = recorders();
+        while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+            String endpoint = pick(random);
+            call(endpoint, random, recorders.get(endpoint));
+        }
+        return recorders;
+    }
+
+    private void call(String endpoint, SplittableRandom random, LatencyRecorder recorder) {
+        Seeder.TestUser user = users.get(random.nextInt(users.size()));
+        Long jobId = user.jobIds().get(random.nextInt(user.jobIds().size()));
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = switch (endpoint) {
+                case LIST -> api.send("GET", "/api/jobs?limit=50", user.token(), null);
+                case STATS -> api.send("GET", "/api/jobs/stats", user.token(), null);
+                case GET -> api.send("GET", "/api/jobs/" + jobId, user.token(), null);
+                case UPDATE -> api.send("PUT", "/api/jobs/" + jobId, user.token(), ApiClient.JSON.writeValueAsString(
+                        Map.of("status", STATUSES[random.nextInt(STATUSES.length)], "notes", "Updated " + start)));
+                case CREATE -> api.send("POST", "/api/jobs", user.token(), ApiClient.JSON.writeValueAsString(
+                        Map.of("title", "Load test job", "company", "Acme", "status", "SAVED")));
+                case LOGIN -> api.send("POST", "/api/auth/login", null, ApiClient.JSON.writeValueAsString(
+                        Map.of("email", user.email(), "password", Seeder.PASSWORD)));
+                case REGISTER -> api.send("POST", "/api/auth/register", null, ApiClient.JSON.writeValueAsString(Map.of(
+                        "email", "loadtest-" + runId + "-new-" + sequence.incrementAndGet() + "@example.com",
+                        "password", Seeder.PASSWORD, "firstName", "Load", "lastName", "Test")));
+                // One in four links was parsed before, so the link cache sees some hits
+                case PARSE -> api.send("POST", "/api/jobs/parse", user.token(), ApiClient.JSON.writeValueAsString(
+                        jobBoardUrl + "/jobs/" + (random.nextInt(4) == 0
+                                ? random.nextInt(100)
+                                : runId + "-" + sequence.incrementAndGet())));
+                default -> throw new IllegalArgumentException("Unknown endpoint " + endpoint);
+            };
+            long micros = (System.nanoTime() - start) / 1_000;
+            if (response.statusCode() / 100 == 2) {
+                recorder.record(micros);
+            } else {
+                recorder.recordError();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            recorder.recordError();
+        }
+    }
+
+    private String pick(SplittableRandom random) {
+        int roll = random.nextInt(100);
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Mix weights must add up to 100");
+    }
+
+    private Map<String, LatencyRecorder> recorders() {
+        Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+        mix.keySet().forEach(endpoint -> recorders.put(endpoint, new LatencyRecorder()));
+        return recorders;
+    }
+
+    private static Map<String, Integer> mix(Object... endpointsAndWeights) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        int total = 0;
+        for (int i = 0; i < endpointsAndWeights.length; i += 2) {
+            int weight = (Integer) endpointsAndWeights[i + 1];
+            mix.put((String) endpointsAndWeights[i], weight);
+            total += weight;
+        }
+        if (total != 100) {
+            throw new IllegalStateException("Mix weights add up to " + total + ", not 100");
+        }
+        return Collections.unmodifiableMap(mix);
+    }
+
+    record Result(Map<String, LatencyRecorder> latencies, Duration elapsed) {
+    }
+}
@@ -1,19 +1,36 @@
 package com.autoapply.auth.config;
 
+import com.autoapply.auth.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
+
 /**
  * Configuration for password encoding.
  * Separated from SecurityConfig to avoid circular dependencies.
+ *
+ * <p>BCrypt with a configurable cost, run on a bounded hashing pool (see
+ * {@link BoundedPasswordEncoder}). Stored hashes with a lower cost than configured are
+ * re-hashed at the next successful login ({@code UserService#updatePassword}).
  */
 @Configuration
 public class PasswordEncoderConfig {
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${auth.password.bcrypt-strength:10}") int strength,
+            @Value("${auth.password.hashing-threads:0}") int hashingThreads,
+            @Value("${auth.password.hashing-queue-capacity:200}") int queueCapacity,
+            @Value("${auth.password.hashing-max-wait:5s}") Duration maxWait) {
+        // 0: half the cores, leaving the rest for the API whatever the login load
+        int threads = hashingThreads > 0 ? hashingThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), threads, queueCapacity, maxWait,
+                meterRegistry);
     }
 }
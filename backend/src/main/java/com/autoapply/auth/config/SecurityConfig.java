@@ -1,7 +1,10 @@
 package com.autoapply.auth.config;
 
 import com.autoapply.auth.filter.JwtAuthenticationFilter;
+import com.autoapply.auth.filter.MetricsScrapeTokenFilter;
 import com.autoapply.auth.handler.OAuth2SuccessHandler;
+import com.autoapply.common.datasource.ReadYourWritesFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -16,6 +19,7 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
@@ -34,7 +38,10 @@ import java.util.List;
 public class SecurityConfig {
     @Lazy
     private final UserDetailsService userDetailsService;
+    @Lazy
+    private final UserDetailsPasswordService userDetailsPasswordService;
     private final JwtAuthenticationFilter jwtAuthFilter;
+    private final MetricsScrapeTokenFilter metricsScrapeTokenFilter;
     @Lazy
     private final OAuth2SuccessHandler oAuth2SuccessHandler;
     private final PasswordEncoder passwordEncoder;
@@ -48,14 +55,22 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .authorizeHttpRequests(auth -> auth
+                        // Async (CompletableFuture) and error dispatches were already authorized on the original request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                         .requestMatchers("/api/auth/**", "/login/oauth2/**", "/error").permitAll()
+                        // Probes carry no token
+                        .requestMatchers("/actuator/health/**").permitAll()
+                        // The scraper authenticates with metrics.scrape-token (MetricsScrapeTokenFilter)
+                        .requestMatchers("/actuator/prometheus").hasAnyRole(MetricsScrapeTokenFilter.ROLE, "ADMIN")
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
                 .authenticationProvider(authenticationProvider())
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(metricsScrapeTokenFilter, JwtAuthenticationFilter.class);
         
         // Only configure OAuth2 if at least one client ID is provided
         if (isOAuth2Enabled()) {
@@ -72,6 +87,8 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder);
+        // Re-hashes a password stored with a lower bcrypt cost than configured after a successful login
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService);
         return authProvider;
     }
 
@@ -91,6 +108,8 @@ public class SecurityConfig {
         ));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("*"));
+        // Clients echo it back for read-your-writes across instances
+        configuration.setExposedHeaders(List.of(ReadYourWritesFilter.HEADER));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
 
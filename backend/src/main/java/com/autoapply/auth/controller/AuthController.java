@@ -1,10 +1,15 @@
 package com.autoapply.auth.controller;
 
 import com.autoapply.auth.dto.AuthResponse;
+import com.autoapply.auth.dto.ForgotPasswordRequest;
 import com.autoapply.auth.dto.LoginRequest;
+import com.autoapply.auth.dto.MessageResponse;
 import com.autoapply.auth.dto.RegisterRequest;
+import com.autoapply.auth.dto.ResetPasswordRequest;
 import com.autoapply.auth.entity.User;
 import com.autoapply.auth.service.AuthService;
+import com.autoapply.auth.service.PasswordResetService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -15,16 +20,34 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class AuthController {
     private final AuthService authService;
+    private final PasswordResetService passwordResetService;
 
     @PostMapping("/register")
-    public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest request) {
-        AuthResponse response = authService.register(request);
+    public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest request,
+                                                 HttpServletRequest httpRequest) {
+        AuthResponse response = authService.register(request, httpRequest.getRemoteAddr());
         return ResponseEntity.ok(response);
     }
 
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
-        AuthResponse response = authService.login(request);
+    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request,
+                                              HttpServletRequest httpRequest) {
+        AuthResponse response = authService.login(request, httpRequest.getRemoteAddr());
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping("/forgot-password")
+    public ResponseEntity<MessageResponse> forgotPassword(@Valid @RequestBody ForgotPasswordRequest request,
+                                                          HttpServletRequest httpRequest) {
+        passwordResetService.requestReset(request.getEmail(), httpRequest.getRemoteAddr());
+        return ResponseEntity.ok(new MessageResponse(
+                "If an account with that email exists, a password reset link has been sent."));
+    }
+
+    @PostMapping("/reset-password")
+    public ResponseEntity<MessageResponse> resetPassword(@Valid @RequestBody ResetPasswordRequest request,
+                                                         HttpServletRequest httpRequest) {
+        passwordResetService.resetPassword(request.getToken(), request.getNewPassword(), httpRequest.getRemoteAddr());
+        return ResponseEntity.ok(new MessageResponse("Password has been reset. You can now log in."));
+    }
 }
@@ -0,0 +1,21 @@
+package com.autoapply.auth.dto;
+
+import com.autoapply.auth.entity.User;
+import lombok.Value;
+
+/**
+ * Immutable copy of a user's account details, safe to cache and share across threads
+ * (unlike the managed {@link User} entity). Carries no password hash.
+ */
+@Value
+public class UserProfile {
+    Long id;
+    String email;
+    String firstName;
+    String lastName;
+    User.Role role;
+
+    public static UserProfile from(User user) {
+        return new UserProfile(user.getId(), user.getEmail(), user.getFirstName(), user.getLastName(), user.getRole());
+    }
+}
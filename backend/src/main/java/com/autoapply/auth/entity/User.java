@@ -38,6 +38,13 @@ public class User implements UserDetails {
     @Builder.Default
     private Role role = Role.USER;
 
+    /**
+     * Written only by {@code UserRepository.incrementTokenEpoch}, never by entity updates,
+     * so saving a stale entity cannot undo a revocation.
+     */
+    @Column(nullable = false, insertable = false, updatable = false)
+    private int tokenEpoch;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
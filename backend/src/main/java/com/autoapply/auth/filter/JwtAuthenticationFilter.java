@@ -1,7 +1,10 @@
 package com.autoapply.auth.filter;
 
+import com.autoapply.auth.security.AuthenticatedUser;
+import com.autoapply.auth.security.JwtClaims;
 import com.autoapply.auth.service.JwtService;
-import com.autoapply.auth.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,18 +13,23 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
+/**
+ * Authenticates requests from the Bearer token alone. The principal is built from the
+ * verified token claims, so no user lookup hits the database on the request path.
+ * Verification is timed as {@code auth.jwt.verify}, tagged by outcome.
+ */
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
-    private final UserService userService;
+    private final MeterRegistry meterRegistry;
 
     @Override
     protected void doFilterInternal(
@@ -30,28 +38,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String userEmail;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        jwt = authHeader.substring(7);
-        userEmail = jwtService.extractEmail(jwt);
-
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userService.loadUserByUsername(userEmail);
-            if (jwtService.validateToken(jwt, userEmail)) {
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            // Single verification per request; repeat tokens are served from JwtService's cache
+            Timer.Sample sample = Timer.start(meterRegistry);
+            Optional<JwtClaims> verified = jwtService.verify(authHeader.substring(7));
+            sample.stop(meterRegistry.timer("auth.jwt.verify", "outcome", verified.isPresent() ? "valid" : "invalid"));
+            verified.ifPresent(claims -> {
+                AuthenticatedUser principal = claims.toPrincipal();
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
+                        principal,
                         null,
-                        userDetails.getAuthorities()
+                        principal.getAuthorities()
                 );
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
-            }
+            });
         }
 
         filterChain.doFilter(request, response);
@@ -34,7 +34,7 @@ public class OAuth2SuccessHandler extends SimpleUrlAuthenticationSuccessHandler
         String lastName = extractLastName(oauth2User);
 
         User user = userService.findOrCreateOAuthUser(email, firstName, lastName);
-        String jwt = jwtService.generateToken(user.getId(), user.getEmail());
+        String jwt = jwtService.generateToken(user);
 
         String targetUrl = UriComponentsBuilder.fromUriString("http://localhost:3000/auth/callback")
                 .queryParam("token", jwt)
@@ -0,0 +1,40 @@
+package com.autoapply.auth.repository;
+
+import com.autoapply.auth.entity.PasswordResetToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, Long> {
+
+    /**
+     * Marks the token used and returns its user, in one statement on the unique token index.
+     * Of two concurrent calls with the same token, the second waits for the first's row lock
+     * and then finds the token used, so a token can reset a password only once.
+     */
+    @Query(value = "UPDATE password_reset_tokens SET used = TRUE "
+            + "WHERE token = :tokenHash AND NOT used AND expiry_date > :now "
+            + "RETURNING user_id",
+            nativeQuery = true)
+    Optional<Long> consume(String tokenHash, LocalDateTime now);
+
+    /** Invalidates the user's other outstanding tokens once one of them has been used. */
+    @Modifying
+    @Query(value = "DELETE FROM password_reset_tokens WHERE user_id = :userId AND NOT used", nativeQuery = true)
+    int deleteUnusedByUserId(Long userId);
+
+    /**
+     * Deletes up to {@code limit} expired tokens. Rows locked by another sweeper or a
+     * concurrent reset are skipped and picked up by a later batch.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM password_reset_tokens WHERE id IN ("
+            + "SELECT id FROM password_reset_tokens WHERE expiry_date < :cutoff LIMIT :limit FOR UPDATE SKIP LOCKED)",
+            nativeQuery = true)
+    int deleteExpired(LocalDateTime cutoff, int limit);
+}
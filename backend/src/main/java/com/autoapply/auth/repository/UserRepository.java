@@ -2,6 +2,8 @@ package com.autoapply.auth.repository;
 
 import com.autoapply.auth.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -10,4 +12,9 @@ import java.util.Optional;
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    /** Revokes every token issued to the user so far; see {@code TokenEpochs}. */
+    @Modifying
+    @Query(value = "UPDATE users SET token_epoch = token_epoch + 1 WHERE id = :userId", nativeQuery = true)
+    int incrementTokenEpoch(Long userId);
 }
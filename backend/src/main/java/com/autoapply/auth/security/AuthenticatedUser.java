@@ -0,0 +1,31 @@
+package com.autoapply.auth.security;
+
+import com.autoapply.auth.entity.User;
+import lombok.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.Principal;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Lightweight principal built directly from verified JWT claims.
+ * Used for stateless request authentication so that authenticated API calls
+ * don't need to load the full {@link User} entity from the database.
+ */
+@Value
+public class AuthenticatedUser implements Principal {
+    Long id;
+    String email;
+    User.Role role;
+
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -0,0 +1,28 @@
+package com.autoapply.auth.security;
+
+import com.autoapply.auth.entity.User;
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Immutable view of a verified access token. Produced once per token by
+ * {@link com.autoapply.auth.service.JwtService#verify(String)}.
+ */
+@Value
+public class JwtClaims {
+    Long userId;
+    String email;
+    User.Role role;
+    /** The user's token epoch at issue; see {@link TokenEpochs}. */
+    int epoch;
+    Instant expiresAt;
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+
+    public AuthenticatedUser toPrincipal() {
+        return new AuthenticatedUser(userId, email, role);
+    }
+}
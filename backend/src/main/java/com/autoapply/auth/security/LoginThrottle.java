@@ -0,0 +1,79 @@
+package com.autoapply.auth.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * In-memory throttles checked before any password is hashed, so throttled attempts cost no
+ * bcrypt time. Per client IP, every attempt counts, which slows credential stuffing from
+ * one source. Per account, only failed logins count, and a successful login clears them,
+ * which stops guessing one account from many IPs without locking out its owner for long.
+ * Limits are per instance.
+ */
+@Component
+public class LoginThrottle {
+    private final SlidingWindowLimiter perIp;
+    private final SlidingWindowLimiter perAccount;
+    private final Counter ipThrottled;
+    private final Counter accountThrottled;
+
+    public LoginThrottle(
+            MeterRegistry meterRegistry,
+            @Value("${auth.throttle.ip.max-attempts:30}") int ipMaxAttempts,
+            @Value("${auth.throttle.ip.window:1m}") Duration ipWindow,
+            @Value("${auth.throttle.account.max-failures:5}") int accountMaxFailures,
+            @Value("${auth.throttle.account.window:15m}") Duration accountWindow,
+            @Value("${auth.throttle.max-tracked-keys:100000}") long maxTrackedKeys) {
+        this.perIp = new SlidingWindowLimiter(ipMaxAttempts, ipWindow, maxTrackedKeys);
+        this.perAccount = new SlidingWindowLimiter(accountMaxFailures, accountWindow, maxTrackedKeys);
+        this.ipThrottled = throttledCounter(meterRegistry, "ip");
+        this.accountThrottled = throttledCounter(meterRegistry, "account");
+    }
+
+    private static Counter throttledCounter(MeterRegistry meterRegistry, String scope) {
+        return Counter.builder("auth.throttled")
+                .description("Login and password reset attempts refused by a throttle")
+                .tag("scope", scope)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Counts an attempt from the IP and checks the account's recent failures.
+     *
+     * @throws LoginThrottledException when either limit is reached
+     */
+    public void checkAttempt(String email, String clientIp) {
+        Duration accountWait = perAccount.retryAfter(accountKey(email));
+        if (!accountWait.isZero()) {
+            accountThrottled.increment();
+            throw new LoginThrottledException(accountWait);
+        }
+        checkIp(clientIp);
+    }
+
+    /** Counts an attempt from the IP, for endpoints that are not tied to a password check. */
+    public void checkIp(String clientIp) {
+        Duration ipWait = perIp.tryRecord(clientIp);
+        if (!ipWait.isZero()) {
+            ipThrottled.increment();
+            throw new LoginThrottledException(ipWait);
+        }
+    }
+
+    public void recordFailure(String email) {
+        perAccount.record(accountKey(email));
+    }
+
+    public void recordSuccess(String email) {
+        perAccount.reset(accountKey(email));
+    }
+
+    private static String accountKey(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,19 @@
+package com.autoapply.auth.security;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a login or reset request is over its per-account or per-IP limit. Answered
+ * with 429 and a Retry-After header.
+ */
+@Getter
+public class LoginThrottledException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public LoginThrottledException(Duration retryAfter) {
+        super("Too many attempts, try again later");
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,11 @@
+package com.autoapply.auth.security;
+
+/**
+ * Thrown when password hashing is saturated: the hashing pool's queue is full, or a hash
+ * did not start and finish within the configured wait. Answered with 503 and Retry-After.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
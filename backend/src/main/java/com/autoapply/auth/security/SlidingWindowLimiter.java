@@ -0,0 +1,81 @@
+package com.autoapply.auth.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+
+/**
+ * Allows at most {@code limit} events per key in any window of the given length (a sliding
+ * log, so there is no burst at window boundaries). Keeps at most {@code limit} timestamps
+ * per key; idle keys are evicted after one window, and the number of keys is capped.
+ */
+final class SlidingWindowLimiter {
+    private final int limit;
+    private final long windowNanos;
+    private final Cache<String, Window> windows;
+
+    SlidingWindowLimiter(int limit, Duration window, long maxKeys) {
+        this.limit = limit;
+        this.windowNanos = window.toNanos();
+        this.windows = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(window)
+                .build();
+    }
+
+    /** @return time until another event is allowed for the key; zero if one is allowed now */
+    Duration retryAfter(String key) {
+        Window window = windows.getIfPresent(key);
+        return window != null ? Duration.ofNanos(window.nanosUntilFree(System.nanoTime())) : Duration.ZERO;
+    }
+
+    /**
+     * Records an event if the key is under its limit.
+     *
+     * @return zero if recorded, otherwise the time until the next event would be allowed
+     */
+    Duration tryRecord(String key) {
+        return Duration.ofNanos(windows.get(key, k -> new Window()).tryRecord(System.nanoTime()));
+    }
+
+    void record(String key) {
+        windows.get(key, k -> new Window()).record(System.nanoTime());
+    }
+
+    void reset(String key) {
+        windows.invalidate(key);
+    }
+
+    private final class Window {
+        private final ArrayDeque<Long> events = new ArrayDeque<>();
+
+        synchronized long nanosUntilFree(long now) {
+            evictExpired(now);
+            return events.size() < limit ? 0 : events.peekFirst() + windowNanos - now;
+        }
+
+        synchronized long tryRecord(long now) {
+            long wait = nanosUntilFree(now);
+            if (wait == 0) {
+                events.addLast(now);
+            }
+            return wait;
+        }
+
+        synchronized void record(long now) {
+            evictExpired(now);
+            if (events.size() == limit) {
+                events.removeFirst();
+            }
+            events.addLast(now);
+        }
+
+        private void evictExpired(long now) {
+            while (!events.isEmpty() && now - events.peekFirst() >= windowNanos) {
+                events.removeFirst();
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.autoapply.auth.security;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Current token epoch per user ({@code users.token_epoch}). A token is valid only while the
+ * epoch it was issued with is the user's current one, and a deleted user has none, so
+ * revocation works without a user lookup per request: epochs are cached for
+ * {@code auth.token-epochs.ttl}. The instance that bumps an epoch invalidates its entry at
+ * once; other instances reject the revoked tokens once their entry expires.
+ */
+@Component
+public class TokenEpochs {
+    private static final int NO_USER = -1;
+    private static final String CURRENT_EPOCH = "SELECT token_epoch FROM users WHERE id = :userId";
+
+    private final LoadingCache<Long, Integer> epochs;
+
+    /**
+     * Reads outside any transaction, which the replica router always sends to the primary:
+     * a replica could still show the epoch from before a revocation.
+     */
+    @Autowired
+    public TokenEpochs(
+            NamedParameterJdbcTemplate jdbc,
+            @Value("${auth.token-epochs.ttl:30s}") Duration ttl,
+            @Value("${auth.token-epochs.max-size:100000}") long maxSize) {
+        this.epochs = cache(userId -> {
+            List<Integer> rows = jdbc.queryForList(CURRENT_EPOCH, new MapSqlParameterSource("userId", userId), Integer.class);
+            return rows.isEmpty() ? NO_USER : rows.get(0);
+        }, ttl, maxSize);
+    }
+
+    /** With a custom epoch source, e.g. for benchmarks without a database. */
+    public TokenEpochs(Function<Long, Integer> loader, Duration ttl, long maxSize) {
+        this.epochs = cache(loader, ttl, maxSize);
+    }
+
+    private static LoadingCache<Long, Integer> cache(Function<Long, Integer> loader, Duration ttl, long maxSize) {
+        return Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .build(loader::apply);
+    }
+
+    public boolean isCurrent(JwtClaims claims) {
+        return claims.getUserId() != null && epochs.get(claims.getUserId()) == claims.getEpoch();
+    }
+
+    /** Drops this instance's cached epoch after the user's epoch changed. */
+    public void invalidate(Long userId) {
+        epochs.invalidate(userId);
+    }
+}
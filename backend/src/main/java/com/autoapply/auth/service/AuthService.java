@@ -4,8 +4,13 @@ import com.autoapply.auth.dto.AuthResponse;
 import com.autoapply.auth.dto.LoginRequest;
 import com.autoapply.auth.dto.RegisterRequest;
 import com.autoapply.auth.entity.User;
+import com.autoapply.auth.security.LoginThrottle;
+import com.autoapply.auth.security.PasswordHashingBusyException;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -14,13 +19,16 @@ import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
+@Timed("autoapply.service")
 public class AuthService {
     private final UserService userService;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final LoginThrottle loginThrottle;
 
     @Transactional
-    public AuthResponse register(RegisterRequest request) {
+    public AuthResponse register(RegisterRequest request, String clientIp) {
+        loginThrottle.checkIp(clientIp);
         User user = userService.createUser(
                 request.getEmail(),
                 request.getPassword(),
@@ -28,7 +36,7 @@ public class AuthService {
                 request.getLastName()
         );
 
-        String jwt = jwtService.generateToken(user.getId(), user.getEmail());
+        String jwt = jwtService.generateToken(user);
 
         return AuthResponse.builder()
                 .accessToken(jwt)
@@ -39,16 +47,33 @@ public class AuthService {
                 .build();
     }
 
-    public AuthResponse login(LoginRequest request) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getEmail(),
-                        request.getPassword()
-                )
-        );
+    /**
+     * Throttled before the password is checked, so refused attempts cost no hashing.
+     */
+    public AuthResponse login(LoginRequest request, String clientIp) {
+        loginThrottle.checkAttempt(request.getEmail(), clientIp);
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            request.getEmail(),
+                            request.getPassword()
+                    )
+            );
+        } catch (BadCredentialsException e) {
+            loginThrottle.recordFailure(request.getEmail());
+            throw e;
+        } catch (InternalAuthenticationServiceException e) {
+            // The provider wraps failures of the user lookup, including the dummy hash it runs for unknown emails
+            if (e.getCause() instanceof PasswordHashingBusyException busy) {
+                throw busy;
+            }
+            throw e;
+        }
+        loginThrottle.recordSuccess(request.getEmail());
 
         User user = (User) authentication.getPrincipal();
-        String jwt = jwtService.generateToken(user.getId(), user.getEmail());
+        String jwt = jwtService.generateToken(user);
 
         return AuthResponse.builder()
                 .accessToken(jwt)
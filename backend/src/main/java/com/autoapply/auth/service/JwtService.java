@@ -1,35 +1,75 @@
 package com.autoapply.auth.service;
 
+import com.autoapply.auth.entity.User;
+import com.autoapply.auth.security.JwtClaims;
+import com.autoapply.auth.security.TokenEpochs;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
 
 @Service
+@Slf4j
 public class JwtService {
-    @Value("${jwt.secret}")
-    private String secret;
+    private final long expirationMs;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final TokenEpochs tokenEpochs;
 
-    @Value("${jwt.expiration-ms:86400000}")
-    private Long expirationMs;
+    /**
+     * Recently verified tokens keyed by their SHA-256 hash, each entry expiring with its token.
+     * Raw bearer tokens are never retained.
+     */
+    private final Cache<String, JwtClaims> verifiedTokens;
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private final LongAdder signatureVerifications = new LongAdder();
+
+    public JwtService(
+            @Value("${jwt.secret}") String secret,
+            @Value("${jwt.expiration-ms:86400000}") long expirationMs,
+            @Value("${jwt.verified-cache.max-size:10000}") long verifiedCacheMaxSize,
+            TokenEpochs tokenEpochs) {
+        this.expirationMs = expirationMs;
+        this.tokenEpochs = tokenEpochs;
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaxSize)
+                .expireAfter(new TokenExpiry())
+                .build();
+    }
+
+    public String generateToken(User user) {
+        return generateToken(user.getId(), user.getEmail(), user.getRole(), user.getTokenEpoch());
     }
 
-    public String generateToken(Long userId, String email) {
+    public String generateToken(Long userId, String email, User.Role role, int epoch) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("userId", userId);
+        claims.put("role", role.name());
+        claims.put("epoch", epoch);
         return createToken(claims, email);
     }
 
@@ -42,42 +82,98 @@ public class JwtService {
                 .subject(subject)
                 .issuedAt(now)
                 .expiration(expiration)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, Jwts.SIG.HS256)
                 .compact();
     }
 
-    public String extractEmail(String token) {
-        return extractClaim(token, Claims::getSubject);
-    }
+    /**
+     * Verifies the token signature and expiry once and returns its claims.
+     * Repeated calls with the same token are served from the verified-token cache
+     * until the token expires. The token epoch is checked on every call.
+     *
+     * @return the verified claims, or empty if the token is malformed, tampered with,
+     * expired or revoked
+     */
+    public Optional<JwtClaims> verify(String token) {
+        String key = hash(token);
+        JwtClaims cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            return cached.isExpired(Instant.now()) || !tokenEpochs.isCurrent(cached)
+                    ? Optional.empty() : Optional.of(cached);
+        }
 
-    public Long extractUserId(String token) {
-        Claims claims = extractAllClaims(token);
-        return claims.get("userId", Long.class);
+        JwtClaims claims;
+        try {
+            claims = toJwtClaims(parser.parseSignedClaims(token).getPayload());
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected JWT: {}", e.getMessage());
+            return Optional.empty();
+        } finally {
+            signatureVerifications.increment();
+        }
+
+        if (!tokenEpochs.isCurrent(claims)) {
+            log.debug("Rejected revoked JWT for user {}", claims.getUserId());
+            return Optional.empty();
+        }
+        verifiedTokens.put(key, claims);
+        return Optional.of(claims);
     }
 
-    public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    /**
+     * Called once a revocation of the user's tokens has committed: drops the cached epoch and
+     * the user's verified tokens on this instance.
+     */
+    public void forgetUser(Long userId) {
+        tokenEpochs.invalidate(userId);
+        verifiedTokens.asMap().values().removeIf(claims -> userId.equals(claims.getUserId()));
     }
 
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    /**
+     * Total number of signature verifications performed (cache misses).
+     */
+    public long getSignatureVerificationCount() {
+        return signatureVerifications.sum();
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private JwtClaims toJwtClaims(Claims claims) {
+        // Tokens issued before the role or epoch claims were introduced fall back to USER and 0
+        String role = claims.get("role", String.class);
+        Integer epoch = claims.get("epoch", Integer.class);
+        return new JwtClaims(
+                claims.get("userId", Long.class),
+                claims.getSubject(),
+                role != null ? User.Role.valueOf(role) : User.Role.USER,
+                epoch != null ? epoch : 0,
+                claims.getExpiration().toInstant()
+        );
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hashed = digest.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hashed);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
-    public Boolean validateToken(String token, String email) {
-        final String tokenEmail = extractEmail(token);
-        return (tokenEmail.equals(email) && !isTokenExpired(token));
+    private static class TokenExpiry implements Expiry<String, JwtClaims> {
+        @Override
+        public long expireAfterCreate(String key, JwtClaims value, long currentTime) {
+            Duration remaining = Duration.between(Instant.now(), value.getExpiresAt());
+            return Math.max(0, remaining.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, JwtClaims value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, JwtClaims value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
@@ -0,0 +1,141 @@
+package com.autoapply.auth.service;
+
+import com.autoapply.auth.entity.PasswordResetToken;
+import com.autoapply.auth.entity.User;
+import com.autoapply.auth.repository.PasswordResetTokenRepository;
+import com.autoapply.auth.repository.UserRepository;
+import com.autoapply.auth.security.LoginThrottle;
+import com.autoapply.mail.service.PasswordResetMailer;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Forgot-password flow. A reset issues a random single-use token, stores its SHA-256 hash
+ * and mails the raw token (via the mail queue, in the same transaction). Redeeming looks
+ * the hash up and marks it used in one statement. Expired tokens are deleted in small
+ * batches by {@link #sweepExpiredTokens()}.
+ */
+@Service
+@Slf4j
+@Timed("autoapply.service")
+public class PasswordResetService {
+    private static final int TOKEN_BYTES = 32;
+
+    private final PasswordResetTokenRepository tokenRepository;
+    private final UserRepository userRepository;
+    private final UserService userService;
+    private final PasswordEncoder passwordEncoder;
+    private final PasswordResetMailer resetMailer;
+    private final LoginThrottle loginThrottle;
+    private final TransactionTemplate transactionTemplate;
+    private final SecureRandom random = new SecureRandom();
+    private final Duration tokenTtl;
+    private final int sweepBatchSize;
+
+    public PasswordResetService(
+            PasswordResetTokenRepository tokenRepository,
+            UserRepository userRepository,
+            UserService userService,
+            PasswordEncoder passwordEncoder,
+            PasswordResetMailer resetMailer,
+            LoginThrottle loginThrottle,
+            PlatformTransactionManager transactionManager,
+            @Value("${auth.password-reset.token-ttl:30m}") Duration tokenTtl,
+            @Value("${auth.password-reset.sweep-batch-size:1000}") int sweepBatchSize) {
+        this.tokenRepository = tokenRepository;
+        this.userRepository = userRepository;
+        this.userService = userService;
+        this.passwordEncoder = passwordEncoder;
+        this.resetMailer = resetMailer;
+        this.loginThrottle = loginThrottle;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tokenTtl = tokenTtl;
+        this.sweepBatchSize = sweepBatchSize;
+    }
+
+    /**
+     * Mails a reset link when the account exists. Callers answer the same either way, so
+     * the endpoint does not reveal which emails are registered. Throttled per IP, as each
+     * request can send mail.
+     */
+    @Transactional
+    public void requestReset(String email, String clientIp) {
+        loginThrottle.checkIp(clientIp);
+        Optional<User> account = userRepository.findByEmail(email);
+        if (account.isEmpty()) {
+            log.debug("Password reset requested for unknown email");
+            return;
+        }
+        User user = account.get();
+        byte[] tokenBytes = new byte[TOKEN_BYTES];
+        random.nextBytes(tokenBytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(tokenBytes);
+
+        tokenRepository.save(PasswordResetToken.builder()
+                .tokenHash(hash(rawToken))
+                .userId(user.getId())
+                .expiryDate(LocalDateTime.now().plus(tokenTtl))
+                .build());
+        resetMailer.sendResetLink(user.getEmail(), user.getFirstName(), rawToken, tokenTtl);
+    }
+
+    @Transactional
+    public void resetPassword(String rawToken, String newPassword, String clientIp) {
+        loginThrottle.checkIp(clientIp);
+        Long userId = tokenRepository.consume(hash(rawToken), LocalDateTime.now())
+                .orElseThrow(() -> new IllegalArgumentException("Invalid or expired reset token"));
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("Invalid or expired reset token"));
+        user.setPassword(passwordEncoder.encode(newPassword));
+        tokenRepository.deleteUnusedByUserId(userId);
+        // Whoever reset the password, sessions opened with the old one end here
+        userService.revokeTokens(userId);
+    }
+
+    /**
+     * Deletes expired tokens one bounded batch per transaction until none are left, so the
+     * table stays small without long-held locks. Safe to run on every instance at once.
+     */
+    @Scheduled(fixedDelayString = "${auth.password-reset.sweep-interval-ms:600000}")
+    public void sweepExpiredTokens() {
+        LocalDateTime cutoff = LocalDateTime.now();
+        long deleted = 0;
+        while (true) {
+            Integer batch = transactionTemplate.execute(tx -> tokenRepository.deleteExpired(cutoff, sweepBatchSize));
+            int count = batch != null ? batch : 0;
+            deleted += count;
+            if (count < sweepBatchSize) {
+                break;
+            }
+        }
+        if (deleted > 0) {
+            log.info("Deleted {} expired password reset tokens.", deleted);
+        }
+    }
+
+    static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -1,28 +1,105 @@
 package com.autoapply.auth.service;
 
+import com.autoapply.auth.dto.UserProfile;
 import com.autoapply.auth.entity.User;
 import com.autoapply.auth.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import com.autoapply.common.datasource.ReadFromPrimary;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
 
 @Service
-@RequiredArgsConstructor
-public class UserService implements UserDetailsService {
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final JwtService jwtService;
+
+    /**
+     * Bounded, TTL-evicting cache of user profiles keyed by id. Request authentication
+     * doesn't need it (see AuthenticatedUser); it only serves callers that need account
+     * details. Holds immutable snapshots, never the managed entities.
+     */
+    private final Cache<Long, UserProfile> userCache;
+
+    public UserService(
+            UserRepository userRepository,
+            PasswordEncoder passwordEncoder,
+            JwtService jwtService,
+            @Value("${auth.user-cache.max-size:10000}") long userCacheMaxSize,
+            @Value("${auth.user-cache.ttl:5m}") Duration userCacheTtl) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jwtService = jwtService;
+        this.userCache = Caffeine.newBuilder()
+                .maximumSize(userCacheMaxSize)
+                .expireAfterWrite(userCacheTtl)
+                .build();
+    }
 
+    /**
+     * On the primary: an account registered a moment ago may not have reached the replicas yet.
+     */
     @Override
     @Transactional(readOnly = true)
+    @ReadFromPrimary
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
     }
 
+    /**
+     * Stores a password the authentication provider re-encoded at login because the stored
+     * hash used a lower bcrypt cost than the configured one.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newEncodedPassword) {
+        User stored = userRepository.findByEmail(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + user.getUsername()));
+        stored.setPassword(newEncodedPassword);
+        evictUser(stored.getId());
+        return stored;
+    }
+
+    @Transactional(readOnly = true)
+    public UserProfile getProfile(Long id) {
+        return userCache.get(id, key -> userRepository.findById(key)
+                .map(UserProfile::from)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with id: " + key)));
+    }
+
+    public void evictUser(Long id) {
+        userCache.invalidate(id);
+    }
+
+    /**
+     * Invalidates every access token issued to the user so far. Call it in the transaction
+     * that changes the password or role, or that deletes the user. This instance stops
+     * accepting the tokens at commit; other instances within {@code auth.token-epochs.ttl}.
+     */
+    @Transactional
+    public void revokeTokens(Long userId) {
+        userRepository.incrementTokenEpoch(userId);
+        evictUser(userId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                jwtService.forgetUser(userId);
+            }
+        });
+    }
+
     @Transactional
     public User createUser(String email, String password, String firstName, String lastName) {
         if (userRepository.existsByEmail(email)) {
@@ -0,0 +1,51 @@
+package com.autoapply.common.concurrent;
+
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Runs each task on its own virtual thread with the same limits as a bounded thread pool:
+ * at most {@code maxConcurrency} tasks run at once, at most {@code queueCapacity} more wait
+ * (parked, holding no carrier thread), and anything beyond that is rejected with
+ * {@link TaskRejectedException}.
+ */
+public class BoundedVirtualThreadExecutor implements TaskExecutor {
+    private final ThreadFactory threadFactory;
+    private final Semaphore admitted;
+    private final Semaphore running;
+
+    public BoundedVirtualThreadExecutor(String threadNamePrefix, int maxConcurrency, int queueCapacity) {
+        this.threadFactory = Thread.ofVirtual().name(threadNamePrefix, 0).factory();
+        this.admitted = new Semaphore(maxConcurrency + queueCapacity);
+        this.running = new Semaphore(maxConcurrency);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (!admitted.tryAcquire()) {
+            throw new TaskRejectedException("Executor is at capacity");
+        }
+        try {
+            threadFactory.newThread(() -> {
+                try {
+                    running.acquire();
+                    try {
+                        task.run();
+                    } finally {
+                        running.release();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    admitted.release();
+                }
+            }).start();
+        } catch (RuntimeException e) {
+            admitted.release();
+            throw new TaskRejectedException("Could not start virtual thread", e);
+        }
+    }
+}
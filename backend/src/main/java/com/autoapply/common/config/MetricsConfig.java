@@ -0,0 +1,25 @@
+package com.autoapply.common.config;
+
+import com.autoapply.job.service.LinkParserService;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Application metrics beyond what Actuator instruments on its own. {@code @Timed} service
+ * methods are enabled by {@code management.observations.annotations.enabled}; SQL statements
+ * per request come from {@link QueryDiagnosticsConfig}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Job links come from users, so the set of hosts is unbounded. Past the first hundred,
+     * new hosts are dropped rather than growing the registry without limit.
+     */
+    @Bean
+    public MeterFilter linkFetchHostLimit(@Value("${metrics.link-parser.max-hosts:100}") int maxHosts) {
+        return MeterFilter.maximumAllowableTags(LinkParserService.FETCH_TIMER, "host", maxHosts, MeterFilter.deny());
+    }
+}
@@ -0,0 +1,76 @@
+package com.autoapply.common.config;
+
+import com.autoapply.common.metrics.QueryDiagnosticsFilter;
+import com.autoapply.common.metrics.QueryDiagnosticsListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Per-request SQL diagnostics. The data source is wrapped with datasource-proxy so every
+ * JDBC execution is seen with its SQL and elapsed time; {@link QueryDiagnosticsFilter} decides
+ * which requests collect them. Off-sample requests pay one thread-local read per statement,
+ * so the sample rate can stay on in production. {@code query-diagnostics.enabled=false}
+ * removes the proxy and the filter entirely.
+ */
+@Configuration
+@ConditionalOnProperty(name = "query-diagnostics.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryDiagnosticsConfig {
+
+    /**
+     * Static, and reading the environment directly, so it is in place before the data source
+     * is created. Only the application's {@code dataSource} is wrapped; pools behind it (see
+     * {@link ReplicaRoutingConfig}) would otherwise count every statement twice.
+     */
+    @Bean
+    public static BeanPostProcessor queryDiagnosticsDataSourceProxy(
+            Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+        Duration slowQueryThreshold = Binder.get(environment)
+                .bind("query-diagnostics.slow-query-threshold", Duration.class)
+                .orElse(Duration.ofMillis(200));
+        QueryDiagnosticsListener listener = new QueryDiagnosticsListener(slowQueryThreshold, meterRegistry);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(listener)
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryDiagnosticsFilter> queryDiagnosticsFilter(
+            MeterRegistry meterRegistry,
+            @Value("${query-diagnostics.sample-rate:0.1}") double sampleRate,
+            @Value("${query-diagnostics.max-statements:25}") int maxStatements,
+            @Value("${query-diagnostics.max-db-time:500ms}") Duration maxDbTime,
+            @Value("${query-diagnostics.max-repetitions:10}") int maxRepetitions) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("query-diagnostics.sample-rate must be between 0 and 1");
+        }
+        FilterRegistrationBean<QueryDiagnosticsFilter> registration = new FilterRegistrationBean<>(
+                new QueryDiagnosticsFilter(meterRegistry, sampleRate, maxStatements, maxDbTime, maxRepetitions));
+        // Outside Spring Security (-100), so the authentication filter's queries are included
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
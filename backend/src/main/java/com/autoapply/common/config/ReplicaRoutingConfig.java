@@ -0,0 +1,106 @@
+package com.autoapply.common.config;
+
+import com.autoapply.common.datasource.ReadYourWritesFilter;
+import com.autoapply.common.datasource.ReadYourWritesTracker;
+import com.autoapply.common.datasource.ReplicaRoutingDataSource;
+import com.autoapply.common.datasource.ReplicaSet;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Routes read-only transactions to read replicas when {@code replica-routing.enabled} is set.
+ * Replaces Boot's single data source: the primary pool is still configured from
+ * {@code spring.datasource.*}, and the {@code dataSource} bean everything else uses becomes
+ * a lazy proxy over the router, so the route is chosen at the first statement, once the
+ * transaction's read-only flag is known.
+ */
+@Configuration
+@ConditionalOnProperty(name = "replica-routing.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaSet replicaSet(
+            DataSourceProperties primaryProperties,
+            MeterRegistry meterRegistry,
+            @Value("${replica-routing.urls}") List<String> urls,
+            @Value("${replica-routing.username:}") String username,
+            @Value("${replica-routing.password:}") String password,
+            @Value("${replica-routing.pool-size:20}") int poolSize,
+            @Value("${replica-routing.connection-timeout:3s}") Duration connectionTimeout,
+            @Value("${replica-routing.max-lag:5s}") Duration maxLag,
+            @Value("${replica-routing.lag-check-timeout:2s}") Duration lagCheckTimeout) {
+        List<ReplicaSet.Replica> replicas = new ArrayList<>();
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            String name = "replica-" + replicas.size();
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName(name);
+            dataSource.setJdbcUrl(url.trim());
+            dataSource.setUsername(username.isEmpty() ? primaryProperties.determineUsername() : username);
+            dataSource.setPassword(password.isEmpty() ? primaryProperties.determinePassword() : password);
+            dataSource.setMaximumPoolSize(poolSize);
+            dataSource.setConnectionTimeout(connectionTimeout.toMillis());
+            dataSource.setReadOnly(true);
+            dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(new ReplicaSet.Replica(name, dataSource));
+        }
+        if (replicas.isEmpty()) {
+            throw new IllegalStateException("replica-routing.enabled is set but replica-routing.urls is empty");
+        }
+        return new ReplicaSet(replicas, maxLag, lagCheckTimeout, meterRegistry);
+    }
+
+    /**
+     * A user's reads stay on the primary for the longest lag a picked replica can have:
+     * the lag threshold plus one check interval.
+     */
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            @Value("${replica-routing.max-lag:5s}") Duration maxLag,
+            @Value("${replica-routing.lag-check-interval-ms:1000}") long lagCheckIntervalMs,
+            @Value("${replica-routing.read-your-writes.max-users:100000}") long maxUsers) {
+        return new ReadYourWritesTracker(maxLag.plusMillis(lagCheckIntervalMs), maxUsers);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter() {
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(new ReadYourWritesFilter());
+        // Ahead of Spring Security (-100), whose authentication may already read
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaSet replicaSet,
+                                 ReadYourWritesTracker readYourWritesTracker) {
+        return new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primaryDataSource, replicaSet, readYourWritesTracker));
+    }
+}
@@ -0,0 +1,32 @@
+package com.autoapply.common.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Marks the current thread for the duration of a {@link ReadFromPrimary} method. The route is
+ * chosen lazily at the first statement, so the order relative to the transaction interceptor
+ * does not matter.
+ */
+@Aspect
+@Component
+public class ReadFromPrimaryAspect {
+
+    @Around("@annotation(com.autoapply.common.datasource.ReadFromPrimary) "
+            + "|| @within(com.autoapply.common.datasource.ReadFromPrimary)")
+    public Object onPrimary(ProceedingJoinPoint joinPoint) throws Throwable {
+        boolean outer = ReplicaRoutingDataSource.PRIMARY_REQUESTED.get();
+        ReplicaRoutingDataSource.PRIMARY_REQUESTED.set(true);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            if (outer) {
+                ReplicaRoutingDataSource.PRIMARY_REQUESTED.set(true);
+            } else {
+                ReplicaRoutingDataSource.PRIMARY_REQUESTED.remove();
+            }
+        }
+    }
+}
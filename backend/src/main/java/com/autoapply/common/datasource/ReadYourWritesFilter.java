@@ -0,0 +1,84 @@
+package com.autoapply.common.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Carries read-your-writes across instances through the client. The response to a request
+ * that committed a write has the primary's WAL position after the commit in {@value #HEADER}.
+ * A client that sends the latest position it got back on its later requests has their
+ * read-only transactions routed only to replicas that have replayed that far, whichever
+ * instance serves them. The position is not trusted for anything else: a forged one can only
+ * send the client's own reads to the primary.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    public static final String HEADER = "X-Read-After";
+
+    private static final ThreadLocal<RequestPosition> CURRENT = new ThreadLocal<>();
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        CURRENT.set(new RequestPosition(requestedPosition(request), response));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    private static long requestedPosition(HttpServletRequest request) {
+        String header = request.getHeader(HEADER);
+        if (header == null || header.isBlank()) {
+            return WalPosition.NONE;
+        }
+        try {
+            return WalPosition.parse(header.trim());
+        } catch (IllegalArgumentException e) {
+            return WalPosition.NONE;
+        }
+    }
+
+    /** Position a replica must have replayed to serve this thread's reads. */
+    static long requiredPosition() {
+        RequestPosition position = CURRENT.get();
+        return position != null ? position.required : WalPosition.NONE;
+    }
+
+    /** Whether a client is waiting for this thread's commits to be reported back. */
+    static boolean inRequest() {
+        return CURRENT.get() != null;
+    }
+
+    /** Reports a commit to the client; later reads of the same request need it too. */
+    static void recordCommit(long position) {
+        RequestPosition current = CURRENT.get();
+        if (current == null || position <= current.committed) {
+            return;
+        }
+        current.committed = position;
+        current.required = Math.max(current.required, position);
+        // Ignored once the response is committed, e.g. a write after streaming started
+        current.response.setHeader(HEADER, WalPosition.format(position));
+    }
+
+    private static final class RequestPosition {
+        private final HttpServletResponse response;
+        private long required;
+        private long committed = WalPosition.NONE;
+
+        private RequestPosition(long required, HttpServletResponse response) {
+            this.required = required;
+            this.response = response;
+        }
+    }
+}
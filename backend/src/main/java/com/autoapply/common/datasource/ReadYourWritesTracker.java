@@ -0,0 +1,32 @@
+package com.autoapply.common.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * Remembers which users committed a write recently on this instance, so their reads go to
+ * the primary until every replica the router may pick is guaranteed to have replayed it. The
+ * window must be at least the largest lag a replica can have while still being picked: the
+ * lag threshold plus the interval between lag checks. Other instances don't see these
+ * entries; {@link ReadYourWritesFilter} covers them through the client.
+ */
+public class ReadYourWritesTracker {
+    private final Cache<Long, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration window, long maxUsers) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(maxUsers)
+                .build();
+    }
+
+    public void recordWrite(Long userId) {
+        recentWriters.put(userId, Boolean.TRUE);
+    }
+
+    public boolean wroteRecently(Long userId) {
+        return recentWriters.getIfPresent(userId) != null;
+    }
+}
@@ -0,0 +1,133 @@
+package com.autoapply.common.datasource;
+
+import com.autoapply.auth.security.AuthenticatedUser;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to a replica and everything else to the primary. The routing
+ * decision needs the transaction's read-only flag, which is only set once the transaction
+ * has begun, so this must sit behind a {@code LazyConnectionDataSourceProxy}.
+ * <p>
+ * Reads go to the primary when no replica is eligible (see {@link ReplicaSet}), outside a
+ * transaction, within a {@link ReadFromPrimary} method, and for a user who committed a
+ * read-write transaction on this instance within the read-your-writes window. The user is
+ * taken from the authenticated principal; work without one (scheduled jobs, login) is not
+ * tracked. Across instances, reads of a request that carries a WAL position (see
+ * {@link ReadYourWritesFilter}) only go to a replica that has replayed up to it.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    static final String PRIMARY = "primary";
+    /** At or past the end of the commit record, even with asynchronous commit. */
+    private static final String COMMIT_POSITION = "SELECT pg_current_wal_insert_lsn()::text";
+    /** Set by {@link ReadFromPrimaryAspect}. */
+    static final ThreadLocal<Boolean> PRIMARY_REQUESTED = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private final ReplicaSet replicas;
+    private final ReadYourWritesTracker readYourWrites;
+
+    public ReplicaRoutingDataSource(DataSource primary, ReplicaSet replicas, ReadYourWritesTracker readYourWrites) {
+        this.replicas = replicas;
+        this.readYourWrites = readYourWrites;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (ReplicaSet.Replica replica : replicas.all()) {
+            targets.put(replica.name(), replica.dataSource());
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return trackWrites(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return trackWrites(super.getConnection(username, password));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        Long userId = currentUserId();
+        if (PRIMARY_REQUESTED.get() || (userId != null && readYourWrites.wroteRecently(userId))) {
+            return PRIMARY;
+        }
+        ReplicaSet.Replica replica = replicas.pick(userId, ReadYourWritesFilter.requiredPosition());
+        return replica != null ? replica.name() : PRIMARY;
+    }
+
+    /**
+     * Stamps read-your-writes when a read-write transaction commits: the window has to cover
+     * replay of the committed write.
+     */
+    private Connection trackWrites(Connection connection) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return connection;
+        }
+        Long userId = currentUserId();
+        if (userId == null && !ReadYourWritesFilter.inRequest()) {
+            return connection;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                if (userId != null) {
+                    readYourWrites.recordWrite(userId);
+                }
+                if (ReadYourWritesFilter.inRequest()) {
+                    long position = commitPosition(connection);
+                    if (position != WalPosition.NONE) {
+                        ReadYourWritesFilter.recordCommit(position);
+                    }
+                }
+            }
+        });
+        return connection;
+    }
+
+    /**
+     * Asked on the transaction's own connection, which is released only after this
+     * callback; borrowing a second one could wait on a pool exhausted by such callbacks.
+     */
+    private static long commitPosition(Connection connection) {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(COMMIT_POSITION)) {
+            rs.next();
+            return WalPosition.parse(rs.getString(1));
+        } catch (SQLException | RuntimeException e) {
+            log.debug("Could not read the commit position: {}", e.getMessage());
+            return WalPosition.NONE;
+        }
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.getId();
+        }
+        return null;
+    }
+}
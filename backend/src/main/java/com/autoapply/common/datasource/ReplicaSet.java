@@ -0,0 +1,161 @@
+package com.autoapply.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The read replicas and their replication lag. Lag is measured on each replica every check
+ * interval; a replica is eligible for reads only while its last check succeeded and showed
+ * a lag within the threshold. Until the first check completes, no replica is eligible.
+ * Each check also records how far the replica has replayed, for reads that must see a
+ * given write (see {@link ReadYourWritesFilter}).
+ */
+@Slf4j
+public class ReplicaSet implements AutoCloseable {
+    /**
+     * Time since the last replayed transaction, or 0 when the replica has replayed all WAL it
+     * received: an idle primary would otherwise make a caught-up replica look ever more behind.
+     * That shortcut only holds while the WAL receiver is streaming. A standby whose receiver is
+     * down, or never connected, has replayed everything it received and may still be far
+     * behind, so it reports no lag (NULL) and is treated as lagging. Reading the receiver
+     * status needs the {@code pg_read_all_stats} role; without it the status is NULL too.
+     * A server that is not in recovery (e.g. a second standalone instance in tests) reports 0
+     * lag and no replay position.
+     */
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                    WHEN NOT pg_is_in_recovery() THEN 0
+                    WHEN (SELECT status FROM pg_stat_wal_receiver) IS DISTINCT FROM 'streaming' THEN NULL
+                    WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                    ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+                END,
+                CASE WHEN pg_is_in_recovery() THEN pg_last_wal_replay_lsn()::text END
+            """;
+
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final int checkTimeoutSeconds;
+    private final AtomicInteger roundRobin = new AtomicInteger();
+    private volatile List<Replica> eligible = List.of();
+
+    public ReplicaSet(List<Replica> replicas, Duration maxLag, Duration checkTimeout, MeterRegistry meterRegistry) {
+        this.replicas = List.copyOf(replicas);
+        this.maxLag = maxLag;
+        this.checkTimeoutSeconds = (int) Math.max(1, checkTimeout.toSeconds());
+        for (Replica replica : this.replicas) {
+            Gauge.builder("db.replica.lag", replica, r -> r.lagSeconds)
+                    .description("Replication lag at the last check; NaN when the check failed or the replica is not streaming")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.name())
+                    .register(meterRegistry);
+        }
+        Gauge.builder("db.replica.eligible", this, set -> set.eligible.size())
+                .description("Replicas currently receiving read-only transactions")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Picks the replica for a read-only transaction, or null to use the primary. Only replicas
+     * that had replayed up to {@code requiredPosition} at their last check qualify. A user
+     * sticks to one replica while the qualifying set is unchanged, so consecutive reads of one
+     * request (the ETag version, then the data) never move backwards in time.
+     */
+    Replica pick(Long userId, long requiredPosition) {
+        List<Replica> candidates = eligible;
+        if (requiredPosition != WalPosition.NONE) {
+            candidates = candidates.stream().filter(replica -> replica.replayed >= requiredPosition).toList();
+        }
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        int index = userId != null
+                ? Math.floorMod(Long.hashCode(userId), candidates.size())
+                : Math.floorMod(roundRobin.getAndIncrement(), candidates.size());
+        return candidates.get(index);
+    }
+
+    List<Replica> all() {
+        return replicas;
+    }
+
+    @Scheduled(fixedDelayString = "${replica-routing.lag-check-interval-ms:1000}")
+    public void checkLag() {
+        List<Replica> nowEligible = new ArrayList<>(replicas.size());
+        for (Replica replica : replicas) {
+            double lag = measureLag(replica);
+            replica.lagSeconds = lag;
+            boolean wasEligible = eligible.contains(replica);
+            boolean isEligible = !Double.isNaN(lag) && lag <= maxLag.toMillis() / 1000.0;
+            if (isEligible) {
+                nowEligible.add(replica);
+            }
+            if (wasEligible != isEligible) {
+                log.warn("Replica {} {} (lag {}s)", replica.name(),
+                        isEligible ? "is back in rotation" : "taken out of rotation", lag);
+            }
+        }
+        eligible = List.copyOf(nowEligible);
+    }
+
+    /** Also records how far the replica has replayed. */
+    private double measureLag(Replica replica) {
+        try (Connection connection = replica.dataSource().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(checkTimeoutSeconds);
+            try (ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+                rs.next();
+                double lag = rs.getDouble(1);
+                if (rs.wasNull()) {
+                    log.debug("Replica {} is in recovery but its WAL receiver is not streaming", replica.name());
+                    return Double.NaN;
+                }
+                String replayed = rs.getString(2);
+                // A standalone server replays nothing of the primary's, so it can't serve a required position
+                replica.replayed = replayed != null ? WalPosition.parse(replayed) : WalPosition.NONE;
+                return lag;
+            }
+        } catch (SQLException e) {
+            log.debug("Lag check failed on replica {}: {}", replica.name(), e.getMessage());
+            return Double.NaN;
+        }
+    }
+
+    @Override
+    public void close() {
+        for (Replica replica : replicas) {
+            replica.dataSource().close();
+        }
+    }
+
+    public static final class Replica {
+        private final String name;
+        private final HikariDataSource dataSource;
+        private volatile double lagSeconds = Double.NaN;
+        private volatile long replayed = WalPosition.NONE;
+
+        public Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        HikariDataSource dataSource() {
+            return dataSource;
+        }
+    }
+}
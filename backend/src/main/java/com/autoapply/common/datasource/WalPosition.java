@@ -0,0 +1,34 @@
+package com.autoapply.common.datasource;
+
+/**
+ * Postgres WAL positions ({@code pg_lsn}, written like {@code 16/B374D848}) as comparable longs.
+ */
+final class WalPosition {
+    /** No position: sorts before every real one. */
+    static final long NONE = -1;
+
+    private WalPosition() {
+    }
+
+    static long parse(String lsn) {
+        int slash = lsn.indexOf('/');
+        if (slash < 1 || slash > 8 || lsn.length() - slash - 1 < 1 || lsn.length() - slash - 1 > 8) {
+            throw new IllegalArgumentException("Not a WAL position: " + lsn);
+        }
+        try {
+            long high = Long.parseUnsignedLong(lsn.substring(0, slash), 16);
+            long low = Long.parseUnsignedLong(lsn.substring(slash + 1), 16);
+            if (high > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Not a WAL position: " + lsn);
+            }
+            return high << 32 | low;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a WAL position: " + lsn, e);
+        }
+    }
+
+    static String format(long position) {
+        return Long.toHexString(position >>> 32).toUpperCase() + "/"
+                + Long.toHexString(position & 0xFFFFFFFFL).toUpperCase();
+    }
+}
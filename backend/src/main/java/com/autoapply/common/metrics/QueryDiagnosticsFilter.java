@@ -0,0 +1,100 @@
+package com.autoapply.common.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Opens a {@link QueryScope} for a sample of requests and judges them when they complete.
+ * Requests that exceed the statement budget or the database time budget, or that run one
+ * statement more often than the repetition limit (the N+1 signature), are logged with their
+ * statements and counted as {@code http.server.requests.db.flagged} by reason. Every sampled
+ * request records {@code http.server.requests.db.statements} and {@code http.server.requests.db.time},
+ * tagged like {@code http.server.requests}. Runs ahead of the security filter chain so
+ * statements issued during authentication count too.
+ */
+@Slf4j
+public class QueryDiagnosticsFilter extends OncePerRequestFilter {
+    public static final String STATEMENTS_METRIC = "http.server.requests.db.statements";
+    public static final String TIME_METRIC = "http.server.requests.db.time";
+    public static final String FLAGGED_METRIC = "http.server.requests.db.flagged";
+
+    private final MeterRegistry meterRegistry;
+    private final double sampleRate;
+    private final int maxStatements;
+    private final Duration maxDbTime;
+    private final int maxRepetitions;
+
+    public QueryDiagnosticsFilter(MeterRegistry meterRegistry, double sampleRate, int maxStatements,
+                                  Duration maxDbTime, int maxRepetitions) {
+        this.meterRegistry = meterRegistry;
+        this.sampleRate = sampleRate;
+        this.maxStatements = maxStatements;
+        this.maxDbTime = maxDbTime;
+        this.maxRepetitions = maxRepetitions;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        QueryScope scope = QueryScope.open();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            scope.close();
+            judge(request, scope);
+        }
+    }
+
+    private void judge(HttpServletRequest request, QueryScope scope) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        DistributionSummary.builder(STATEMENTS_METRIC)
+                .description("JDBC statements executed per sampled request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(scope.statementCount());
+        meterRegistry.timer(TIME_METRIC, "method", method, "uri", uri).record(scope.dbTime());
+
+        List<String> reasons = new ArrayList<>(3);
+        if (scope.statementCount() > maxStatements) {
+            reasons.add("statements");
+        }
+        if (scope.dbTime().compareTo(maxDbTime) > 0) {
+            reasons.add("db_time");
+        }
+        if (scope.maxRepetitions() > maxRepetitions) {
+            reasons.add("repeated_statement");
+        }
+        if (reasons.isEmpty()) {
+            return;
+        }
+        for (String reason : reasons) {
+            meterRegistry.counter(FLAGGED_METRIC, "method", method, "uri", uri, "reason", reason).increment();
+        }
+        log.warn("{} {} flagged ({}): {}", method, request.getRequestURI(), String.join(", ", reasons), scope.describe());
+    }
+}
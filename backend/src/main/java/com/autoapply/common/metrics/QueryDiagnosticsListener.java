@@ -0,0 +1,57 @@
+package com.autoapply.common.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Sees every statement executed through the proxied data source. Statements on a thread
+ * with an open {@link QueryScope} are added to it; any statement slower than the threshold
+ * is logged and counted as {@code db.slow.queries}, sampled or not. A JDBC batch is one
+ * execution.
+ */
+@Slf4j
+public class QueryDiagnosticsListener implements QueryExecutionListener {
+    private final long slowQueryMillis;
+    /** Resolved on first use: the data source is wrapped before the registry exists. */
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public QueryDiagnosticsListener(Duration slowQueryThreshold, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.slowQueryMillis = slowQueryThreshold.toMillis();
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsed = execInfo.getElapsedTime();
+        QueryScope scope = QueryScope.current();
+        if (scope == null && elapsed < slowQueryMillis) {
+            return;
+        }
+        String sql = queryInfoList.size() == 1
+                ? queryInfoList.get(0).getQuery()
+                : queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+        if (scope != null) {
+            scope.record(sql, elapsed);
+        }
+        if (elapsed >= slowQueryMillis) {
+            log.warn("Slow query ({} ms{}): {}", elapsed,
+                    execInfo.isBatch() ? ", batch of " + execInfo.getBatchSize() : "", sql);
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry != null) {
+                registry.counter("db.slow.queries").increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.autoapply.common.metrics;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the JDBC statements executed on the current thread between {@link #open()} and
+ * {@link #close()}. {@link QueryDiagnosticsFilter} opens one per sampled request; tests can
+ * open their own around a service call and assert on it:
+ *
+ * <pre>
+ * try (QueryScope queries = QueryScope.open()) {
+ *     jobService.getUserJobs(userId, filter, null, 50);
+ *     queries.assertStatementsAtMost(2);
+ *     queries.assertNoStatementRepeatedMoreThan(1);
+ * }
+ * </pre>
+ *
+ * Scopes nest: statements count towards every open scope on the thread. Statements run on
+ * other threads (async work, scheduled jobs) are not seen.
+ */
+public final class QueryScope implements AutoCloseable {
+    private static final ThreadLocal<QueryScope> CURRENT = new ThreadLocal<>();
+    /** Bounds memory for requests that issue many distinct statements; counts stay exact. */
+    private static final int MAX_DISTINCT_STATEMENTS = 100;
+    private static final int DESCRIBED_STATEMENTS = 10;
+
+    private final QueryScope outer;
+    private final Map<String, StatementStats> bySql = new LinkedHashMap<>();
+    private int statements;
+    private long elapsedMillis;
+
+    private QueryScope(QueryScope outer) {
+        this.outer = outer;
+    }
+
+    public static QueryScope open() {
+        QueryScope scope = new QueryScope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    static QueryScope current() {
+        return CURRENT.get();
+    }
+
+    void record(String sql, long elapsedMillis) {
+        statements++;
+        this.elapsedMillis += elapsedMillis;
+        StatementStats stats = bySql.get(sql);
+        if (stats == null && bySql.size() < MAX_DISTINCT_STATEMENTS) {
+            stats = new StatementStats(sql);
+            bySql.put(sql, stats);
+        }
+        if (stats != null) {
+            stats.add(elapsedMillis);
+        }
+        if (outer != null) {
+            outer.record(sql, elapsedMillis);
+        }
+    }
+
+    public int statementCount() {
+        return statements;
+    }
+
+    public Duration dbTime() {
+        return Duration.ofMillis(elapsedMillis);
+    }
+
+    /** Distinct statements, most executed first. */
+    public List<StatementStats> statements() {
+        List<StatementStats> sorted = new ArrayList<>(bySql.values());
+        sorted.sort(Comparator.comparingInt(StatementStats::count).reversed()
+                .thenComparing(Comparator.comparingLong(StatementStats::totalMillis).reversed()));
+        return sorted;
+    }
+
+    /** Executions of the most repeated statement; a high value with few distinct statements is an N+1. */
+    public int maxRepetitions() {
+        int max = 0;
+        for (StatementStats stats : bySql.values()) {
+            max = Math.max(max, stats.count());
+        }
+        return max;
+    }
+
+    public void assertStatementsAtMost(int max) {
+        if (statements > max) {
+            throw new AssertionError("Expected at most " + max + " statements but " + describe());
+        }
+    }
+
+    public void assertNoStatementRepeatedMoreThan(int max) {
+        if (maxRepetitions() > max) {
+            throw new AssertionError("Expected no statement to run more than " + max + " times but " + describe());
+        }
+    }
+
+    /** One line per distinct statement, most executed first. */
+    public String describe() {
+        StringBuilder description = new StringBuilder()
+                .append(statements).append(" statements ran in ").append(elapsedMillis).append(" ms:");
+        List<StatementStats> sorted = statements();
+        for (StatementStats stats : sorted.subList(0, Math.min(DESCRIBED_STATEMENTS, sorted.size()))) {
+            description.append("\n  ").append(stats.count()).append("x ").append(stats.totalMillis()).append(" ms  ")
+                    .append(stats.sql());
+        }
+        if (sorted.size() > DESCRIBED_STATEMENTS) {
+            description.append("\n  ... ").append(sorted.size() - DESCRIBED_STATEMENTS).append(" more");
+        }
+        return description.toString();
+    }
+
+    @Override
+    public void close() {
+        if (CURRENT.get() == this) {
+            if (outer != null) {
+                CURRENT.set(outer);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    public static final class StatementStats {
+        private final String sql;
+        private int count;
+        private long totalMillis;
+        private long maxMillis;
+
+        private StatementStats(String sql) {
+            this.sql = sql;
+        }
+
+        private void add(long elapsedMillis) {
+            count++;
+            totalMillis += elapsedMillis;
+            maxMillis = Math.max(maxMillis, elapsedMillis);
+        }
+
+        public String sql() {
+            return sql;
+        }
+
+        public int count() {
+            return count;
+        }
+
+        public long totalMillis() {
+            return totalMillis;
+        }
+
+        public long maxMillis() {
+            return maxMillis;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.autoapply.common.net;
+
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * Keeps user-supplied hosts off the backend's own network: hosts that resolve to a loopback,
+ * link-local (including cloud metadata at 169.254.169.254), private (site-local, unique-local,
+ * carrier-grade NAT), wildcard or multicast address are refused. Check right before connecting,
+ * since DNS can change in between; the JVM caches the lookup, so the connection that follows
+ * resolves to the address that was checked. Each use has its own switch to lift the check,
+ * e.g. for a local test server.
+ */
+public class PublicHostPolicy {
+    private final String description;
+    private final boolean allowPrivateHosts;
+
+    /**
+     * @param description what the host is, for error messages, e.g. {@code "IMAP host"}
+     */
+    public PublicHostPolicy(String description, boolean allowPrivateHosts) {
+        this.description = description;
+        this.allowPrivateHosts = allowPrivateHosts;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the host doesn't resolve or any of its addresses is not public
+     */
+    public void requirePublic(String host) {
+        if (allowPrivateHosts) {
+            return;
+        }
+        InetAddress[] addresses;
+        try {
+            addresses = InetAddress.getAllByName(host);
+        } catch (UnknownHostException e) {
+            throw new IllegalArgumentException(description + " " + host + " could not be resolved");
+        }
+        for (InetAddress address : addresses) {
+            if (!isPublic(address)) {
+                throw new IllegalArgumentException(description + " " + host + " is not a public address");
+            }
+        }
+    }
+
+    public static boolean isPublic(InetAddress address) {
+        if (address.isLoopbackAddress() || address.isLinkLocalAddress() || address.isSiteLocalAddress()
+                || address.isAnyLocalAddress() || address.isMulticastAddress()) {
+            return false;
+        }
+        byte[] bytes = address.getAddress();
+        if (address instanceof Inet6Address) {
+            // fc00::/7 unique local
+            return (bytes[0] & 0xfe) != 0xfc;
+        }
+        // 0.0.0.0/8 "this network", 100.64.0.0/10 carrier-grade NAT
+        return bytes[0] != 0 && !((bytes[0] & 0xff) == 100 && (bytes[1] & 0xc0) == 64);
+    }
+}
@@ -0,0 +1,13 @@
+package com.autoapply.common.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.Instant;
+
+/**
+ * An event as handed to {@link OutboxSubscriber}s.
+ *
+ * @param attempt 1 on first delivery; higher when an earlier delivery failed or its relay died
+ */
+public record OutboxEvent(long id, String type, Long userId, JsonNode payload, Instant createdAt, int attempt) {
+}
@@ -0,0 +1,183 @@
+package com.autoapply.common.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Delivers committed outbox events to the {@link OutboxSubscriber}s of their type. Every
+ * instance polls; a batch is claimed with {@code FOR UPDATE SKIP LOCKED} and marked
+ * unavailable for the claim timeout, so concurrent relays never take the same events and
+ * the claim commits before any subscriber runs. Delivered events are deleted; failed ones
+ * are retried with exponential backoff until {@code outbox.max-attempts}, then parked.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+    private static final String CLAIM = """
+            UPDATE outbox_events
+            SET available_at = now() + :claimTimeout * interval '1 second', attempts = attempts + 1
+            WHERE id IN (
+                SELECT id FROM outbox_events
+                WHERE available_at <= now()
+                ORDER BY id
+                LIMIT :batchSize
+                FOR UPDATE SKIP LOCKED)
+            RETURNING id, event_type, user_id, payload::text, created_at, attempts
+            """;
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, List<OutboxSubscriber>> subscribersByType = new HashMap<>();
+    private final int batchSize;
+    private final Duration claimTimeout;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+
+    public OutboxRelay(
+            NamedParameterJdbcTemplate jdbc,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            List<OutboxSubscriber> subscribers,
+            @Value("${outbox.batch-size:100}") int batchSize,
+            @Value("${outbox.claim-timeout:60s}") Duration claimTimeout,
+            @Value("${outbox.max-attempts:10}") int maxAttempts,
+            @Value("${outbox.retry-backoff:1s}") Duration retryBackoff,
+            @Value("${outbox.max-retry-backoff:5m}") Duration maxRetryBackoff) {
+        this.jdbc = jdbc;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        for (OutboxSubscriber subscriber : subscribers) {
+            for (String type : subscriber.eventTypes()) {
+                subscribersByType.computeIfAbsent(type, t -> new ArrayList<>()).add(subscriber);
+            }
+        }
+        this.batchSize = batchSize;
+        this.claimTimeout = claimTimeout;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.maxRetryBackoff = maxRetryBackoff;
+    }
+
+    /** Drains until a batch comes back short, so a backlog clears without waiting for the next poll. */
+    @Scheduled(fixedDelayString = "${outbox.poll-interval-ms:1000}")
+    public void drain() {
+        try {
+            List<OutboxEvent> batch;
+            do {
+                batch = claim();
+                deliver(batch);
+            } while (batch.size() == batchSize);
+        } catch (Exception e) {
+            log.warn("Outbox relay failed: {}", e.getMessage());
+        }
+    }
+
+    private List<OutboxEvent> claim() {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("claimTimeout", claimTimeout.toMillis() / 1000.0)
+                .addValue("batchSize", batchSize);
+        List<OutboxEvent> events = new ArrayList<>(jdbc.query(CLAIM, params, (rs, rowNum) -> {
+            try {
+                return new OutboxEvent(
+                        rs.getLong(1),
+                        rs.getString(2),
+                        rs.getObject(3, Long.class),
+                        objectMapper.readTree(rs.getString(4)),
+                        rs.getTimestamp(5).toInstant(),
+                        rs.getInt(6));
+            } catch (Exception e) {
+                throw new IllegalStateException("Unreadable outbox event " + rs.getLong(1), e);
+            }
+        }));
+        // RETURNING has no order; deliver in commit order as far as ids tell it
+        events.sort(Comparator.comparingLong(OutboxEvent::id));
+        return events;
+    }
+
+    private void deliver(List<OutboxEvent> batch) {
+        List<Long> delivered = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            // Every subscriber gets the event even when one before it throws
+            Exception failure = null;
+            for (OutboxSubscriber subscriber : subscribersByType.getOrDefault(event.type(), List.of())) {
+                try {
+                    subscriber.handle(event);
+                } catch (Exception e) {
+                    if (failure == null) {
+                        failure = e;
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                }
+            }
+            if (failure != null) {
+                retryLater(event, failure);
+                continue;
+            }
+            delivered.add(event.id());
+            count(event.type(), "delivered");
+            Timer.builder("outbox.delivery.lag")
+                    .description("Time from commit of an outbox event to its delivery")
+                    .tag("type", event.type())
+                    .register(meterRegistry)
+                    .record(Duration.between(event.createdAt(), Instant.now()));
+        }
+        if (!delivered.isEmpty()) {
+            jdbc.update("DELETE FROM outbox_events WHERE id IN (:ids)", new MapSqlParameterSource("ids", delivered));
+        }
+    }
+
+    private void retryLater(OutboxEvent event, Exception e) {
+        boolean parked = event.attempt() >= maxAttempts;
+        Duration backoff = retryBackoff.multipliedBy(1L << Math.min(event.attempt() - 1, 20));
+        if (backoff.compareTo(maxRetryBackoff) > 0) {
+            backoff = maxRetryBackoff;
+        }
+        if (parked) {
+            log.error("Outbox event {} ({}) failed {} times, giving up: {}",
+                    event.id(), event.type(), event.attempt(), e.getMessage(), e);
+        } else {
+            log.warn("Outbox event {} ({}) failed on attempt {}, retrying in {}: {}",
+                    event.id(), event.type(), event.attempt(), backoff, e.getMessage());
+        }
+        count(event.type(), parked ? "parked" : "retried");
+        jdbc.update("""
+                UPDATE outbox_events
+                SET available_at = CASE WHEN :parked THEN 'infinity'::timestamptz
+                                        ELSE now() + :backoff * interval '1 second' END,
+                    last_error = :error
+                WHERE id = :id
+                """, new MapSqlParameterSource()
+                .addValue("parked", parked)
+                .addValue("backoff", backoff.toMillis() / 1000.0)
+                .addValue("error", e.getClass().getSimpleName() + ": " + e.getMessage())
+                .addValue("id", event.id()));
+    }
+
+    private void count(String type, String outcome) {
+        Counter.builder("outbox.events")
+                .description("Outbox events handled by the relay")
+                .tag("type", type)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
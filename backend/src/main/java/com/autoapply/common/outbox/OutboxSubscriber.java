@@ -0,0 +1,17 @@
+package com.autoapply.common.outbox;
+
+import java.util.Set;
+
+/**
+ * Receives committed outbox events of the types it names. Delivery is at least once: an
+ * event is redelivered to every subscriber of its type when any of them throws, or when
+ * the relay stops before acknowledging it, so handlers must be idempotent. Events of one
+ * user usually arrive in commit order, but retries can reorder them; payloads carry the
+ * collection version where that matters.
+ */
+public interface OutboxSubscriber {
+
+    Set<String> eventTypes();
+
+    void handle(OutboxEvent event) throws Exception;
+}
@@ -0,0 +1,57 @@
+package com.autoapply.common.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Appends events to {@code outbox_events} in the caller's transaction, so an event exists
+ * exactly when the change it describes has committed. Costs one insert per call; delivery
+ * happens later on {@link OutboxRelay}'s threads.
+ */
+@Component
+public class OutboxWriter {
+    private static final String INSERT = "INSERT INTO outbox_events (event_type, user_id, payload) "
+            + "VALUES (:type, :userId, CAST(:payload AS jsonb))";
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final ObjectMapper objectMapper;
+
+    public OutboxWriter(NamedParameterJdbcTemplate jdbc, ObjectMapper objectMapper) {
+        this.jdbc = jdbc;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(String type, Long userId, Object payload) {
+        jdbc.update(INSERT, params(type, userId, payload));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(String type, Long userId, List<?> payloads) {
+        if (payloads.isEmpty()) {
+            return;
+        }
+        jdbc.batchUpdate(INSERT, payloads.stream()
+                .map(payload -> params(type, userId, payload))
+                .toArray(SqlParameterSource[]::new));
+    }
+
+    private SqlParameterSource params(String type, Long userId, Object payload) {
+        try {
+            return new MapSqlParameterSource()
+                    .addValue("type", type)
+                    .addValue("userId", userId)
+                    .addValue("payload", objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + type + " event", e);
+        }
+    }
+}
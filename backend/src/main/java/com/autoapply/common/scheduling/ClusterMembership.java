@@ -0,0 +1,171 @@
+package com.autoapply.common.scheduling;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * This backend instance's place among the instances sharing the database. Users are split
+ * into {@code scheduler.partitions} partitions by {@code user_id}, and every partition is
+ * leased to at most one live node. Each heartbeat renews this node's leases, hands back
+ * partitions above its fair share when nodes have joined, and takes free or expired ones
+ * when nodes have left, so the partitions spread evenly over whoever is alive.
+ *
+ * <p>A node that cannot reach the database stops claiming its partitions locally once its
+ * leases would have expired, before any other node can take them over.
+ */
+@Component
+@Slf4j
+public class ClusterMembership {
+    private final NamedParameterJdbcTemplate jdbc;
+    private final String nodeId;
+    private final int partitionCount;
+    private final Duration leaseTtl;
+    private volatile Ownership ownership = Ownership.NONE;
+    private volatile int liveNodes;
+    private boolean partitionsCreated;
+
+    public ClusterMembership(
+            NamedParameterJdbcTemplate jdbc,
+            MeterRegistry meterRegistry,
+            @Value("${scheduler.node-id:}") String nodeId,
+            @Value("${scheduler.partitions:64}") int partitionCount,
+            @Value("${scheduler.lease-ttl:30s}") Duration leaseTtl) {
+        if (partitionCount < 1) {
+            throw new IllegalArgumentException("scheduler.partitions must be at least 1");
+        }
+        this.jdbc = jdbc;
+        this.nodeId = nodeId.isBlank() ? defaultNodeId() : nodeId;
+        this.partitionCount = partitionCount;
+        this.leaseTtl = leaseTtl;
+        Gauge.builder("scheduler.nodes.live", this, membership -> membership.liveNodes)
+                .description("Backend instances with a recent heartbeat, as seen by this node")
+                .register(meterRegistry);
+        Gauge.builder("scheduler.partitions.owned", this, membership -> membership.ownedPartitions().size())
+                .description("User partitions currently leased to this node")
+                .register(meterRegistry);
+        log.info("Scheduler node id {}", this.nodeId);
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    public int partitionCount() {
+        return partitionCount;
+    }
+
+    /** Partitions this node may work on right now; empty until the first heartbeat succeeds. */
+    public Set<Integer> ownedPartitions() {
+        Ownership current = ownership;
+        return System.nanoTime() - current.validUntilNanos() < 0 ? current.partitions() : Set.of();
+    }
+
+    public boolean owns(Long userId) {
+        return ownedPartitions().contains(partitionOf(userId));
+    }
+
+    /** Matches {@code mod(user_id, partitions)} in SQL for positive ids. */
+    public int partitionOf(Long userId) {
+        return (int) Math.floorMod(userId, (long) partitionCount);
+    }
+
+    @Scheduled(fixedDelayString = "${scheduler.heartbeat-interval-ms:10000}")
+    public void heartbeat() {
+        // Taken before the leases are renewed, so the local expiry is never later than the database's
+        long started = System.nanoTime();
+        try {
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("node", nodeId)
+                    .addValue("count", partitionCount)
+                    .addValue("ttl", leaseTtl.toMillis() / 1000.0);
+            if (!partitionsCreated) {
+                jdbc.update("INSERT INTO scheduler_partitions (partition_no) "
+                        + "SELECT generate_series(0, :count - 1) ON CONFLICT (partition_no) DO NOTHING", params);
+                partitionsCreated = true;
+            }
+            jdbc.update("INSERT INTO scheduler_nodes (node_id, started_at, heartbeat_at) VALUES (:node, now(), now()) "
+                    + "ON CONFLICT (node_id) DO UPDATE SET heartbeat_at = now()", params);
+            jdbc.update("DELETE FROM scheduler_nodes WHERE heartbeat_at < now() - :ttl * interval '1 second'", params);
+            Integer nodes = jdbc.queryForObject("SELECT COUNT(*) FROM scheduler_nodes", params, Integer.class);
+            liveNodes = nodes != null ? Math.max(1, nodes) : 1;
+            int share = (partitionCount + liveNodes - 1) / liveNodes;
+
+            // Still ours if nobody claimed it, even when the lease ran out between heartbeats
+            List<Integer> owned = new ArrayList<>(jdbc.queryForList(
+                    "UPDATE scheduler_partitions SET expires_at = now() + :ttl * interval '1 second' "
+                            + "WHERE owner = :node AND partition_no < :count RETURNING partition_no",
+                    params, Integer.class));
+            Collections.sort(owned);
+            if (owned.size() > share) {
+                List<Integer> released = new ArrayList<>(owned.subList(share, owned.size()));
+                jdbc.update("UPDATE scheduler_partitions SET owner = NULL, expires_at = NULL "
+                        + "WHERE owner = :node AND partition_no IN (:released)", params.addValue("released", released));
+                owned.removeAll(released);
+            } else if (owned.size() < share) {
+                owned.addAll(jdbc.queryForList("""
+                        UPDATE scheduler_partitions SET owner = :node, expires_at = now() + :ttl * interval '1 second'
+                        WHERE partition_no IN (
+                            SELECT partition_no FROM scheduler_partitions
+                            WHERE partition_no < :count AND (owner IS NULL OR expires_at < now())
+                            ORDER BY partition_no
+                            LIMIT :wanted
+                            FOR UPDATE SKIP LOCKED)
+                        RETURNING partition_no
+                        """, params.addValue("wanted", share - owned.size()), Integer.class));
+            }
+
+            Set<Integer> partitions = Collections.unmodifiableSet(new TreeSet<>(owned));
+            if (!partitions.equals(ownership.partitions())) {
+                log.info("Scheduler node {} owns {} of {} partitions ({} live nodes)",
+                        nodeId, partitions.size(), partitionCount, liveNodes);
+            }
+            ownership = new Ownership(partitions, started + leaseTtl.toNanos());
+        } catch (Exception e) {
+            log.warn("Scheduler heartbeat failed for node {}: {}", nodeId, e.getMessage());
+        }
+    }
+
+    /** Hands partitions back right away instead of letting the leases run out. */
+    @PreDestroy
+    public void leave() {
+        ownership = Ownership.NONE;
+        try {
+            MapSqlParameterSource params = new MapSqlParameterSource("node", nodeId);
+            jdbc.update("UPDATE scheduler_partitions SET owner = NULL, expires_at = NULL WHERE owner = :node", params);
+            jdbc.update("DELETE FROM scheduler_nodes WHERE node_id = :node", params);
+        } catch (Exception e) {
+            log.warn("Scheduler node {} could not release its partitions: {}", nodeId, e.getMessage());
+        }
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "node";
+        }
+        // Unique per process, so a restarted instance never inherits the old one's leases
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    private record Ownership(Set<Integer> partitions, long validUntilNanos) {
+        static final Ownership NONE = new Ownership(Set.of(), System.nanoTime());
+    }
+}
@@ -0,0 +1,85 @@
+package com.autoapply.common.scheduling;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Runs a job on one node at a time. Every node fires its schedule as usual; the first to
+ * take the job's row in {@code scheduler_leases} runs it and the rest skip. The lease is
+ * held for at least {@code scheduler.lease.min-hold} after it was taken, so a node whose
+ * clock fires the same cron a little later does not run the job again, and at most
+ * {@code scheduler.lease.max-hold}, after which a node that died mid-run is taken over.
+ */
+@Component
+@Slf4j
+public class JobLeases {
+    private final NamedParameterJdbcTemplate jdbc;
+    private final SchedulerRunMetrics runMetrics;
+    private final String nodeId;
+    private final Duration minHold;
+    private final Duration maxHold;
+
+    public JobLeases(
+            NamedParameterJdbcTemplate jdbc,
+            ClusterMembership membership,
+            SchedulerRunMetrics runMetrics,
+            @Value("${scheduler.lease.min-hold:5m}") Duration minHold,
+            @Value("${scheduler.lease.max-hold:2h}") Duration maxHold) {
+        this.jdbc = jdbc;
+        this.runMetrics = runMetrics;
+        this.nodeId = membership.nodeId();
+        this.minHold = minHold;
+        this.maxHold = maxHold;
+    }
+
+    /**
+     * @return whether this node ran the job
+     */
+    public boolean runExclusively(String job, Runnable task) {
+        long started = System.nanoTime();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("name", job)
+                .addValue("node", nodeId)
+                .addValue("minHold", minHold.toMillis() / 1000.0)
+                .addValue("maxHold", maxHold.toMillis() / 1000.0);
+        boolean acquired = !jdbc.queryForList("""
+                INSERT INTO scheduler_leases (name, owner, acquired_at, expires_at)
+                VALUES (:name, :node, now(), now() + :maxHold * interval '1 second')
+                ON CONFLICT (name) DO UPDATE
+                SET owner = EXCLUDED.owner, acquired_at = EXCLUDED.acquired_at, expires_at = EXCLUDED.expires_at
+                WHERE scheduler_leases.expires_at <= now()
+                RETURNING name
+                """, params, String.class).isEmpty();
+        if (!acquired) {
+            log.debug("Skipping {}: another node holds its lease", job);
+            runMetrics.record(job, "skipped", started);
+            return false;
+        }
+
+        String outcome = "error";
+        try {
+            task.run();
+            outcome = "success";
+            return true;
+        } finally {
+            runMetrics.record(job, outcome, started);
+            release(params);
+        }
+    }
+
+    private void release(MapSqlParameterSource params) {
+        try {
+            jdbc.update("UPDATE scheduler_leases "
+                    + "SET expires_at = GREATEST(now(), acquired_at + :minHold * interval '1 second') "
+                    + "WHERE name = :name AND owner = :node", params);
+        } catch (Exception e) {
+            // The lease then runs until max-hold, which only delays the next run
+            log.warn("Could not release lease {}: {}", params.getValue("name"), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.autoapply.common.scheduling;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One {@code scheduler.run} timer sample per background job run, tagged with the job and
+ * the outcome: {@code success}, {@code error}, or {@code skipped} when another node
+ * holds the job's lease or this node owns no partitions.
+ */
+@Component
+public class SchedulerRunMetrics {
+    public static final String RUN_TIMER = "scheduler.run";
+
+    private final MeterRegistry meterRegistry;
+
+    public SchedulerRunMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void record(String job, String outcome, long startedNanos) {
+        Timer.builder(RUN_TIMER)
+                .description("Background job runs")
+                .tag("job", job)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,30 @@
+package com.autoapply.job.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Bounded worker pool that email sync spreads mailbox work across. The pool size caps
+ * concurrent IMAP connections; extra mailboxes wait in the queue. Stays on platform threads
+ * even in virtual-thread mode: Jakarta Mail does its socket I/O inside synchronized blocks,
+ * which would pin carrier threads.
+ */
+@Configuration
+public class EmailSyncConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor emailSyncExecutor(
+            @Value("${email-sync.workers:4}") int workers,
+            @Value("${email-sync.queue-capacity:10000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("email-sync-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -0,0 +1,33 @@
+package com.autoapply.job.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executor that writes job change events to SSE streams, so a slow client never holds up
+ * the thread that committed the change. At most one task per user's channel is active at
+ * a time (see JobEventBroadcaster), so tasks are mostly waiting on socket writes.
+ */
+@Configuration
+public class JobEventsConfig {
+
+    @Bean
+    public TaskExecutor jobEventExecutor(
+            @Value("${job-events.sender-threads:8}") int senderThreads,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            return new VirtualThreadTaskExecutor("job-events-");
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(senderThreads);
+        executor.setMaxPoolSize(senderThreads);
+        executor.setThreadNamePrefix("job-events-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(5);
+        return executor;
+    }
+}
@@ -0,0 +1,36 @@
+package com.autoapply.job.config;
+
+import com.autoapply.common.concurrent.BoundedVirtualThreadExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Dedicated executor for outbound job-link fetches, so slow job boards tie up
+ * this bounded pool instead of servlet request threads. With virtual threads enabled the
+ * same limits apply, but waiting fetches no longer pin platform threads.
+ */
+@Configuration
+public class LinkParserConfig {
+
+    @Bean
+    public TaskExecutor linkParserExecutor(
+            @Value("${link-parser.executor.core-size:8}") int coreSize,
+            @Value("${link-parser.executor.max-size:32}") int maxSize,
+            @Value("${link-parser.executor.queue-capacity:200}") int queueCapacity,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            return new BoundedVirtualThreadExecutor("link-parser-", maxSize, queueCapacity);
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("link-parser-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+}
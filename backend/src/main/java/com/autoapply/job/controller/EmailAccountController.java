@@ -0,0 +1,43 @@
+package com.autoapply.job.controller;
+
+import com.autoapply.auth.security.AuthenticatedUser;
+import com.autoapply.job.dto.EmailAccountDTO;
+import com.autoapply.job.dto.EmailAccountRequest;
+import com.autoapply.job.service.EmailAccountService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/email-account")
+@RequiredArgsConstructor
+public class EmailAccountController {
+    private final EmailAccountService emailAccountService;
+
+    @GetMapping
+    public ResponseEntity<EmailAccountDTO> getAccount(@AuthenticationPrincipal AuthenticatedUser principal) {
+        return ResponseEntity.ok(emailAccountService.getAccount(getUserId(principal)));
+    }
+
+    @PutMapping
+    public ResponseEntity<EmailAccountDTO> saveAccount(
+            @Valid @RequestBody EmailAccountRequest request,
+            @AuthenticationPrincipal AuthenticatedUser principal) {
+        return ResponseEntity.ok(emailAccountService.saveAccount(getUserId(principal), request));
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> deleteAccount(@AuthenticationPrincipal AuthenticatedUser principal) {
+        emailAccountService.deleteAccount(getUserId(principal));
+        return ResponseEntity.noContent().build();
+    }
+
+    private Long getUserId(AuthenticatedUser principal) {
+        if (principal == null || principal.getId() == null) {
+            throw new IllegalStateException("Authenticated principal is missing a user id");
+        }
+        return principal.getId();
+    }
+}
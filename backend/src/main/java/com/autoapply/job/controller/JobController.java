@@ -1,74 +1,183 @@
 package com.autoapply.job.controller;
 
+import com.autoapply.auth.security.AuthenticatedUser;
+import com.autoapply.job.dto.BulkImportResultDTO;
 import com.autoapply.job.dto.CreateJobRequest;
+import com.autoapply.job.dto.CursorPageDTO;
 import com.autoapply.job.dto.DashboardStatsDTO;
 import com.autoapply.job.dto.JobApplicationDTO;
+import com.autoapply.job.dto.JobApplicationSummaryDTO;
+import com.autoapply.job.dto.JobChangesDTO;
+import com.autoapply.job.dto.JobListFilter;
+import com.autoapply.job.dto.JobSearchResultDTO;
 import com.autoapply.job.dto.UpdateJobRequest;
+import com.autoapply.job.entity.JobApplication;
+import com.autoapply.job.service.JobEventBroadcaster;
+import com.autoapply.job.service.JobImportService;
 import com.autoapply.job.service.JobService;
+import com.autoapply.job.service.JobSyncService;
 import com.autoapply.job.service.LinkParserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/jobs")
 @RequiredArgsConstructor
 public class JobController {
     private final JobService jobService;
+    private final JobImportService jobImportService;
     private final LinkParserService linkParserService;
+    private final JobEventBroadcaster jobEventBroadcaster;
+    private final JobSyncService jobSyncService;
 
     @PostMapping
     public ResponseEntity<JobApplicationDTO> createJob(
             @Valid @RequestBody CreateJobRequest request,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        Long userId = getUserId(userDetails);
+            @AuthenticationPrincipal AuthenticatedUser principal) {
+        Long userId = getUserId(principal);
         JobApplicationDTO job = jobService.createJob(userId, request);
         return ResponseEntity.status(HttpStatus.CREATED).body(job);
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkImportResultDTO> bulkCreateJson(
+            InputStream body,
+            @AuthenticationPrincipal AuthenticatedUser principal) throws IOException {
+        Long userId = getUserId(principal);
+        BulkImportResultDTO result = jobImportService.importJson(userId, body);
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    public ResponseEntity<BulkImportResultDTO> bulkCreateCsv(
+            InputStream body,
+            @AuthenticationPrincipal AuthenticatedUser principal) throws IOException {
+        Long userId = getUserId(principal);
+        BulkImportResultDTO result = jobImportService.importCsv(userId, body);
+        return ResponseEntity.ok(result);
+    }
+
     @PostMapping("/parse")
-    public ResponseEntity<JobApplicationDTO> parseLink(@RequestBody String url) {
-        JobApplicationDTO job = linkParserService.parseJobLink(url);
-        return ResponseEntity.ok(job);
+    public CompletableFuture<ResponseEntity<JobApplicationDTO>> parseLink(@RequestBody String url) {
+        // Completed on the link-parser executor; the servlet thread is released meanwhile
+        return linkParserService.parseJobLinkAsync(url).thenApply(ResponseEntity::ok);
     }
 
     @GetMapping("/stats")
     public ResponseEntity<DashboardStatsDTO> getDashboardStats(
-            @AuthenticationPrincipal UserDetails userDetails) {
-        Long userId = getUserId(userDetails);
+            @AuthenticationPrincipal AuthenticatedUser principal,
+            WebRequest webRequest) {
+        Long userId = getUserId(principal);
+        // Read the version before the data: a write in between yields a stale tag, never stale data
+        String etag = JobETags.collection("stats", userId, jobService.getCollectionVersion(userId));
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
         DashboardStatsDTO stats = jobService.getDashboardStats(userId);
-        return ResponseEntity.ok(stats);
+        return ResponseEntity.ok().eTag(etag).cacheControl(JobETags.REVALIDATE).body(stats);
     }
 
     @GetMapping
-    public ResponseEntity<List<JobApplicationDTO>> getUserJobs(
-            @AuthenticationPrincipal UserDetails userDetails) {
-        Long userId = getUserId(userDetails);
-        List<JobApplicationDTO> jobs = jobService.getUserJobs(userId);
-        return ResponseEntity.ok(jobs);
+    public ResponseEntity<CursorPageDTO<JobApplicationSummaryDTO>> getUserJobs(
+            @RequestParam(required = false) List<JobApplication.Status> status,
+            @RequestParam(required = false) String company,
+            @RequestParam(required = false) JobApplication.SourceType sourceType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + JobService.DEFAULT_PAGE_SIZE) int limit,
+            @AuthenticationPrincipal AuthenticatedUser principal,
+            WebRequest webRequest) {
+        Long userId = getUserId(principal);
+        // Any page of any filter is unchanged while the collection version is
+        String etag = JobETags.collection("jobs", userId, jobService.getCollectionVersion(userId));
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        JobListFilter filter = JobListFilter.builder()
+                .statuses(status)
+                .company(company)
+                .sourceType(sourceType)
+                .createdFrom(from)
+                .createdTo(to)
+                .build();
+        CursorPageDTO<JobApplicationSummaryDTO> page = jobService.getUserJobs(userId, filter, cursor, limit);
+        return ResponseEntity.ok().eTag(etag).cacheControl(JobETags.REVALIDATE).body(page);
+    }
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamEvents(
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(name = "lastEventId", required = false) String lastEventIdParam,
+            @AuthenticationPrincipal AuthenticatedUser principal) {
+        Long userId = getUserId(principal);
+        Long lastEventId = parseEventId(lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam);
+        SseEmitter emitter = jobEventBroadcaster.subscribe(userId, lastEventId);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                // Stop reverse proxies from buffering the stream
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<JobChangesDTO> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "" + JobSyncService.DEFAULT_PAGE_SIZE) int limit,
+            @AuthenticationPrincipal AuthenticatedUser principal) {
+        Long userId = getUserId(principal);
+        JobChangesDTO changes = jobSyncService.getChanges(userId, since, limit);
+        return ResponseEntity.ok(changes);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<CursorPageDTO<JobSearchResultDTO>> searchJobs(
+            @RequestParam(name = "q", required = false) String query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + JobService.DEFAULT_SEARCH_PAGE_SIZE) int limit,
+            @AuthenticationPrincipal AuthenticatedUser principal) {
+        Long userId = getUserId(principal);
+        CursorPageDTO<JobSearchResultDTO> page = jobService.searchJobs(userId, query, cursor, limit);
+        return ResponseEntity.ok(page);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<JobApplicationDTO> getJob(
             @PathVariable Long id,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        Long userId = getUserId(userDetails);
+            @AuthenticationPrincipal AuthenticatedUser principal,
+            WebRequest webRequest) {
+        Long userId = getUserId(principal);
+        LocalDateTime updatedAt = jobService.getJobUpdatedAt(id, userId)
+                .orElseThrow(() -> new IllegalArgumentException("Job application not found"));
+        String etag = JobETags.job(id, updatedAt);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
         JobApplicationDTO job = jobService.getJobById(id, userId);
-        return ResponseEntity.ok(job);
+        return ResponseEntity.ok().eTag(etag).cacheControl(JobETags.REVALIDATE).body(job);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<JobApplicationDTO> updateJob(
             @PathVariable Long id,
             @RequestBody UpdateJobRequest request,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        Long userId = getUserId(userDetails);
+            @AuthenticationPrincipal AuthenticatedUser principal) {
+        Long userId = getUserId(principal);
         JobApplicationDTO job = jobService.updateJob(id, userId, request);
         return ResponseEntity.ok(job);
     }
@@ -76,16 +185,28 @@ public class JobController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteJob(
             @PathVariable Long id,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        Long userId = getUserId(userDetails);
+            @AuthenticationPrincipal AuthenticatedUser principal) {
+        Long userId = getUserId(principal);
         jobService.deleteJob(id, userId);
         return ResponseEntity.noContent().build();
     }
 
-    private Long getUserId(UserDetails userDetails) {
-        if (userDetails instanceof com.autoapply.auth.entity.User) {
-            return ((com.autoapply.auth.entity.User) userDetails).getId();
+    private static Long parseEventId(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            // An id we never issued: start over as a fresh subscriber
+            return null;
+        }
+    }
+
+    private Long getUserId(AuthenticatedUser principal) {
+        if (principal == null || principal.getId() == null) {
+            throw new IllegalStateException("Authenticated principal is missing a user id");
         }
-        throw new IllegalStateException("User details is not of expected type");
+        return principal.getId();
     }
 }
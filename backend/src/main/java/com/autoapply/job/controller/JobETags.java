@@ -0,0 +1,27 @@
+package com.autoapply.job.controller;
+
+import org.springframework.http.CacheControl;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Strong ETags for job resources. Collection tags carry the user id as well as the
+ * collection version, so a browser cache shared between accounts never matches across users.
+ */
+final class JobETags {
+    /** Clients may store responses but must revalidate them before every use. */
+    static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private JobETags() {
+    }
+
+    static String collection(String resource, Long userId, long version) {
+        return "\"" + resource + "-u" + userId + "-v" + version + "\"";
+    }
+
+    static String job(Long id, LocalDateTime updatedAt) {
+        long micros = updatedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + updatedAt.getNano() / 1_000;
+        return "\"job-" + id + "-" + Long.toString(micros, 36) + "\"";
+    }
+}
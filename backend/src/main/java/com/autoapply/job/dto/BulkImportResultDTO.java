@@ -0,0 +1,31 @@
+package com.autoapply.job.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportResultDTO {
+    private int total;
+    private int created;
+    private int failed;
+    private List<RowResult> rows;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowResult {
+        /** 1-based position of the row in the input (CSV header excluded). */
+        private int row;
+        private boolean success;
+        private Long id;
+        private String error;
+    }
+}
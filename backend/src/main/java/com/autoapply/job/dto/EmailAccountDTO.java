@@ -0,0 +1,26 @@
+package com.autoapply.job.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Connected mailbox as shown to its owner. The password is never returned.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmailAccountDTO {
+    private String imapHost;
+    private int imapPort;
+    private boolean useSsl;
+    private String username;
+    private String folder;
+    private boolean enabled;
+    private LocalDateTime lastSyncedAt;
+    private String lastError;
+}
@@ -0,0 +1,27 @@
+package com.autoapply.job.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class EmailAccountRequest {
+    @NotBlank(message = "IMAP host is required")
+    private String imapHost;
+
+    @Min(value = 1, message = "IMAP port must be between 1 and 65535")
+    @Max(value = 65535, message = "IMAP port must be between 1 and 65535")
+    private int imapPort = 993;
+
+    private boolean useSsl = true;
+
+    @NotBlank(message = "Username is required")
+    private String username;
+
+    @NotBlank(message = "Password is required")
+    private String password;
+
+    private String folder;
+    private Boolean enabled;
+}
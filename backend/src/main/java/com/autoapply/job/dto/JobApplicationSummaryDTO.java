@@ -0,0 +1,32 @@
+package com.autoapply.job.dto;
+
+import com.autoapply.job.entity.JobApplication;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * List-view projection of a job application. Leaves out the TEXT columns
+ * ({@code description}, {@code notes}); fetch those with {@code GET /api/jobs/{id}}.
+ * The constructor argument order is used by the JPA constructor projection in
+ * {@link com.autoapply.job.repository.JobApplicationRepositoryImpl}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobApplicationSummaryDTO {
+    private Long id;
+    private Long userId;
+    private String url;
+    private String title;
+    private String company;
+    private JobApplication.Status status;
+    private JobApplication.SourceType sourceType;
+    private LocalDateTime appliedAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,35 @@
+package com.autoapply.job.dto;
+
+import com.autoapply.job.entity.JobApplication;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One change to a job application, as pushed on the job event stream. {@code job} is the
+ * new list-view state and is absent for deletions and bulk imports.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class JobChangeDTO {
+    private Type type;
+    private Long jobId;
+    private JobApplication.Status status;
+    private JobApplication.Status previousStatus;
+    private JobApplicationSummaryDTO job;
+    private Integer count;
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        STATUS_CHANGED,
+        DELETED,
+        /** Many jobs were created at once; reload the list instead of applying items. */
+        BULK_CREATED
+    }
+}
@@ -0,0 +1,21 @@
+package com.autoapply.job.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The changes committed by one write, tagged with the collection version it produced.
+ * The version is also the SSE event id, so clients resume with {@code Last-Event-ID}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobChangeEventDTO {
+    private long version;
+    private List<JobChangeDTO> changes;
+}
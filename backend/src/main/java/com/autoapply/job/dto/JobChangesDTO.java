@@ -0,0 +1,26 @@
+package com.autoapply.job.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Changes to a user's jobs since a sync token. Apply {@code upserts} and
+ * {@code deletedIds} to the local copy, then pass {@code syncToken} as {@code since} next
+ * time (immediately if {@code hasMore}). When {@code resyncRequired} is set the token is too
+ * old; drop the local copy and sync again without {@code since}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobChangesDTO {
+    private List<JobApplicationSummaryDTO> upserts;
+    private List<Long> deletedIds;
+    private String syncToken;
+    private boolean hasMore;
+    private boolean resyncRequired;
+}
@@ -0,0 +1,25 @@
+package com.autoapply.job.dto;
+
+import com.autoapply.job.entity.JobApplication;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Optional server-side filters for the job list. Null fields are not applied.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobListFilter {
+    private List<JobApplication.Status> statuses;
+    private String company;
+    private JobApplication.SourceType sourceType;
+    private LocalDateTime createdFrom;
+    private LocalDateTime createdTo;
+}
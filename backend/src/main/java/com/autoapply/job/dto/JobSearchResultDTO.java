@@ -0,0 +1,27 @@
+package com.autoapply.job.dto;
+
+import com.autoapply.job.entity.JobApplication;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One search hit. {@code snippet} is an HTML-escaped excerpt of the description and notes
+ * with matched terms wrapped in {@code <mark>}; it is null when neither column has text.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobSearchResultDTO {
+    private Long id;
+    private String title;
+    private String company;
+    private JobApplication.Status status;
+    private LocalDateTime createdAt;
+    private float rank;
+    private String snippet;
+}
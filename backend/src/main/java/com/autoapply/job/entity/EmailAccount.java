@@ -0,0 +1,85 @@
+package com.autoapply.job.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * A user's IMAP mailbox connected for application status sync, together with the
+ * sync high-water mark (UIDVALIDITY + last processed UID) so each run only fetches new mail.
+ */
+@Entity
+@Table(name = "email_accounts")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmailAccount {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false, unique = true)
+    private Long userId;
+
+    @Column(name = "imap_host", nullable = false)
+    private String imapHost;
+
+    @Column(name = "imap_port", nullable = false)
+    private int imapPort;
+
+    /** Always true: mailboxes are only read over TLS. */
+    @Column(name = "use_ssl", nullable = false)
+    @Builder.Default
+    private boolean useSsl = true;
+
+    @Column(nullable = false)
+    private String username;
+
+    /** Encrypted with {@code EmailCredentialCipher}; never returned by the API. */
+    @Column(nullable = false, columnDefinition = "TEXT")
+    @ToString.Exclude
+    private String password;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private String folder = "INBOX";
+
+    @Column(name = "uid_validity")
+    private Long uidValidity;
+
+    @Column(name = "last_uid", nullable = false)
+    private long lastUid;
+
+    @Column(name = "last_synced_at")
+    private LocalDateTime lastSyncedAt;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private boolean enabled = true;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,40 @@
+package com.autoapply.job.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Per-user count of job applications in a given status. Maintained incrementally by
+ * {@link com.autoapply.job.service.JobStatsService} in the same transaction as the job write.
+ */
+@Entity
+@Table(name = "job_status_counters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobStatusCounter {
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "job_count", nullable = false)
+    private long jobCount;
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        @Column(name = "user_id", nullable = false)
+        private Long userId;
+
+        @Enumerated(EnumType.STRING)
+        @Column(nullable = false)
+        private JobApplication.Status status;
+    }
+}
@@ -0,0 +1,35 @@
+package com.autoapply.job.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Version of a user's job collection. Bumped by
+ * {@link com.autoapply.job.service.JobVersionService} in the same transaction as every job write.
+ */
+@Entity
+@Table(name = "user_job_versions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserJobVersion {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private long version;
+
+    /** Newest change_seq among purged tombstones; older sync tokens must resync. */
+    @Column(name = "purged_through", nullable = false)
+    private long purgedThrough;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,49 @@
+package com.autoapply.job.extractor;
+
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+
+/**
+ * Selector helpers shared by the site-specific extractors.
+ */
+final class Extractors {
+    static final int MAX_DESCRIPTION_LENGTH = 20_000;
+
+    private Extractors() {
+    }
+
+    /**
+     * Text of the first element matching any of the selectors, or null.
+     */
+    static String firstText(Document doc, String... selectors) {
+        for (String selector : selectors) {
+            Element element = doc.selectFirst(selector);
+            if (element != null) {
+                String text = element.text().trim();
+                if (!text.isEmpty()) {
+                    return text;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Attribute value of the first element matching the selector, or null.
+     */
+    static String firstAttr(Document doc, String selector, String attribute) {
+        Element element = doc.selectFirst(selector);
+        if (element == null) {
+            return null;
+        }
+        String value = element.attr(attribute).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    static String truncate(String text) {
+        if (text == null || text.length() <= MAX_DESCRIPTION_LENGTH) {
+            return text;
+        }
+        return text.substring(0, MAX_DESCRIPTION_LENGTH) + "...";
+    }
+}
@@ -0,0 +1,29 @@
+package com.autoapply.job.extractor;
+
+import org.jsoup.nodes.Document;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Set;
+
+@Component
+public class GreenhouseJobPostingExtractor implements JobPostingExtractor {
+
+    @Override
+    public Set<String> hosts() {
+        return Set.of("greenhouse.io");
+    }
+
+    @Override
+    public ParsedJobPosting extract(Document doc) {
+        String company = Extractors.firstText(doc, "span.company-name", ".company-name");
+        if (company != null && company.toLowerCase(Locale.ROOT).startsWith("at ")) {
+            company = company.substring(3).trim();
+        }
+        return ParsedJobPosting.builder()
+                .title(Extractors.firstText(doc, "h1.app-title", "div.job__title h1", "h1"))
+                .company(company)
+                .description(Extractors.truncate(Extractors.firstText(doc, "#content", "div.job__description")))
+                .build();
+    }
+}
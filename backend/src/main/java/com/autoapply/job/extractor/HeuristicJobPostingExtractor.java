@@ -0,0 +1,58 @@
+package com.autoapply.job.extractor;
+
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+
+/**
+ * Generic fallback for sites without a dedicated extractor: title from Open Graph or
+ * {@code <title>}, company guessed from "Role | Company" or "Role at Company" titles,
+ * description from meta tags or the start of the body text.
+ */
+public class HeuristicJobPostingExtractor {
+    private static final int SNIPPET_LENGTH = 500;
+
+    public ParsedJobPosting extract(Document doc) {
+        String title = Extractors.firstAttr(doc, "meta[property=og:title]", "content");
+        if (title == null) {
+            title = doc.title();
+        }
+
+        String company = null;
+        // Company name is hard to guess generically without specific selectors
+        // Often in title "Role | Company"
+        if (title.contains("|")) {
+            String[] parts = title.split("\\|");
+            if (parts.length > 1) {
+                company = parts[1].trim();
+                title = parts[0].trim();
+            }
+        } else if (title.contains(" at ")) {
+            String[] parts = title.split(" at ");
+            if (parts.length > 1) {
+                company = parts[1].trim();
+                title = parts[0].trim();
+            }
+        }
+        if (company == null) {
+            company = Extractors.firstAttr(doc, "meta[property=og:site_name]", "content");
+        }
+
+        String description = Extractors.firstAttr(doc, "meta[name=description]", "content");
+        if (description == null) {
+            description = Extractors.firstAttr(doc, "meta[property=og:description]", "content");
+        }
+        if (description == null) {
+            Element body = doc.body();
+            String bodyText = body != null ? body.text() : "";
+            description = bodyText.length() > SNIPPET_LENGTH
+                    ? bodyText.substring(0, SNIPPET_LENGTH) + "..."
+                    : bodyText;
+        }
+
+        return ParsedJobPosting.builder()
+                .title(title)
+                .company(company)
+                .description(description)
+                .build();
+    }
+}
@@ -0,0 +1,27 @@
+package com.autoapply.job.extractor;
+
+import org.jsoup.nodes.Document;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+@Component
+public class IndeedJobPostingExtractor implements JobPostingExtractor {
+
+    @Override
+    public Set<String> hosts() {
+        return Set.of("indeed.com");
+    }
+
+    @Override
+    public ParsedJobPosting extract(Document doc) {
+        return ParsedJobPosting.builder()
+                .title(Extractors.firstText(doc,
+                        "h1.jobsearch-JobInfoHeader-title", "[data-testid=jobsearch-JobInfoHeader-title]"))
+                .company(Extractors.firstText(doc,
+                        "[data-testid=inlineHeader-companyName]", "[data-company-name]",
+                        "div.jobsearch-CompanyInfoContainer a"))
+                .description(Extractors.truncate(Extractors.firstText(doc, "#jobDescriptionText")))
+                .build();
+    }
+}
@@ -0,0 +1,22 @@
+package com.autoapply.job.extractor;
+
+import org.jsoup.nodes.Document;
+
+import java.util.Set;
+
+/**
+ * Pulls structured fields out of a parsed job posting page for a set of hosts.
+ */
+public interface JobPostingExtractor {
+
+    /**
+     * Registrable domains this extractor handles, e.g. {@code linkedin.com}.
+     * Subdomains match too ({@code uk.indeed.com} matches {@code indeed.com}).
+     */
+    Set<String> hosts();
+
+    /**
+     * @return the fields found on the page (possibly partial), or null if the page isn't recognised
+     */
+    ParsedJobPosting extract(Document doc);
+}
@@ -0,0 +1,97 @@
+package com.autoapply.job.extractor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Picks extractors for a page by host and runs them from cheapest to most generic:
+ * <ol>
+ *     <li>JobPosting JSON-LD scanned from the raw HTML (no DOM built),</li>
+ *     <li>the site-specific extractor registered for the host, if any,</li>
+ *     <li>the generic heuristic.</li>
+ * </ol>
+ * Each step only fills fields the previous ones left empty; the DOM is parsed once,
+ * and only if JSON-LD didn't already provide every field (or the caller parsed it already).
+ */
+@Component
+public class JobPostingExtractorRegistry {
+    private final Map<String, JobPostingExtractor> extractorsByHost = new HashMap<>();
+    private final JsonLdJobPostingExtractor jsonLdExtractor;
+    private final HeuristicJobPostingExtractor heuristicExtractor = new HeuristicJobPostingExtractor();
+
+    public JobPostingExtractorRegistry(List<JobPostingExtractor> extractors, ObjectMapper objectMapper) {
+        this.jsonLdExtractor = new JsonLdJobPostingExtractor(objectMapper);
+        for (JobPostingExtractor extractor : extractors) {
+            for (String host : extractor.hosts()) {
+                JobPostingExtractor previous = extractorsByHost.putIfAbsent(host.toLowerCase(Locale.ROOT), extractor);
+                if (previous != null) {
+                    throw new IllegalStateException("Host " + host + " is claimed by both "
+                            + previous.getClass().getSimpleName() + " and " + extractor.getClass().getSimpleName());
+                }
+            }
+        }
+    }
+
+    public ParsedJobPosting extract(String html, String url, String host) {
+        ParsedJobPosting posting = jsonLdExtractor.extract(html);
+        if (posting != null && posting.isComplete()) {
+            return posting;
+        }
+        return fillFromDom(posting, Jsoup.parse(html, url), host);
+    }
+
+    /**
+     * As {@link #extract(String, String, String)}, for a page that had to be parsed up front,
+     * e.g. because its charset is only declared in its markup.
+     */
+    public ParsedJobPosting extract(Document doc, String host) {
+        ParsedJobPosting posting = jsonLdExtractor.extract(doc);
+        if (posting != null && posting.isComplete()) {
+            return posting;
+        }
+        return fillFromDom(posting, doc, host);
+    }
+
+    private ParsedJobPosting fillFromDom(ParsedJobPosting posting, Document doc, String host) {
+        if (posting == null) {
+            posting = new ParsedJobPosting();
+        }
+        JobPostingExtractor siteExtractor = forHost(host);
+        if (siteExtractor != null) {
+            posting.fillMissingFrom(siteExtractor.extract(doc));
+            if (posting.isComplete()) {
+                return posting;
+            }
+        }
+        posting.fillMissingFrom(heuristicExtractor.extract(doc));
+        return posting;
+    }
+
+    /**
+     * Looks up the extractor for the host or its closest registered parent domain.
+     */
+    JobPostingExtractor forHost(String host) {
+        if (host == null) {
+            return null;
+        }
+        String candidate = host.toLowerCase(Locale.ROOT);
+        while (true) {
+            JobPostingExtractor extractor = extractorsByHost.get(candidate);
+            if (extractor != null) {
+                return extractor;
+            }
+            int dot = candidate.indexOf('.');
+            if (dot < 0) {
+                return null;
+            }
+            candidate = candidate.substring(dot + 1);
+        }
+    }
+}
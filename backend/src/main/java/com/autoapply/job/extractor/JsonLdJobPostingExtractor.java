@@ -0,0 +1,130 @@
+package com.autoapply.job.extractor;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+
+import java.io.IOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads schema.org {@code JobPosting} JSON-LD straight from the raw HTML, without building
+ * a DOM. Most large job boards embed it, so the full parse can often be skipped entirely.
+ * Scanning stops at the first JobPosting found.
+ */
+@Slf4j
+public class JsonLdJobPostingExtractor {
+    private static final Pattern JSON_LD_SCRIPT = Pattern.compile(
+            "<script[^>]*type\\s*=\\s*[\"']application/ld\\+json[\"'][^>]*>(.*?)</script>",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    private final ObjectMapper objectMapper;
+
+    public JsonLdJobPostingExtractor(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @return the posting described by the first JobPosting JSON-LD block, or null if there is none
+     */
+    public ParsedJobPosting extract(String html) {
+        Matcher matcher = JSON_LD_SCRIPT.matcher(html);
+        while (matcher.find()) {
+            ParsedJobPosting posting = fromBlock(matcher.group(1));
+            if (posting != null) {
+                return posting;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * As {@link #extract(String)}, for a page that has already been parsed.
+     */
+    public ParsedJobPosting extract(Document doc) {
+        for (Element script : doc.select("script[type=application/ld+json]")) {
+            ParsedJobPosting posting = fromBlock(script.data());
+            if (posting != null) {
+                return posting;
+            }
+        }
+        return null;
+    }
+
+    private ParsedJobPosting fromBlock(String json) {
+        JsonNode posting;
+        try {
+            posting = findJobPosting(objectMapper.readTree(json));
+        } catch (IOException e) {
+            log.debug("Skipping malformed JSON-LD block: {}", e.getMessage());
+            return null;
+        }
+        return posting == null ? null : toPosting(posting);
+    }
+
+    private JsonNode findJobPosting(JsonNode node) {
+        if (node == null) {
+            return null;
+        }
+        if (node.isArray()) {
+            for (JsonNode child : node) {
+                JsonNode found = findJobPosting(child);
+                if (found != null) {
+                    return found;
+                }
+            }
+            return null;
+        }
+        if (isJobPosting(node.get("@type"))) {
+            return node;
+        }
+        return findJobPosting(node.get("@graph"));
+    }
+
+    private static boolean isJobPosting(JsonNode type) {
+        if (type == null) {
+            return false;
+        }
+        if (type.isArray()) {
+            for (JsonNode t : type) {
+                if ("JobPosting".equals(t.asText())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return "JobPosting".equals(type.asText());
+    }
+
+    private static ParsedJobPosting toPosting(JsonNode posting) {
+        JsonNode organization = posting.get("hiringOrganization");
+        String company = null;
+        if (organization != null) {
+            company = organization.isTextual() ? organization.asText() : text(organization.get("name"));
+        }
+
+        // JSON-LD descriptions are HTML; a fragment parse is cheap compared to the whole page
+        String description = text(posting.get("description"));
+        if (description != null) {
+            description = Extractors.truncate(Jsoup.parseBodyFragment(description).text());
+        }
+
+        return ParsedJobPosting.builder()
+                .title(text(posting.get("title")))
+                .company(company)
+                .description(description)
+                .build();
+    }
+
+    private static String text(JsonNode node) {
+        if (node == null || node.isNull()) {
+            return null;
+        }
+        String value = node.asText().trim();
+        return value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,29 @@
+package com.autoapply.job.extractor;
+
+import org.jsoup.nodes.Document;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+@Component
+public class LeverJobPostingExtractor implements JobPostingExtractor {
+
+    @Override
+    public Set<String> hosts() {
+        return Set.of("lever.co");
+    }
+
+    @Override
+    public ParsedJobPosting extract(Document doc) {
+        String company = Extractors.firstAttr(doc, "div.main-header-logo img", "alt");
+        if (company != null && company.endsWith(" logo")) {
+            company = company.substring(0, company.length() - " logo".length()).trim();
+        }
+        return ParsedJobPosting.builder()
+                .title(Extractors.firstText(doc, "div.posting-headline h2"))
+                .company(company)
+                .description(Extractors.truncate(Extractors.firstText(doc,
+                        "div[data-qa=job-description]", "div.section-wrapper.page-full-width")))
+                .build();
+    }
+}
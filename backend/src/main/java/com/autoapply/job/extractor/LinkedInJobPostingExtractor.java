@@ -0,0 +1,27 @@
+package com.autoapply.job.extractor;
+
+import org.jsoup.nodes.Document;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+@Component
+public class LinkedInJobPostingExtractor implements JobPostingExtractor {
+
+    @Override
+    public Set<String> hosts() {
+        return Set.of("linkedin.com");
+    }
+
+    @Override
+    public ParsedJobPosting extract(Document doc) {
+        return ParsedJobPosting.builder()
+                .title(Extractors.firstText(doc,
+                        "h1.top-card-layout__title", "h1.topcard__title", "h1.t-24"))
+                .company(Extractors.firstText(doc,
+                        "a.topcard__org-name-link", "span.topcard__flavor", ".job-details-jobs-unified-top-card__company-name"))
+                .description(Extractors.truncate(Extractors.firstText(doc,
+                        "div.show-more-less-html__markup", "div.description__text", "#job-details")))
+                .build();
+    }
+}
@@ -0,0 +1,46 @@
+package com.autoapply.job.extractor;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Fields pulled from a job posting page. Any field may be null when an extractor
+ * couldn't find it; the registry fills gaps from the next extractor in the chain.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParsedJobPosting {
+    private String title;
+    private String company;
+    private String description;
+
+    public boolean isComplete() {
+        return hasText(title) && hasText(company) && hasText(description);
+    }
+
+    /**
+     * Fills this posting's missing fields from {@code other}.
+     */
+    public void fillMissingFrom(ParsedJobPosting other) {
+        if (other == null) {
+            return;
+        }
+        if (!hasText(title)) {
+            title = other.getTitle();
+        }
+        if (!hasText(company)) {
+            company = other.getCompany();
+        }
+        if (!hasText(description)) {
+            description = other.getDescription();
+        }
+    }
+
+    static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
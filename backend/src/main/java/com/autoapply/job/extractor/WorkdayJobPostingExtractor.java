@@ -0,0 +1,25 @@
+package com.autoapply.job.extractor;
+
+import org.jsoup.nodes.Document;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+@Component
+public class WorkdayJobPostingExtractor implements JobPostingExtractor {
+
+    @Override
+    public Set<String> hosts() {
+        return Set.of("myworkdayjobs.com", "workday.com");
+    }
+
+    @Override
+    public ParsedJobPosting extract(Document doc) {
+        return ParsedJobPosting.builder()
+                .title(Extractors.firstText(doc, "[data-automation-id=jobPostingHeader]"))
+                .company(Extractors.firstAttr(doc, "meta[property=og:site_name]", "content"))
+                .description(Extractors.truncate(Extractors.firstText(doc,
+                        "[data-automation-id=jobPostingDescription]")))
+                .build();
+    }
+}
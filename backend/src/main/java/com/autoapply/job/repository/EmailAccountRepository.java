@@ -0,0 +1,32 @@
+package com.autoapply.job.repository;
+
+import com.autoapply.job.entity.EmailAccount;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Collection;
+import java.util.Optional;
+
+@Repository
+public interface EmailAccountRepository extends JpaRepository<EmailAccount, Long> {
+    Optional<EmailAccount> findByUserId(Long userId);
+
+    List<EmailAccount> findByEnabledTrue();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM EmailAccount a WHERE a.id = :id")
+    Optional<EmailAccount> findByIdForUpdate(Long id);
+
+    /** Mailboxes whose password predates encryption; see {@code EmailCredentialCipher}. */
+    @Query("SELECT a FROM EmailAccount a WHERE a.password NOT LIKE 'v1:%'")
+    List<EmailAccount> findWithPlaintextPassword();
+
+    /** Enabled mailboxes of the users in the given partitions; see {@code ClusterMembership#partitionOf}. */
+    @Query(value = "SELECT * FROM email_accounts WHERE enabled AND mod(user_id, :partitionCount) IN (:partitions)",
+            nativeQuery = true)
+    List<EmailAccount> findEnabledInPartitions(int partitionCount, Collection<Integer> partitions);
+}
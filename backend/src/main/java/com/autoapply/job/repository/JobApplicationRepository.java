@@ -1,20 +1,68 @@
 package com.autoapply.job.repository;
 
+import com.autoapply.job.dto.JobApplicationSummaryDTO;
 import com.autoapply.job.entity.JobApplication;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface JobApplicationRepository extends JpaRepository<JobApplication, Long> {
-    List<JobApplication> findByUserIdOrderByCreatedAtDesc(Long userId);
-
+public interface JobApplicationRepository extends JpaRepository<JobApplication, Long>, JobApplicationRepositoryCustom {
     Optional<JobApplication> findByIdAndUserId(Long id, Long userId);
 
     boolean existsByIdAndUserId(Long id, Long userId);
 
-    @org.springframework.data.jpa.repository.Query("SELECT j.status, COUNT(j) FROM JobApplication j WHERE j.userId = :userId GROUP BY j.status")
-    List<Object[]> countJobsByStatus(Long userId);
+    @Query("SELECT j.updatedAt FROM JobApplication j WHERE j.id = :id AND j.userId = :userId")
+    Optional<LocalDateTime> findUpdatedAtByIdAndUserId(Long id, Long userId);
+
+    /**
+     * Loads a job with a row lock so concurrent status changes are applied to the
+     * status counters one at a time.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM JobApplication j WHERE j.id = :id AND j.userId = :userId")
+    Optional<JobApplication> findByIdAndUserIdForUpdate(Long id, Long userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM JobApplication j WHERE j.userId = :userId AND j.id IN :ids ORDER BY j.id")
+    List<JobApplication> findByUserIdAndIdInForUpdate(Long userId, Collection<Long> ids);
+
+    @Query("SELECT new com.autoapply.job.dto.JobApplicationSummaryDTO(j.id, j.userId, j.url, j.title, j.company, "
+            + "j.status, j.sourceType, j.appliedAt, j.createdAt, j.updatedAt) "
+            + "FROM JobApplication j WHERE j.userId = :userId AND j.status NOT IN :excludedStatuses")
+    List<JobApplicationSummaryDTO> findSummariesByUserIdAndStatusNotIn(
+            Long userId, Collection<JobApplication.Status> excludedStatuses);
+
+    /**
+     * Hard-deletes up to {@code limit} tombstones deleted before {@code cutoff} and raises each
+     * affected user's {@code purged_through} horizon in the same statement.
+     *
+     * @return the number of tombstones removed
+     */
+    @Query(value = """
+            WITH purged AS (
+                DELETE FROM job_applications
+                WHERE id IN (
+                    SELECT id FROM job_applications
+                    WHERE deleted_at < :cutoff
+                    ORDER BY deleted_at
+                    LIMIT :limit
+                    FOR UPDATE SKIP LOCKED)
+                RETURNING user_id, change_seq
+            ), horizon AS (
+                INSERT INTO user_job_versions (user_id, version, purged_through, updated_at)
+                SELECT user_id, MAX(change_seq), MAX(change_seq), now() FROM purged GROUP BY user_id
+                ON CONFLICT (user_id) DO UPDATE
+                    SET purged_through = GREATEST(user_job_versions.purged_through, EXCLUDED.purged_through)
+            )
+            SELECT COUNT(*) FROM purged
+            """, nativeQuery = true)
+    long purgeTombstones(LocalDateTime cutoff, int limit);
 }
@@ -0,0 +1,39 @@
+package com.autoapply.job.repository;
+
+import com.autoapply.job.dto.JobApplicationSummaryDTO;
+import com.autoapply.job.dto.JobListFilter;
+import com.autoapply.job.dto.JobSearchResultDTO;
+
+import java.util.List;
+
+public interface JobApplicationRepositoryCustom {
+
+    /**
+     * Keyset-paginated, filtered listing of a user's applications, newest first.
+     * Only the summary columns are selected; TEXT columns are never read.
+     *
+     * @param after the position of the last row of the previous page, or null for the first page
+     * @param limit maximum number of rows to return
+     */
+    List<JobApplicationSummaryDTO> findPage(Long userId, JobListFilter filter, JobCursor after, int limit);
+
+    /**
+     * Ranked full-text search over a user's applications using the {@code search_vector}
+     * column. {@code query} uses web search syntax ({@code "quoted phrases"}, {@code or},
+     * {@code -excluded}). Snippets are only built for the rows returned.
+     *
+     * @param after the position of the last row of the previous page, or null for the first page
+     * @param limit maximum number of rows to return
+     */
+    List<JobSearchResultDTO> search(Long userId, String query, JobSearchCursor after, int limit);
+
+    /**
+     * Change feed of a user's applications, including tombstones, ordered by
+     * {@code (change_seq, id)}. Bypasses the soft-delete restriction of the entity.
+     *
+     * @param after           position to continue from
+     * @param includeDeleted  whether tombstones are returned
+     * @param limit           maximum number of rows to return
+     */
+    List<JobSyncRow> findChangesSince(Long userId, JobSyncToken after, boolean includeDeleted, int limit);
+}
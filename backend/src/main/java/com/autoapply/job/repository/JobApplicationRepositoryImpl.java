@@ -0,0 +1,236 @@
+package com.autoapply.job.repository;
+
+import com.autoapply.job.dto.JobApplicationSummaryDTO;
+import com.autoapply.job.dto.JobListFilter;
+import com.autoapply.job.dto.JobSearchResultDTO;
+import com.autoapply.job.entity.JobApplication;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.query.NativeQuery;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Criteria-based queries for {@link JobApplicationRepository}. The keyset predicate and
+ * ordering match the {@code idx_applications_user_created_id} index. Full-text search is
+ * native SQL because it relies on Postgres text search functions.
+ */
+public class JobApplicationRepositoryImpl implements JobApplicationRepositoryCustom {
+    private static final char MATCH_START = '\u0001';
+    private static final char MATCH_END = '\u0002';
+    private static final String HEADLINE_OPTIONS = "StartSel=\"" + MATCH_START + "\", StopSel=\"" + MATCH_END + "\", "
+            + "MaxFragments=2, MaxWords=25, MinWords=8, FragmentDelimiter=\" ... \"";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<JobApplicationSummaryDTO> findPage(Long userId, JobListFilter filter, JobCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<JobApplicationSummaryDTO> query = cb.createQuery(JobApplicationSummaryDTO.class);
+        Root<JobApplication> job = query.from(JobApplication.class);
+
+        query.select(cb.construct(JobApplicationSummaryDTO.class,
+                        job.get("id"),
+                        job.get("userId"),
+                        job.get("url"),
+                        job.get("title"),
+                        job.get("company"),
+                        job.get("status"),
+                        job.get("sourceType"),
+                        job.get("appliedAt"),
+                        job.get("createdAt"),
+                        job.get("updatedAt")))
+                .where(pagePredicates(cb, job, userId, filter, after))
+                .orderBy(cb.desc(job.get("createdAt")), cb.desc(job.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<JobSearchResultDTO> search(Long userId, String query, JobSearchCursor after, int limit) {
+        // Rank every match (served by idx_applications_search), keep one page, and only
+        // then build headlines, which have to re-parse the full description text
+        String sql = """
+                WITH q AS (SELECT websearch_to_tsquery('english', :query) AS tsq)
+                SELECT j.id, j.job_title, j.company_name, j.status, j.created_at, h.rank,
+                       ts_headline('english', concat_ws(' ... ', j.description, j.notes), q.tsq, :headlineOptions)
+                           AS snippet
+                FROM (
+                    SELECT r.id, r.rank
+                    FROM (
+                        SELECT m.id, ts_rank(m.search_vector, q.tsq) AS rank
+                        FROM job_applications m CROSS JOIN q
+                        WHERE m.user_id = :userId AND m.search_vector @@ q.tsq AND m.deleted_at IS NULL
+                    ) r
+                """ + (after != null ? "    WHERE r.rank < :afterRank OR (r.rank = :afterRank AND r.id < :afterId)\n" : "") + """
+                    ORDER BY r.rank DESC, r.id DESC
+                    LIMIT :limit
+                ) h
+                JOIN job_applications j ON j.id = h.id
+                CROSS JOIN q
+                ORDER BY h.rank DESC, h.id DESC
+                """;
+
+        NativeQuery<Object[]> nativeQuery = entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addScalar("id", Long.class)
+                .addScalar("job_title", String.class)
+                .addScalar("company_name", String.class)
+                .addScalar("status", String.class)
+                .addScalar("created_at", LocalDateTime.class)
+                .addScalar("rank", Float.class)
+                .addScalar("snippet", String.class);
+        nativeQuery.setParameter("query", query)
+                .setParameter("headlineOptions", HEADLINE_OPTIONS)
+                .setParameter("userId", userId)
+                .setParameter("limit", limit);
+        if (after != null) {
+            nativeQuery.setParameter("afterRank", after.getRank())
+                    .setParameter("afterId", after.getId());
+        }
+
+        List<JobSearchResultDTO> results = new ArrayList<>();
+        for (Object[] row : nativeQuery.getResultList()) {
+            results.add(JobSearchResultDTO.builder()
+                    .id((Long) row[0])
+                    .title((String) row[1])
+                    .company((String) row[2])
+                    .status(JobApplication.Status.valueOf((String) row[3]))
+                    .createdAt((LocalDateTime) row[4])
+                    .rank((Float) row[5])
+                    .snippet(toHtmlSnippet((String) row[6]))
+                    .build());
+        }
+        return results;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<JobSyncRow> findChangesSince(Long userId, JobSyncToken after, boolean includeDeleted, int limit) {
+        // Native so tombstones are visible; served by idx_applications_user_change_seq
+        String sql = """
+                SELECT id, user_id, job_url, job_title, company_name, status, source_type,
+                       applied_date, created_at, updated_at, change_seq, deleted_at
+                FROM job_applications
+                WHERE user_id = :userId
+                  AND (change_seq > :afterSeq OR (change_seq = :afterSeq AND id > :afterId))
+                """ + (includeDeleted ? "" : "  AND deleted_at IS NULL\n") + """
+                ORDER BY change_seq, id
+                LIMIT :limit
+                """;
+
+        NativeQuery<Object[]> nativeQuery = entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addScalar("id", Long.class)
+                .addScalar("user_id", Long.class)
+                .addScalar("job_url", String.class)
+                .addScalar("job_title", String.class)
+                .addScalar("company_name", String.class)
+                .addScalar("status", String.class)
+                .addScalar("source_type", String.class)
+                .addScalar("applied_date", LocalDateTime.class)
+                .addScalar("created_at", LocalDateTime.class)
+                .addScalar("updated_at", LocalDateTime.class)
+                .addScalar("change_seq", Long.class)
+                .addScalar("deleted_at", LocalDateTime.class);
+        nativeQuery.setParameter("userId", userId)
+                .setParameter("afterSeq", after.getChangeSeq())
+                // Without an id the whole change is behind us
+                .setParameter("afterId", after.getAfterId() != null ? after.getAfterId() : Long.MAX_VALUE)
+                .setParameter("limit", limit);
+
+        List<JobSyncRow> rows = new ArrayList<>();
+        for (Object[] row : nativeQuery.getResultList()) {
+            JobApplicationSummaryDTO job = new JobApplicationSummaryDTO(
+                    (Long) row[0],
+                    (Long) row[1],
+                    (String) row[2],
+                    (String) row[3],
+                    (String) row[4],
+                    JobApplication.Status.valueOf((String) row[5]),
+                    row[6] != null ? JobApplication.SourceType.valueOf((String) row[6]) : null,
+                    (LocalDateTime) row[7],
+                    (LocalDateTime) row[8],
+                    (LocalDateTime) row[9]);
+            rows.add(new JobSyncRow(job, (Long) row[10], row[11] != null));
+        }
+        return rows;
+    }
+
+    /**
+     * Escapes the headline text and turns the control-character match markers into
+     * {@code <mark>} tags, so stored text can never inject markup into the snippet.
+     */
+    static String toHtmlSnippet(String headline) {
+        if (headline == null || headline.isBlank()) {
+            return null;
+        }
+        StringBuilder html = new StringBuilder(headline.length() + 32);
+        for (int i = 0; i < headline.length(); i++) {
+            char c = headline.charAt(i);
+            switch (c) {
+                case MATCH_START -> html.append("<mark>");
+                case MATCH_END -> html.append("</mark>");
+                case '&' -> html.append("&amp;");
+                case '<' -> html.append("&lt;");
+                case '>' -> html.append("&gt;");
+                case '"' -> html.append("&quot;");
+                case '\'' -> html.append("&#39;");
+                default -> html.append(c);
+            }
+        }
+        return html.toString();
+    }
+
+    private Predicate[] pagePredicates(
+            CriteriaBuilder cb, Root<JobApplication> job, Long userId, JobListFilter filter, JobCursor after) {
+        List<Predicate> predicates = new ArrayList<>();
+        Path<LocalDateTime> createdAt = job.get("createdAt");
+        Path<Long> id = job.get("id");
+
+        predicates.add(cb.equal(job.get("userId"), userId));
+
+        if (filter != null) {
+            if (filter.getStatuses() != null && !filter.getStatuses().isEmpty()) {
+                predicates.add(job.get("status").in(filter.getStatuses()));
+            }
+            if (filter.getCompany() != null && !filter.getCompany().isBlank()) {
+                String pattern = "%" + escapeLike(filter.getCompany().trim().toLowerCase(Locale.ROOT)) + "%";
+                predicates.add(cb.like(cb.lower(job.get("company")), pattern, '\\'));
+            }
+            if (filter.getSourceType() != null) {
+                predicates.add(cb.equal(job.get("sourceType"), filter.getSourceType()));
+            }
+            if (filter.getCreatedFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(createdAt, filter.getCreatedFrom()));
+            }
+            if (filter.getCreatedTo() != null) {
+                predicates.add(cb.lessThan(createdAt, filter.getCreatedTo()));
+            }
+        }
+
+        if (after != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(createdAt, after.getCreatedAt()),
+                    cb.and(cb.equal(createdAt, after.getCreatedAt()), cb.lessThan(id, after.getId()))));
+        }
+
+        return predicates.toArray(new Predicate[0]);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,49 @@
+package com.autoapply.job.repository;
+
+import com.autoapply.job.entity.JobStatusCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface JobStatusCounterRepository extends JpaRepository<JobStatusCounter, JobStatusCounter.Key> {
+
+    List<JobStatusCounter> findByIdUserId(Long userId);
+
+    @Modifying
+    @Query(value = "INSERT INTO job_status_counters (user_id, status, job_count) VALUES (:userId, :status, :delta) "
+            + "ON CONFLICT (user_id, status) DO UPDATE SET job_count = job_status_counters.job_count + EXCLUDED.job_count",
+            nativeQuery = true)
+    void increment(Long userId, String status, long delta);
+
+    @Query(value = "SELECT id FROM users WHERE id > :afterId ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<Long> findUserIdsAfter(Long afterId, int limit);
+
+    /**
+     * Locks the counter rows of the given users so concurrent job writes wait until
+     * their counters have been recomputed. Rows are locked in the order writers use (by
+     * user, then status name in byte order), so a writer can't hold one row while waiting
+     * for another this has locked.
+     */
+    @Query(value = "SELECT user_id FROM job_status_counters WHERE user_id IN (:userIds) "
+            + "ORDER BY user_id, status COLLATE \"C\" FOR UPDATE", nativeQuery = true)
+    List<Long> lockCounters(List<Long> userIds);
+
+    @Modifying
+    @Query(value = "INSERT INTO job_status_counters (user_id, status, job_count) "
+            + "SELECT user_id, status, COUNT(*) FROM job_applications "
+            + "WHERE user_id IN (:userIds) AND deleted_at IS NULL GROUP BY user_id, status "
+            + "ON CONFLICT (user_id, status) DO UPDATE SET job_count = EXCLUDED.job_count "
+            + "WHERE job_status_counters.job_count <> EXCLUDED.job_count",
+            nativeQuery = true)
+    int recomputeCounters(List<Long> userIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM job_status_counters c WHERE c.user_id IN (:userIds) AND NOT EXISTS ("
+            + "SELECT 1 FROM job_applications j WHERE j.user_id = c.user_id AND j.status = c.status AND j.deleted_at IS NULL)",
+            nativeQuery = true)
+    int deleteOrphanedCounters(List<Long> userIds);
+}
@@ -0,0 +1,14 @@
+package com.autoapply.job.repository;
+
+import com.autoapply.job.dto.JobApplicationSummaryDTO;
+import lombok.Value;
+
+/**
+ * A row of the change feed: the job's current list-view state, or a tombstone.
+ */
+@Value
+public class JobSyncRow {
+    JobApplicationSummaryDTO job;
+    long changeSeq;
+    boolean deleted;
+}
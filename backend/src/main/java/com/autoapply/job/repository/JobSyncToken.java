@@ -0,0 +1,39 @@
+package com.autoapply.job.repository;
+
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a user's change feed ordered by {@code (change_seq, id)}. Between pages
+ * {@code afterId} points inside a change; at the end of a sync it is null and the token
+ * covers everything up to {@code changeSeq}. Serialized to clients as an opaque token.
+ */
+@Value
+public class JobSyncToken {
+    public static final JobSyncToken INITIAL = new JobSyncToken(0, null);
+
+    long changeSeq;
+    Long afterId;
+
+    public String encode() {
+        String raw = afterId != null ? changeSeq + "|" + afterId : String.valueOf(changeSeq);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static JobSyncToken decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                return new JobSyncToken(Long.parseLong(raw), null);
+            }
+            return new JobSyncToken(
+                    Long.parseLong(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid sync token", e);
+        }
+    }
+}
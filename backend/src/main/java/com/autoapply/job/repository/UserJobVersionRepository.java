@@ -0,0 +1,34 @@
+package com.autoapply.job.repository;
+
+import com.autoapply.job.entity.UserJobVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UserJobVersionRepository extends JpaRepository<UserJobVersion, Long> {
+
+    @Query("SELECT v.version FROM UserJobVersion v WHERE v.userId = :userId")
+    Optional<Long> findVersion(Long userId);
+
+    /**
+     * Increments the user's version and returns the new value. The row stays locked until
+     * the surrounding transaction commits, so versions are handed out in commit order.
+     */
+    @Query(value = "INSERT INTO user_job_versions (user_id, version, updated_at) VALUES (:userId, 1, now()) "
+            + "ON CONFLICT (user_id) DO UPDATE SET version = user_job_versions.version + 1, updated_at = now() "
+            + "RETURNING version",
+            nativeQuery = true)
+    long bump(Long userId);
+
+    @Modifying
+    @Query(value = "INSERT INTO user_job_versions (user_id, version, updated_at) "
+            + "SELECT id, 1, now() FROM users WHERE id IN (:userIds) ORDER BY id "
+            + "ON CONFLICT (user_id) DO UPDATE SET version = user_job_versions.version + 1, updated_at = now()",
+            nativeQuery = true)
+    int bumpAll(List<Long> userIds);
+}
@@ -0,0 +1,103 @@
+package com.autoapply.job.service;
+
+import com.autoapply.job.dto.EmailAccountDTO;
+import com.autoapply.job.dto.EmailAccountRequest;
+import com.autoapply.job.entity.EmailAccount;
+import com.autoapply.job.repository.EmailAccountRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Objects;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmailAccountService {
+    private static final String DEFAULT_FOLDER = "INBOX";
+
+    private final EmailAccountRepository accountRepository;
+    private final EmailCredentialCipher credentialCipher;
+    private final ImapHostPolicy hostPolicy;
+
+    @Transactional(readOnly = true)
+    public EmailAccountDTO getAccount(Long userId) {
+        return accountRepository.findByUserId(userId)
+                .map(EmailAccountService::toDTO)
+                .orElseThrow(() -> new IllegalArgumentException("No email account connected"));
+    }
+
+    @Transactional
+    public EmailAccountDTO saveAccount(Long userId, EmailAccountRequest request) {
+        if (!request.isUseSsl()) {
+            throw new IllegalArgumentException("IMAP without TLS is not supported; use the server's IMAPS port");
+        }
+        hostPolicy.requirePublic(request.getImapHost().trim());
+        String folder = request.getFolder() == null || request.getFolder().isBlank()
+                ? DEFAULT_FOLDER : request.getFolder().trim();
+        EmailAccount account = accountRepository.findByUserId(userId)
+                .orElseGet(() -> EmailAccount.builder().userId(userId).build());
+
+        // A different mailbox starts again from the initial lookback window
+        boolean mailboxChanged = !Objects.equals(account.getImapHost(), request.getImapHost().trim())
+                || !Objects.equals(account.getUsername(), request.getUsername().trim())
+                || !Objects.equals(account.getFolder(), folder);
+        if (mailboxChanged) {
+            account.setUidValidity(null);
+            account.setLastUid(0);
+            account.setLastSyncedAt(null);
+        }
+
+        account.setImapHost(request.getImapHost().trim());
+        account.setImapPort(request.getImapPort());
+        account.setUseSsl(true);
+        account.setUsername(request.getUsername().trim());
+        account.setPassword(credentialCipher.encrypt(request.getPassword()));
+        account.setFolder(folder);
+        account.setLastError(null);
+        if (request.getEnabled() != null) {
+            account.setEnabled(request.getEnabled());
+        }
+        return toDTO(accountRepository.save(account));
+    }
+
+    @Transactional
+    public void deleteAccount(Long userId) {
+        accountRepository.findByUserId(userId).ifPresent(accountRepository::delete);
+    }
+
+    /**
+     * Encrypts passwords stored before encryption was introduced. Runs on every instance at
+     * startup; an instance without a credentials key leaves them for one that has it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void encryptLegacyPasswords() {
+        if (!credentialCipher.isConfigured()) {
+            log.warn("email-sync.credentials-key is not set: mailbox passwords cannot be stored or read");
+            return;
+        }
+        List<EmailAccount> legacy = accountRepository.findWithPlaintextPassword();
+        legacy.forEach(account -> account.setPassword(credentialCipher.encrypt(account.getPassword())));
+        if (!legacy.isEmpty()) {
+            log.info("Encrypted the stored passwords of {} mailboxes", legacy.size());
+        }
+    }
+
+    private static EmailAccountDTO toDTO(EmailAccount account) {
+        return EmailAccountDTO.builder()
+                .imapHost(account.getImapHost())
+                .imapPort(account.getImapPort())
+                .useSsl(account.isUseSsl())
+                .username(account.getUsername())
+                .folder(account.getFolder())
+                .enabled(account.isEnabled())
+                .lastSyncedAt(account.getLastSyncedAt())
+                .lastError(account.getLastError())
+                .build();
+    }
+}
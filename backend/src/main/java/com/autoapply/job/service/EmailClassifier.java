@@ -0,0 +1,59 @@
+package com.autoapply.job.service;
+
+import com.autoapply.job.entity.JobApplication;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Phrase classifier for recruiting emails. Only whole phrases count: a rejection closes the
+ * application for good, so a stray "unfortunately" or "interview" in an unrelated reply
+ * must not be enough. Rejections are checked first because they often mention interviews
+ * ("after careful consideration of your interview ...").
+ */
+@Component
+public class EmailClassifier {
+    private static final List<Pattern> REJECTION = patterns(
+            "regret to inform", "decided to (?:pursue|proceed with) other candidates",
+            "not (?:be )?moving forward with your application", "not to move forward with your application",
+            "position has been filled", "no longer under consideration");
+    private static final List<Pattern> OFFER = patterns(
+            "offer letter", "pleased to (?:extend|offer)", "job offer", "extend (?:you )?an offer", "offer of employment");
+    private static final List<Pattern> INTERVIEW = patterns(
+            "invite you (?:to|for) an? (?:\\w+ )?interview", "interview invitation",
+            "schedule (?:a|an|your) (?:\\w+ )?(?:interview|call|chat|conversation)", "phone screen",
+            "availability for");
+
+    public Optional<JobApplication.Status> classify(String subject, String body) {
+        String text = ((subject != null ? subject : "") + "\n" + (body != null ? body : "")).toLowerCase(Locale.ROOT);
+        if (matchesAny(REJECTION, text)) {
+            return Optional.of(JobApplication.Status.REJECTED);
+        }
+        if (matchesAny(OFFER, text)) {
+            return Optional.of(JobApplication.Status.OFFER);
+        }
+        if (matchesAny(INTERVIEW, text)) {
+            return Optional.of(JobApplication.Status.INTERVIEW);
+        }
+        return Optional.empty();
+    }
+
+    private static boolean matchesAny(List<Pattern> patterns, String text) {
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(text).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Pattern> patterns(String... regexes) {
+        return Arrays.stream(regexes)
+                .map(regex -> Pattern.compile("\\b" + regex + "\\b"))
+                .toList();
+    }
+}
@@ -0,0 +1,85 @@
+package com.autoapply.job.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Encrypts IMAP passwords for storage with AES-256-GCM under {@code email-sync.credentials-key}
+ * (32 bytes, base64). Stored values are {@code v1:} + base64(nonce + ciphertext + tag); values
+ * without the prefix are plaintext written before encryption was introduced.
+ */
+@Component
+public class EmailCredentialCipher {
+    private static final String PREFIX = "v1:";
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int NONCE_BYTES = 12;
+    private static final int TAG_BITS = 128;
+
+    private final SecretKeySpec key;
+    private final SecureRandom random = new SecureRandom();
+
+    public EmailCredentialCipher(@Value("${email-sync.credentials-key:}") String base64Key) {
+        if (base64Key.isBlank()) {
+            this.key = null;
+            return;
+        }
+        byte[] bytes = Base64.getDecoder().decode(base64Key.trim());
+        if (bytes.length != 32) {
+            throw new IllegalArgumentException("email-sync.credentials-key must be 32 bytes, base64-encoded");
+        }
+        this.key = new SecretKeySpec(bytes, "AES");
+    }
+
+    public boolean isConfigured() {
+        return key != null;
+    }
+
+    public static boolean isEncrypted(String stored) {
+        return stored != null && stored.startsWith(PREFIX);
+    }
+
+    public String encrypt(String plaintext) {
+        byte[] nonce = new byte[NONCE_BYTES];
+        random.nextBytes(nonce);
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.ENCRYPT_MODE, requireKey(), new GCMParameterSpec(TAG_BITS, nonce));
+            byte[] sealed = cipher.doFinal(plaintext.getBytes(StandardCharsets.UTF_8));
+            byte[] stored = ByteBuffer.allocate(nonce.length + sealed.length).put(nonce).put(sealed).array();
+            return PREFIX + Base64.getEncoder().encodeToString(stored);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not encrypt mailbox password", e);
+        }
+    }
+
+    public String decrypt(String stored) {
+        if (!isEncrypted(stored)) {
+            return stored;
+        }
+        byte[] bytes = Base64.getDecoder().decode(stored.substring(PREFIX.length()));
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.DECRYPT_MODE, requireKey(), new GCMParameterSpec(TAG_BITS, bytes, 0, NONCE_BYTES));
+            return new String(cipher.doFinal(bytes, NONCE_BYTES, bytes.length - NONCE_BYTES), StandardCharsets.UTF_8);
+        } catch (GeneralSecurityException e) {
+            // Most likely a different key than the one the password was stored with
+            throw new IllegalStateException("Could not decrypt mailbox password", e);
+        }
+    }
+
+    private SecretKeySpec requireKey() {
+        if (key == null) {
+            throw new IllegalStateException("Set email-sync.credentials-key (EMAIL_CREDENTIALS_KEY) to store mailbox passwords");
+        }
+        return key;
+    }
+}
@@ -1,21 +1,303 @@
 package com.autoapply.job.service;
 
+import com.autoapply.common.scheduling.ClusterMembership;
+import com.autoapply.common.scheduling.SchedulerRunMetrics;
+import com.autoapply.job.dto.JobApplicationSummaryDTO;
+import com.autoapply.job.entity.EmailAccount;
+import com.autoapply.job.entity.JobApplication;
+import com.autoapply.job.repository.EmailAccountRepository;
+import com.autoapply.job.repository.JobApplicationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Incremental IMAP sync that moves applications to INTERVIEW / OFFER / REJECTED based on
+ * recruiting mail. Each run fetches only messages above the mailbox's UID high-water mark,
+ * matches them to applications through a per-user in-memory index, and writes the status
+ * changes and the new high-water mark in one transaction per mailbox.
+ *
+ * <p>With several backend instances, each syncs only the mailboxes of users in the partitions
+ * it holds (see {@link ClusterMembership}). A mailbox whose partition moves mid-run may be
+ * synced by both nodes once; that is harmless, because status updates only move forward and
+ * the high-water mark is only ever raised. On one node, a mailbox still being synced when
+ * the next run starts (after a run timeout) is skipped by that run.
+ */
 @Service
 @Slf4j
 public class EmailSyncService {
+    public static final String JOB_NAME = "email-sync";
+
+    /** Applications in these states are never moved by email. */
+    private static final Set<JobApplication.Status> CLOSED = EnumSet.of(
+            JobApplication.Status.REJECTED, JobApplication.Status.WITHDRAWN);
+
+    private final EmailAccountRepository accountRepository;
+    private final JobApplicationRepository jobRepository;
+    private final JobService jobService;
+    private final ImapMailboxClient mailboxClient;
+    private final EmailClassifier classifier;
+    private final ThreadPoolTaskExecutor executor;
+    private final ClusterMembership membership;
+    private final SchedulerRunMetrics runMetrics;
+    private final Counter syncedMailboxes;
+    private final Counter failedMailboxes;
+    private final Counter handedOffMailboxes;
+    private final Counter busyMailboxes;
+    private final Counter rejectedMailboxes;
+    /** Ids of the mailboxes this node is syncing right now. */
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    private final Counter updatedApplications;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxMessagesPerRun;
+    private final long runTimeoutMinutes;
+
+    public EmailSyncService(
+            EmailAccountRepository accountRepository,
+            JobApplicationRepository jobRepository,
+            JobService jobService,
+            ImapMailboxClient mailboxClient,
+            EmailClassifier classifier,
+            @Qualifier("emailSyncExecutor") ThreadPoolTaskExecutor executor,
+            ClusterMembership membership,
+            SchedulerRunMetrics runMetrics,
+            MeterRegistry meterRegistry,
+            PlatformTransactionManager transactionManager,
+            @Value("${email-sync.max-messages-per-run:500}") int maxMessagesPerRun,
+            @Value("${email-sync.run-timeout-minutes:50}") long runTimeoutMinutes) {
+        this.accountRepository = accountRepository;
+        this.jobRepository = jobRepository;
+        this.jobService = jobService;
+        this.mailboxClient = mailboxClient;
+        this.classifier = classifier;
+        this.executor = executor;
+        this.membership = membership;
+        this.runMetrics = runMetrics;
+        this.syncedMailboxes = mailboxCounter(meterRegistry, "synced");
+        this.failedMailboxes = mailboxCounter(meterRegistry, "failed");
+        this.handedOffMailboxes = mailboxCounter(meterRegistry, "handed_off");
+        this.busyMailboxes = mailboxCounter(meterRegistry, "in_progress");
+        this.rejectedMailboxes = mailboxCounter(meterRegistry, "rejected");
+        this.updatedApplications = Counter.builder("email.sync.applications.updated")
+                .description("Applications moved to a new status by email sync")
+                .register(meterRegistry);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxMessagesPerRun = maxMessagesPerRun;
+        this.runTimeoutMinutes = runTimeoutMinutes;
+    }
+
+    private static Counter mailboxCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("email.sync.mailboxes")
+                .description("Mailboxes processed by email sync runs")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
 
-    @Scheduled(fixedRate = 3600000) // Run every hour
+    /**
+     * Runs every hour on every node, over this node's partitions. The initial delay gives the
+     * cluster a few heartbeats to settle partitions after a (rolling) restart.
+     */
+    @Scheduled(initialDelayString = "${email-sync.initial-delay-ms:60000}",
+            fixedRateString = "${email-sync.fixed-rate-ms:3600000}")
     public void syncEmails() {
-        log.info("Starting email sync...");
-        // TODO: Implement email fetching logic (IMAP/Gmail API)
-        // 1. Connect to email store
-        // 2. Search for keywords (Interview, Offer, Reject)
-        // 3. Match with existing job applications
-        // 4. Update status
-        log.info("Email sync completed.");
+        long started = System.nanoTime();
+        Set<Integer> partitions = membership.ownedPartitions();
+        if (partitions.isEmpty()) {
+            log.info("Skipping email sync: node {} holds no partitions.", membership.nodeId());
+            runMetrics.record(JOB_NAME, "skipped", started);
+            return;
+        }
+        log.info("Starting email sync for {} of {} partitions...", partitions.size(), membership.partitionCount());
+        String outcome = "error";
+        try {
+            syncAccounts(accountRepository.findEnabledInPartitions(membership.partitionCount(), partitions));
+            outcome = "success";
+        } finally {
+            runMetrics.record(JOB_NAME, outcome, started);
+        }
+    }
+
+    /**
+     * Syncs the given mailboxes on the worker pool and waits for the run to finish. Mailboxes
+     * still syncing from an earlier run, or that the pool has no room for, wait for the next run.
+     */
+    public void syncAccounts(List<EmailAccount> accounts) {
+        AtomicInteger updated = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        AtomicInteger handedOff = new AtomicInteger();
+        int busy = 0;
+        int rejected = 0;
+
+        List<CompletableFuture<Void>> runs = new ArrayList<>(accounts.size());
+        for (EmailAccount account : accounts) {
+            if (!inFlight.add(account.getId())) {
+                busy++;
+                busyMailboxes.increment();
+                continue;
+            }
+            try {
+                runs.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        syncIfOwned(account, updated, failed, handedOff);
+                    } finally {
+                        inFlight.remove(account.getId());
+                    }
+                }, executor));
+            } catch (TaskRejectedException e) {
+                inFlight.remove(account.getId());
+                rejected++;
+                rejectedMailboxes.increment();
+            }
+        }
+
+        try {
+            CompletableFuture.allOf(runs.toArray(new CompletableFuture[0])).get(runTimeoutMinutes, TimeUnit.MINUTES);
+        } catch (TimeoutException e) {
+            log.warn("Email sync run did not finish within {} minutes; remaining mailboxes continue in background",
+                    runTimeoutMinutes);
+        } catch (Exception e) {
+            log.error("Email sync run interrupted", e);
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (rejected > 0) {
+            log.warn("Email sync pool was full: {} mailboxes deferred to the next run", rejected);
+        }
+        log.info("Email sync completed: {} mailboxes, {} applications updated, {} failures, {} handed off, "
+                        + "{} still in progress, {} deferred.",
+                accounts.size(), updated.get(), failed.get(), handedOff.get(), busy, rejected);
+    }
+
+    private void syncIfOwned(EmailAccount account, AtomicInteger updated, AtomicInteger failed,
+                             AtomicInteger handedOff) {
+        // The partition may have moved to a node that joined while this run was queued
+        if (!membership.owns(account.getUserId())) {
+            handedOff.incrementAndGet();
+            handedOffMailboxes.increment();
+            return;
+        }
+        try {
+            int changed = syncAccount(account);
+            updated.addAndGet(changed);
+            updatedApplications.increment(changed);
+            syncedMailboxes.increment();
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            failedMailboxes.increment();
+            log.warn("Email sync failed for user {}: {}", account.getUserId(), e.getMessage());
+            recordFailure(account, e);
+        }
+    }
+
+    /**
+     * @return the number of applications whose status changed
+     */
+    int syncAccount(EmailAccount account) throws Exception {
+        Long userId = account.getUserId();
+        List<JobApplicationSummaryDTO> openJobs = jobRepository.findSummariesByUserIdAndStatusNotIn(userId, CLOSED);
+        JobMatchIndex index = new JobMatchIndex(openJobs);
+
+        // Bodies are only downloaded when the envelope already names a company we track
+        ImapMailboxClient.FetchResult result = mailboxClient.fetchNewMessages(
+                account, maxMessagesPerRun, message -> !index.isEmpty() && index.envelopeMentionsCompany(message));
+
+        Map<Long, JobApplication.Status> updates = new HashMap<>();
+        Map<Long, JobApplication.Status> current = new HashMap<>();
+        openJobs.forEach(job -> current.put(job.getId(), job.getStatus()));
+        // Not the stored mark: after a UIDVALIDITY change it belongs to the old UID numbering
+        long highestUid = result.baselineUid();
+        for (MailboxMessage message : result.messages()) {
+            highestUid = Math.max(highestUid, message.getUid());
+            if (message.getBodyText() == null) {
+                continue;
+            }
+            JobApplicationSummaryDTO job = index.match(message);
+            if (job == null) {
+                continue;
+            }
+            Optional<JobApplication.Status> classified = classifier.classify(message.getSubject(), message.getBodyText());
+            if (classified.isPresent()) {
+                JobApplication.Status from = updates.getOrDefault(job.getId(), current.get(job.getId()));
+                if (isProgression(from, classified.get())) {
+                    updates.put(job.getId(), classified.get());
+                }
+            }
+        }
+
+        long newHighWaterMark = highestUid;
+        Integer changed = transactionTemplate.execute(tx -> {
+            int count = jobService.applyStatusUpdates(userId, updates, EmailSyncService::isProgression);
+            // Re-read so settings edited while the mailbox was being read are not overwritten, and
+            // lock so a concurrent sync of the same mailbox (on another node) can't interleave
+            accountRepository.findByIdForUpdate(account.getId())
+                    .filter(stored -> sameMailbox(stored, account))
+                    .ifPresent(stored -> {
+                        // Never lower the mark within one UID numbering: another sync may have got further
+                        boolean sameNumbering = stored.getUidValidity() != null
+                                && stored.getUidValidity() == result.uidValidity();
+                        stored.setUidValidity(result.uidValidity());
+                        stored.setLastUid(sameNumbering ? Math.max(stored.getLastUid(), newHighWaterMark) : newHighWaterMark);
+                        stored.setLastSyncedAt(LocalDateTime.now());
+                        stored.setLastError(null);
+                    });
+            return count;
+        });
+        return changed != null ? changed : 0;
+    }
+
+    /**
+     * Email only moves an application forward: interview before offer, and nothing
+     * overrides an offer except an explicit rejection.
+     */
+    static boolean isProgression(JobApplication.Status from, JobApplication.Status to) {
+        if (from == null || from == to || CLOSED.contains(from)) {
+            return false;
+        }
+        return switch (to) {
+            case INTERVIEW -> from == JobApplication.Status.SAVED
+                    || from == JobApplication.Status.APPLIED
+                    || from == JobApplication.Status.SCREENING;
+            case OFFER -> from != JobApplication.Status.OFFER;
+            case REJECTED -> true;
+            default -> false;
+        };
+    }
+
+    private static boolean sameMailbox(EmailAccount a, EmailAccount b) {
+        return a.getImapHost().equals(b.getImapHost())
+                && a.getUsername().equals(b.getUsername())
+                && a.getFolder().equals(b.getFolder());
+    }
+
+    private void recordFailure(EmailAccount account, Exception e) {
+        try {
+            transactionTemplate.executeWithoutResult(tx -> accountRepository.findById(account.getId())
+                    .ifPresent(stored -> stored.setLastError(e.getClass().getSimpleName() + ": " + e.getMessage())));
+        } catch (Exception saveError) {
+            log.warn("Could not record email sync failure for user {}", account.getUserId(), saveError);
+        }
     }
 }
@@ -0,0 +1,44 @@
+package com.autoapply.job.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps concurrent outbound fetches per host so one slow job board can't occupy
+ * the whole link-parser pool. Idle hosts are forgotten after a while.
+ */
+@Component
+public class HostConcurrencyLimiter {
+    private final int permitsPerHost;
+    private final Duration acquireTimeout;
+    private final Cache<String, Semaphore> semaphores = Caffeine.newBuilder()
+            .expireAfterAccess(Duration.ofMinutes(10))
+            .build();
+
+    public HostConcurrencyLimiter(
+            @Value("${link-parser.per-host-concurrency:4}") int permitsPerHost,
+            @Value("${link-parser.per-host-acquire-timeout:2s}") Duration acquireTimeout) {
+        this.permitsPerHost = permitsPerHost;
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    /**
+     * Acquires a permit for the host, waiting at most the configured timeout.
+     *
+     * @return the semaphore to release, or null if no permit became available in time
+     */
+    public Semaphore tryAcquire(String host) throws InterruptedException {
+        Semaphore semaphore = semaphores.get(host.toLowerCase(Locale.ROOT), key -> new Semaphore(permitsPerHost));
+        if (semaphore.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            return semaphore;
+        }
+        return null;
+    }
+}
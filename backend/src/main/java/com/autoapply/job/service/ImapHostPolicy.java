@@ -0,0 +1,17 @@
+package com.autoapply.job.service;
+
+import com.autoapply.common.net.PublicHostPolicy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Public hosts only for user-supplied IMAP servers. Checked when a mailbox is saved and again
+ * before every connect. {@code email-sync.allow-private-hosts=true} lifts the check.
+ */
+@Component
+public class ImapHostPolicy extends PublicHostPolicy {
+
+    public ImapHostPolicy(@Value("${email-sync.allow-private-hosts:false}") boolean allowPrivateHosts) {
+        super("IMAP host", allowPrivateHosts);
+    }
+}
@@ -0,0 +1,212 @@
+package com.autoapply.job.service;
+
+import com.autoapply.job.entity.EmailAccount;
+import jakarta.mail.Address;
+import jakarta.mail.FetchProfile;
+import jakarta.mail.Folder;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Multipart;
+import jakarta.mail.Part;
+import jakarta.mail.Session;
+import jakarta.mail.Store;
+import jakarta.mail.UIDFolder;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.search.ComparisonTerm;
+import jakarta.mail.search.ReceivedDateTerm;
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.Jsoup;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Reads new messages from an IMAP folder using UIDs. Envelopes are fetched in one
+ * round trip; message bodies are only downloaded for messages the caller asks for.
+ * Connections always use TLS (IMAPS) with the server's certificate and host name checked,
+ * and only to hosts the {@link ImapHostPolicy} allows.
+ */
+@Component
+@Slf4j
+public class ImapMailboxClient {
+    private static final int MAX_BODY_CHARS = 4_000;
+
+    private static final String PROTOCOL = "imaps";
+
+    private final ImapHostPolicy hostPolicy;
+    private final EmailCredentialCipher credentialCipher;
+    private final Duration timeout;
+    private final Duration initialLookback;
+    private final Set<String> trustedHosts;
+
+    public ImapMailboxClient(
+            ImapHostPolicy hostPolicy,
+            EmailCredentialCipher credentialCipher,
+            @Value("${email-sync.imap-timeout:30s}") Duration timeout,
+            @Value("${email-sync.initial-lookback:30d}") Duration initialLookback,
+            @Value("${email-sync.ssl-trust:}") Set<String> trustedHosts) {
+        this.hostPolicy = hostPolicy;
+        this.credentialCipher = credentialCipher;
+        this.timeout = timeout;
+        this.initialLookback = initialLookback;
+        this.trustedHosts = trustedHosts;
+    }
+
+    /**
+     * Result of one fetch: the folder's current UIDVALIDITY, the UID the fetch resumed after
+     * (0 when it started over, e.g. because UIDVALIDITY changed) and the new messages in UID order.
+     */
+    public record FetchResult(long uidValidity, long baselineUid, List<MailboxMessage> messages) {
+    }
+
+    /**
+     * Fetches messages newer than the account's high-water mark. When the mark is unset or the
+     * folder's UIDVALIDITY changed, only mail received within the initial lookback window is read.
+     *
+     * @param maxMessages cap on messages returned; the oldest are returned first so the
+     *                    high-water mark can advance across runs
+     * @param needsBody   decides, from the envelope, whether a message's body text is loaded
+     */
+    public FetchResult fetchNewMessages(EmailAccount account, int maxMessages, Predicate<MailboxMessage> needsBody)
+            throws MessagingException, IOException {
+        hostPolicy.requirePublic(account.getImapHost());
+        Session session = Session.getInstance(sessionProperties(account.getImapHost()));
+
+        try (Store store = session.getStore(PROTOCOL)) {
+            store.connect(account.getImapHost(), account.getImapPort(), account.getUsername(),
+                    credentialCipher.decrypt(account.getPassword()));
+            Folder folder = store.getFolder(account.getFolder());
+            folder.open(Folder.READ_ONLY);
+            try {
+                UIDFolder uidFolder = (UIDFolder) folder;
+                long uidValidity = uidFolder.getUIDValidity();
+                boolean resume = account.getUidValidity() != null
+                        && account.getUidValidity() == uidValidity
+                        && account.getLastUid() > 0;
+
+                Message[] candidates;
+                if (resume) {
+                    candidates = uidFolder.getMessagesByUID(account.getLastUid() + 1, UIDFolder.LASTUID);
+                } else {
+                    Date since = Date.from(LocalDateTime.now().minus(initialLookback)
+                            .atZone(ZoneId.systemDefault()).toInstant());
+                    candidates = folder.search(new ReceivedDateTerm(ComparisonTerm.GE, since));
+                }
+
+                FetchProfile profile = new FetchProfile();
+                profile.add(FetchProfile.Item.ENVELOPE);
+                profile.add(UIDFolder.FetchProfileItem.UID);
+                folder.fetch(candidates, profile);
+
+                long afterUid = resume ? account.getLastUid() : 0;
+                List<Message> fresh = Arrays.stream(candidates)
+                        .filter(message -> uid(uidFolder, message) > afterUid)
+                        .sorted(Comparator.comparingLong(message -> uid(uidFolder, message)))
+                        .limit(maxMessages)
+                        .toList();
+
+                List<MailboxMessage> messages = new ArrayList<>(fresh.size());
+                for (Message message : fresh) {
+                    MailboxMessage mailboxMessage = new MailboxMessage(
+                            uidFolder.getUID(message),
+                            sender(message),
+                            message.getSubject() != null ? message.getSubject() : "",
+                            toLocalDateTime(message.getReceivedDate()),
+                            null);
+                    if (needsBody.test(mailboxMessage)) {
+                        mailboxMessage.setBodyText(bodyText(message));
+                    }
+                    messages.add(mailboxMessage);
+                }
+                return new FetchResult(uidValidity, afterUid, messages);
+            } finally {
+                folder.close(false);
+            }
+        }
+    }
+
+    private Properties sessionProperties(String host) {
+        String millis = String.valueOf(timeout.toMillis());
+        Properties properties = new Properties();
+        properties.put("mail." + PROTOCOL + ".connectiontimeout", millis);
+        properties.put("mail." + PROTOCOL + ".timeout", millis);
+        properties.put("mail." + PROTOCOL + ".writetimeout", millis);
+        // Only the headers needed for matching are fetched up front
+        properties.put("mail." + PROTOCOL + ".partialfetch", "true");
+        if (trustedHosts.contains(host)) {
+            // email-sync.ssl-trust: accepted without certificate checks, e.g. a self-signed test server
+            properties.put("mail." + PROTOCOL + ".ssl.trust", host);
+        } else {
+            properties.put("mail." + PROTOCOL + ".ssl.checkserveridentity", "true");
+        }
+        return properties;
+    }
+
+    private static long uid(UIDFolder folder, Message message) {
+        try {
+            return folder.getUID(message);
+        } catch (MessagingException e) {
+            return -1;
+        }
+    }
+
+    private static String sender(Message message) throws MessagingException {
+        Address[] from = message.getFrom();
+        if (from == null || from.length == 0) {
+            return "";
+        }
+        if (from[0] instanceof InternetAddress address) {
+            String personal = address.getPersonal();
+            return personal != null ? personal + " <" + address.getAddress() + ">" : address.getAddress();
+        }
+        return from[0].toString();
+    }
+
+    private static LocalDateTime toLocalDateTime(Date date) {
+        return date == null ? null : LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+    }
+
+    private static String bodyText(Part part) throws MessagingException, IOException {
+        String text = extractText(part);
+        if (text == null) {
+            return "";
+        }
+        return text.length() > MAX_BODY_CHARS ? text.substring(0, MAX_BODY_CHARS) : text;
+    }
+
+    private static String extractText(Part part) throws MessagingException, IOException {
+        if (part.isMimeType("text/plain")) {
+            return (String) part.getContent();
+        }
+        if (part.isMimeType("text/html")) {
+            return Jsoup.parse((String) part.getContent()).text();
+        }
+        if (part.isMimeType("multipart/*")) {
+            Multipart multipart = (Multipart) part.getContent();
+            String html = null;
+            for (int i = 0; i < multipart.getCount(); i++) {
+                Part child = multipart.getBodyPart(i);
+                if (child.isMimeType("text/plain")) {
+                    return (String) child.getContent();
+                }
+                if (html == null) {
+                    html = extractText(child);
+                }
+            }
+            return html;
+        }
+        return null;
+    }
+}
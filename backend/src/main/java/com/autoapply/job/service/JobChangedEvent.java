@@ -0,0 +1,14 @@
+package com.autoapply.job.service;
+
+import com.autoapply.job.dto.JobChangeEventDTO;
+import lombok.Value;
+
+/**
+ * Published by {@link JobService} inside the write transaction; delivered to
+ * {@link JobEventBroadcaster} only once the transaction has committed.
+ */
+@Value
+public class JobChangedEvent {
+    Long userId;
+    JobChangeEventDTO payload;
+}
@@ -0,0 +1,337 @@
+package com.autoapply.job.service;
+
+import com.autoapply.job.dto.JobChangeEventDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Pushes committed job changes to each user's open SSE connections.
+ *
+ * <p>Connections are async servlet requests, so an idle stream holds a socket but no thread.
+ * Per user, the most recent events are kept in a bounded replay buffer for a while after the
+ * last connection closes, so a client that reconnects with {@code Last-Event-ID} gets what it
+ * missed instead of reloading. Event ids are the user's job collection version. Channels
+ * are per instance; a client only hears about writes handled by the node it is connected to.
+ *
+ * <p>Events arrive from after-commit listeners, which can run out of version order when two
+ * of a user's transactions commit close together. The buffer is kept in version order, so
+ * replays are always ordered; an event that arrives after a newer one was already sent is
+ * not sent live (it could undo newer state on the client) but answered with a {@code resync}
+ * event, and clients that may have missed it are not offered a resume.
+ *
+ * <p>Writes to the streams run on {@code jobEventExecutor}, one task per channel at a time,
+ * so they keep the order they were queued in and never block the committing thread.
+ */
+@Component
+@Slf4j
+public class JobEventBroadcaster {
+    static final String CHANGE_EVENT = "change";
+    static final String READY_EVENT = "ready";
+    static final String RESYNC_EVENT = "resync";
+
+    private final JobVersionService jobVersionService;
+    private final TaskExecutor executor;
+    private final long emitterTimeoutMs;
+    private final int replaySize;
+    private final long replayTtlNanos;
+    private final int maxConnectionsPerUser;
+    private final Map<Long, Channel> channels = new ConcurrentHashMap<>();
+
+    public JobEventBroadcaster(
+            JobVersionService jobVersionService,
+            @Qualifier("jobEventExecutor") TaskExecutor executor,
+            @Value("${job-events.emitter-timeout:30m}") Duration emitterTimeout,
+            @Value("${job-events.replay-size:200}") int replaySize,
+            @Value("${job-events.replay-ttl:10m}") Duration replayTtl,
+            @Value("${job-events.max-connections-per-user:5}") int maxConnectionsPerUser) {
+        this.jobVersionService = jobVersionService;
+        this.executor = executor;
+        this.emitterTimeoutMs = emitterTimeout.toMillis();
+        this.replaySize = replaySize;
+        this.replayTtlNanos = replayTtl.toNanos();
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+    }
+
+    /**
+     * Opens a stream for the user. Missed events after {@code lastEventId} are replayed when
+     * they are still buffered; the stream then starts with a {@code ready} event whose
+     * {@code resumed} flag tells the client whether it has to reload its state.
+     */
+    public SseEmitter subscribe(Long userId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Channel channel = channels.compute(userId, (id, existing) -> {
+            Channel c = existing != null ? existing : new Channel();
+            c.touch();
+            return c;
+        });
+        // Read after the channel exists: any write this misses is already in the buffer
+        long currentVersion = jobVersionService.currentVersion(userId);
+
+        emitter.onCompletion(() -> channel.remove(emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> channel.remove(emitter));
+
+        channel.lock.lock();
+        try {
+            if (channel.floor < 0) {
+                channel.floor = currentVersion;
+            }
+            channel.add(emitter, maxConnectionsPerUser);
+
+            long headVersion = Math.max(currentVersion, channel.lastVersion());
+            boolean resumed = lastEventId != null && lastEventId >= channel.floor && lastEventId <= headVersion
+                    && !channel.mayHaveMissedLateEvent(lastEventId);
+            long replayAfter = resumed ? lastEventId : currentVersion;
+            // Events newer than the version read above are replayed even on a fresh start
+            List<JobChangeEventDTO> replay = List.copyOf(channel.buffer.tailMap(replayAfter, false).values());
+            channel.enqueue(() -> {
+                try {
+                    for (JobChangeEventDTO event : replay) {
+                        emitter.send(changeEvent(event));
+                    }
+                    emitter.send(SseEmitter.event()
+                            .id(String.valueOf(headVersion))
+                            .name(READY_EVENT)
+                            .data(Map.of("version", headVersion, "resumed", resumed), MediaType.APPLICATION_JSON));
+                } catch (IOException | IllegalStateException e) {
+                    channel.remove(emitter);
+                    emitter.completeWithError(e);
+                }
+            }, executor);
+        } finally {
+            channel.lock.unlock();
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onJobChanged(JobChangedEvent event) {
+        // Nobody has listened recently, so nobody can resume; skip buffering entirely
+        Channel channel = channels.get(event.getUserId());
+        if (channel == null) {
+            return;
+        }
+        JobChangeEventDTO payload = event.getPayload();
+        channel.lock.lock();
+        try {
+            long head = channel.lastVersion();
+            channel.append(payload, replaySize);
+            if (payload.getVersion() > head) {
+                channel.broadcast(() -> changeEvent(payload), executor);
+            } else {
+                log.debug("Job event {} for user {} arrived after {}; asking clients to resync",
+                        payload.getVersion(), event.getUserId(), head);
+                channel.markLate(payload.getVersion(), head);
+                channel.broadcast(() -> SseEmitter.event()
+                        .id(String.valueOf(head))
+                        .name(RESYNC_EVENT)
+                        .data(Map.of("version", head), MediaType.APPLICATION_JSON), executor);
+            }
+        } finally {
+            channel.lock.unlock();
+        }
+    }
+
+    /**
+     * Keeps idle streams open through proxies, detects dead connections, and drops replay
+     * buffers of users who have been disconnected longer than the replay TTL.
+     */
+    @Scheduled(fixedRateString = "${job-events.heartbeat-ms:20000}")
+    public void heartbeat() {
+        for (Channel channel : channels.values()) {
+            channel.lock.lock();
+            try {
+                if (!channel.emitters.isEmpty()) {
+                    channel.broadcast(() -> SseEmitter.event().comment("keepalive"), executor);
+                    channel.touch();
+                }
+            } finally {
+                channel.lock.unlock();
+            }
+        }
+        long now = System.nanoTime();
+        for (Long userId : channels.keySet()) {
+            channels.computeIfPresent(userId, (id, channel) -> {
+                channel.lock.lock();
+                try {
+                    boolean expired = channel.emitters.isEmpty() && now - channel.lastActivityNanos > replayTtlNanos;
+                    return expired ? null : channel;
+                } finally {
+                    channel.lock.unlock();
+                }
+            });
+        }
+    }
+
+    public int getOpenConnectionCount() {
+        return channels.values().stream().mapToInt(channel -> {
+            channel.lock.lock();
+            try {
+                return channel.emitters.size();
+            } finally {
+                channel.lock.unlock();
+            }
+        }).sum();
+    }
+
+    private static SseEmitter.SseEventBuilder changeEvent(JobChangeEventDTO event) {
+        return SseEmitter.event()
+                .id(String.valueOf(event.getVersion()))
+                .name(CHANGE_EVENT)
+                .data(event, MediaType.APPLICATION_JSON);
+    }
+
+    /**
+     * One user's open streams, replay buffer and queue of pending writes, guarded by
+     * {@code lock}. The writes themselves run outside the lock, one task at a time.
+     */
+    private static final class Channel {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final List<SseEmitter> emitters = new ArrayList<>();
+        /** By version, whatever order the events arrived in. */
+        private final NavigableMap<Long, JobChangeEventDTO> buffer = new TreeMap<>();
+        private final Deque<Runnable> pendingWrites = new ArrayDeque<>();
+        private boolean writing;
+        /** Versions up to and including this one may be missing from the buffer. */
+        private long floor = -1;
+        /** Highest version seen; never decreases, even when events arrive out of order. */
+        private long head;
+        /**
+         * Clients whose last event id falls in this range may have seen a newer event without
+         * an older one that arrived late, so they must reload rather than resume.
+         */
+        private long lateFrom = Long.MAX_VALUE;
+        private long lateTo = -1;
+        private volatile long lastActivityNanos;
+
+        void touch() {
+            lastActivityNanos = System.nanoTime();
+        }
+
+        long lastVersion() {
+            return head;
+        }
+
+        void markLate(long version, long headWhenArrived) {
+            lateFrom = Math.min(lateFrom, version);
+            lateTo = Math.max(lateTo, headWhenArrived);
+        }
+
+        boolean mayHaveMissedLateEvent(long lastEventId) {
+            return lastEventId >= lateFrom && lastEventId <= lateTo;
+        }
+
+        void add(SseEmitter emitter, int maxEmitters) {
+            emitters.add(emitter);
+            while (emitters.size() > maxEmitters) {
+                emitters.remove(0).complete();
+            }
+        }
+
+        void remove(SseEmitter emitter) {
+            lock.lock();
+            try {
+                emitters.remove(emitter);
+                touch();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void append(JobChangeEventDTO event, int maxSize) {
+            if (event.getVersion() > floor) {
+                buffer.put(event.getVersion(), event);
+            }
+            head = Math.max(head, event.getVersion());
+            while (buffer.size() > maxSize) {
+                floor = Math.max(floor, buffer.pollFirstEntry().getKey());
+            }
+            touch();
+        }
+
+        /**
+         * Queues a send to every stream open now. Event builders can only be built once,
+         * hence the supplier. Call with {@code lock} held.
+         */
+        void broadcast(Supplier<SseEmitter.SseEventBuilder> event, Executor executor) {
+            List<SseEmitter> recipients = List.copyOf(emitters);
+            if (recipients.isEmpty()) {
+                return;
+            }
+            enqueue(() -> {
+                for (SseEmitter emitter : recipients) {
+                    try {
+                        emitter.send(event.get());
+                    } catch (IOException | IllegalStateException e) {
+                        // Client went away; the container reports the error to the emitter callbacks
+                        remove(emitter);
+                        log.debug("Dropping job event stream: {}", e.getMessage());
+                    }
+                }
+            }, executor);
+        }
+
+        /**
+         * Queues a write behind the ones already pending, starting a writer task if none is
+         * running. Call with {@code lock} held.
+         */
+        void enqueue(Runnable write, Executor executor) {
+            pendingWrites.addLast(write);
+            if (writing) {
+                return;
+            }
+            writing = true;
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Shutting down: the streams are about to close anyway
+                writing = false;
+                pendingWrites.clear();
+                log.debug("Job event writes dropped: {}", e.getMessage());
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Runnable next;
+                lock.lock();
+                try {
+                    next = pendingWrites.pollFirst();
+                    if (next == null) {
+                        writing = false;
+                        return;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                try {
+                    next.run();
+                } catch (RuntimeException e) {
+                    log.warn("Job event write failed", e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.autoapply.job.service;
+
+import com.autoapply.job.dto.BulkImportResultDTO;
+import com.autoapply.job.dto.CreateJobRequest;
+import com.autoapply.job.entity.JobApplication;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Streams bulk uploads (JSON array or CSV) into chunked, batched inserts.
+ * Rows are parsed and validated one at a time; valid rows are written through
+ * {@link JobService#createJobs} one chunk per transaction, so a failing chunk
+ * doesn't undo earlier ones.
+ */
+@Service
+@Slf4j
+@Timed("autoapply.service")
+public class JobImportService {
+    private static final List<String> CSV_COLUMNS =
+            List.of("title", "company", "url", "description", "status", "sourcetype", "notes");
+
+    private final JobService jobService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int chunkSize;
+    private final int maxRows;
+
+    public JobImportService(
+            JobService jobService,
+            ObjectMapper objectMapper,
+            Validator validator,
+            @Value("${jobs.import.chunk-size:500}") int chunkSize,
+            @Value("${jobs.import.max-rows:50000}") int maxRows) {
+        this.jobService = jobService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+        this.maxRows = maxRows;
+    }
+
+    public BulkImportResultDTO importJson(Long userId, InputStream body) throws IOException {
+        ImportRun run = new ImportRun(userId);
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array of job applications");
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    run.abort("Unexpected end of JSON input");
+                    break;
+                }
+                int row = run.nextRow();
+                if (row < 0) {
+                    break;
+                }
+                try {
+                    run.accept(row, objectMapper.readValue(parser, CreateJobRequest.class));
+                } catch (JsonProcessingException e) {
+                    // The stream can't be resynchronised after malformed JSON, so stop here
+                    run.reject(row, "Malformed row: " + e.getOriginalMessage());
+                    break;
+                }
+            }
+        } catch (JsonProcessingException e) {
+            run.abort("Malformed JSON: " + e.getOriginalMessage());
+        }
+        return run.finish();
+    }
+
+    public BulkImportResultDTO importCsv(Long userId, InputStream body) throws IOException {
+        ImportRun run = new ImportRun(userId);
+        CsvRecordReader reader = new CsvRecordReader(
+                new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8)));
+
+        List<String> header = reader.next();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV input is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim().toLowerCase(Locale.ROOT);
+            if (CSV_COLUMNS.contains(name)) {
+                columns.put(name, i);
+            }
+        }
+        if (!columns.containsKey("title") || !columns.containsKey("company")) {
+            throw new IllegalArgumentException("CSV header must include 'title' and 'company' columns");
+        }
+
+        List<String> record;
+        while ((record = reader.next()) != null) {
+            if (record.stream().allMatch(String::isBlank)) {
+                continue;
+            }
+            int row = run.nextRow();
+            if (row < 0) {
+                break;
+            }
+            try {
+                run.accept(row, toRequest(record, columns));
+            } catch (IllegalArgumentException e) {
+                run.reject(row, e.getMessage());
+            }
+        }
+        return run.finish();
+    }
+
+    private CreateJobRequest toRequest(List<String> record, Map<String, Integer> columns) {
+        CreateJobRequest request = new CreateJobRequest();
+        request.setTitle(column(record, columns, "title"));
+        request.setCompany(column(record, columns, "company"));
+        request.setUrl(column(record, columns, "url"));
+        request.setDescription(column(record, columns, "description"));
+        request.setNotes(column(record, columns, "notes"));
+
+        String status = column(record, columns, "status");
+        if (status != null) {
+            request.setStatus(parseEnum(JobApplication.Status.class, status, "status"));
+        }
+        String sourceType = column(record, columns, "sourcetype");
+        if (sourceType != null) {
+            request.setSourceType(parseEnum(JobApplication.SourceType.class, sourceType, "sourceType"));
+        }
+        return request;
+    }
+
+    private static String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String field) {
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + value);
+        }
+    }
+
+    /**
+     * Accumulates validated rows into chunks and per-row results for one upload.
+     */
+    private class ImportRun {
+        private final Long userId;
+        private final List<BulkImportResultDTO.RowResult> results = new ArrayList<>();
+        private final List<CreateJobRequest> pending = new ArrayList<>();
+        private final List<Integer> pendingRows = new ArrayList<>();
+        private int rowCount;
+
+        ImportRun(Long userId) {
+            this.userId = userId;
+        }
+
+        /**
+         * @return the 1-based number of the next row, or -1 once the row limit is reached
+         */
+        int nextRow() {
+            if (rowCount >= maxRows) {
+                abort("Row limit of " + maxRows + " reached; remaining rows were not imported");
+                return -1;
+            }
+            return ++rowCount;
+        }
+
+        void accept(int row, CreateJobRequest request) {
+            Set<ConstraintViolation<CreateJobRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                reject(row, violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                return;
+            }
+            pending.add(request);
+            pendingRows.add(row);
+            if (pending.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void reject(int row, String error) {
+            results.add(BulkImportResultDTO.RowResult.builder()
+                    .row(row)
+                    .success(false)
+                    .error(error)
+                    .build());
+        }
+
+        void abort(String error) {
+            results.add(BulkImportResultDTO.RowResult.builder()
+                    .row(rowCount + 1)
+                    .success(false)
+                    .error(error)
+                    .build());
+        }
+
+        BulkImportResultDTO finish() {
+            flush();
+            results.sort((a, b) -> Integer.compare(a.getRow(), b.getRow()));
+            int created = (int) results.stream().filter(BulkImportResultDTO.RowResult::isSuccess).count();
+            return BulkImportResultDTO.builder()
+                    .total(rowCount)
+                    .created(created)
+                    .failed(results.size() - created)
+                    .rows(results)
+                    .build();
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            try {
+                List<Long> ids = jobService.createJobs(userId, pending);
+                for (int i = 0; i < ids.size(); i++) {
+                    results.add(BulkImportResultDTO.RowResult.builder()
+                            .row(pendingRows.get(i))
+                            .success(true)
+                            .id(ids.get(i))
+                            .build());
+                }
+            } catch (DataAccessException e) {
+                // The driver's message names tables and constraints; it stays in the log
+                log.warn("Bulk import chunk of {} rows failed for user {}", pending.size(), userId, e);
+                String error = "Could not be saved: " + saveFailureReason(e);
+                for (Integer row : pendingRows) {
+                    reject(row, error);
+                }
+            }
+            pending.clear();
+            pendingRows.clear();
+        }
+    }
+
+    /**
+     * A client-safe description of a failed insert, from the Postgres SQLSTATE. A failing
+     * statement rolls back its whole chunk, so the reason may come from another row of it.
+     */
+    static String saveFailureReason(DataAccessException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql && sql.getSQLState() != null) {
+                return switch (sql.getSQLState()) {
+                    case "22001" -> "a value in this batch of rows is longer than allowed";
+                    case "23502" -> "a required value is missing in this batch of rows";
+                    case "23505" -> "a row in this batch duplicates an existing job";
+                    case "23514" -> "a value in this batch of rows is not allowed";
+                    default -> "a row in this batch was rejected by the database";
+                };
+            }
+        }
+        return "a row in this batch was rejected by the database";
+    }
+}
@@ -0,0 +1,45 @@
+package com.autoapply.job.service;
+
+import com.autoapply.job.dto.JobApplicationDTO;
+import com.autoapply.job.dto.JobApplicationSummaryDTO;
+import com.autoapply.job.entity.JobApplication;
+
+/**
+ * Entity to DTO mapping for job applications.
+ */
+public final class JobMapper {
+
+    private JobMapper() {
+    }
+
+    public static JobApplicationDTO toDTO(JobApplication job) {
+        return JobApplicationDTO.builder()
+                .id(job.getId())
+                .userId(job.getUserId())
+                .url(job.getUrl())
+                .title(job.getTitle())
+                .company(job.getCompany())
+                .description(job.getDescription())
+                .status(job.getStatus())
+                .sourceType(job.getSourceType())
+                .appliedAt(job.getAppliedAt())
+                .notes(job.getNotes())
+                .createdAt(job.getCreatedAt())
+                .updatedAt(job.getUpdatedAt())
+                .build();
+    }
+
+    public static JobApplicationSummaryDTO toSummaryDTO(JobApplication job) {
+        return new JobApplicationSummaryDTO(
+                job.getId(),
+                job.getUserId(),
+                job.getUrl(),
+                job.getTitle(),
+                job.getCompany(),
+                job.getStatus(),
+                job.getSourceType(),
+                job.getAppliedAt(),
+                job.getCreatedAt(),
+                job.getUpdatedAt());
+    }
+}
@@ -0,0 +1,124 @@
+package com.autoapply.job.service;
+
+import com.autoapply.job.dto.JobApplicationSummaryDTO;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory index of one user's open applications, built once per sync run, used to
+ * match incoming mail to an application by company name and then job title.
+ */
+public class JobMatchIndex {
+    private static final Set<String> COMPANY_SUFFIXES = Set.of(
+            "inc", "llc", "ltd", "gmbh", "corp", "corporation", "co", "company", "plc", "ag", "sa", "bv");
+
+    /** Normalized company name -> that company's applications. */
+    private final Map<String, List<JobApplicationSummaryDTO>> byCompany = new HashMap<>();
+
+    public JobMatchIndex(List<JobApplicationSummaryDTO> jobs) {
+        for (JobApplicationSummaryDTO job : jobs) {
+            String key = normalizeCompany(job.getCompany());
+            if (!key.isEmpty()) {
+                byCompany.computeIfAbsent(key, k -> new ArrayList<>()).add(job);
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return byCompany.isEmpty();
+    }
+
+    /**
+     * Finds the application a message is about. The company must appear in the sender or
+     * subject (or body, when loaded); among several applications at the same company the
+     * one sharing most title words wins, ties going to the most recent.
+     */
+    public JobApplicationSummaryDTO match(MailboxMessage message) {
+        String envelope = normalizeText(message.getFrom() + " " + message.getSubject());
+        String body = message.getBodyText() != null ? normalizeText(message.getBodyText()) : "";
+
+        List<JobApplicationSummaryDTO> candidates = null;
+        int bestCompanyLength = 0;
+        for (Map.Entry<String, List<JobApplicationSummaryDTO>> entry : byCompany.entrySet()) {
+            String company = entry.getKey();
+            // Prefer the longest matching name ("acme robotics" over "acme")
+            if (company.length() > bestCompanyLength && (contains(envelope, company) || contains(body, company))) {
+                candidates = entry.getValue();
+                bestCompanyLength = company.length();
+            }
+        }
+        if (candidates == null) {
+            return null;
+        }
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+
+        String text = envelope + " " + body;
+        JobApplicationSummaryDTO best = null;
+        int bestScore = -1;
+        for (JobApplicationSummaryDTO job : candidates) {
+            int score = titleOverlap(job.getTitle(), text);
+            if (score > bestScore || (score == bestScore && isNewer(job, best))) {
+                best = job;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Whether the envelope alone names one of the indexed companies; used to decide
+     * which message bodies are worth downloading.
+     */
+    public boolean envelopeMentionsCompany(MailboxMessage message) {
+        String envelope = normalizeText(message.getFrom() + " " + message.getSubject());
+        for (String company : byCompany.keySet()) {
+            if (contains(envelope, company)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int titleOverlap(String title, String text) {
+        Set<String> words = new HashSet<>(List.of(normalizeText(title).split(" ")));
+        int score = 0;
+        for (String word : words) {
+            if (word.length() > 2 && contains(text, word)) {
+                score++;
+            }
+        }
+        return score;
+    }
+
+    private static boolean isNewer(JobApplicationSummaryDTO job, JobApplicationSummaryDTO other) {
+        return other == null || (job.getCreatedAt() != null && other.getCreatedAt() != null
+                && job.getCreatedAt().isAfter(other.getCreatedAt()));
+    }
+
+    private static boolean contains(String text, String phrase) {
+        return (" " + text + " ").contains(" " + phrase + " ");
+    }
+
+    static String normalizeCompany(String company) {
+        List<String> words = new ArrayList<>(List.of(normalizeText(company).split(" ")));
+        while (!words.isEmpty() && COMPANY_SUFFIXES.contains(words.get(words.size() - 1))) {
+            words.remove(words.size() - 1);
+        }
+        return String.join(" ", words).trim();
+    }
+
+    static String normalizeText(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+}
@@ -1,26 +1,95 @@
 package com.autoapply.job.service;
 
+import com.autoapply.common.outbox.OutboxWriter;
 import com.autoapply.job.dto.CreateJobRequest;
+import com.autoapply.job.dto.CursorPageDTO;
+import com.autoapply.job.dto.DashboardStatsDTO;
 import com.autoapply.job.dto.JobApplicationDTO;
+import com.autoapply.job.dto.JobApplicationSummaryDTO;
+import com.autoapply.job.dto.JobChangeDTO;
+import com.autoapply.job.dto.JobChangeEventDTO;
+import com.autoapply.job.dto.JobListFilter;
+import com.autoapply.job.dto.JobSearchResultDTO;
 import com.autoapply.job.dto.UpdateJobRequest;
 import com.autoapply.job.entity.JobApplication;
 import com.autoapply.job.repository.JobApplicationRepository;
+import com.autoapply.job.repository.JobCursor;
+import com.autoapply.job.repository.JobSearchCursor;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiPredicate;
 
 @Service
 @RequiredArgsConstructor
+@Timed("autoapply.service")
 public class JobService {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+    public static final int DEFAULT_SEARCH_PAGE_SIZE = 20;
+    public static final int MAX_SEARCH_PAGE_SIZE = 50;
+    private static final int MAX_SEARCH_QUERY_LENGTH = 256;
+
     private final JobApplicationRepository jobRepository;
+    private final JobStatsService jobStatsService;
+    private final JobVersionService jobVersionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxWriter outboxWriter;
 
     @Transactional
     public JobApplicationDTO createJob(Long userId, CreateJobRequest request) {
-        JobApplication job = JobApplication.builder()
+        long version = jobVersionService.bump(userId);
+        JobApplication saved = jobRepository.save(newJob(userId, request, version));
+        jobStatsService.recordCreated(userId, saved.getStatus());
+        publish(userId, version, List.of(JobChangeDTO.builder()
+                .type(JobChangeDTO.Type.CREATED)
+                .jobId(saved.getId())
+                .status(saved.getStatus())
+                .job(JobMapper.toSummaryDTO(saved))
+                .build()));
+        return JobMapper.toDTO(saved);
+    }
+
+    /**
+     * Creates a batch of already validated applications in one transaction. Inserts are
+     * sent as JDBC batches and the status counters are updated once per status.
+     *
+     * @return the generated ids, in request order
+     */
+    @Transactional
+    public List<Long> createJobs(Long userId, List<CreateJobRequest> requests) {
+        long version = jobVersionService.bump(userId);
+        List<JobApplication> jobs = new ArrayList<>(requests.size());
+        Map<JobApplication.Status, Long> statusDeltas = new EnumMap<>(JobApplication.Status.class);
+        for (CreateJobRequest request : requests) {
+            JobApplication job = newJob(userId, request, version);
+            jobs.add(job);
+            statusDeltas.merge(job.getStatus(), 1L, Long::sum);
+        }
+
+        List<JobApplication> saved = jobRepository.saveAll(jobs);
+        jobStatsService.recordDeltas(userId, statusDeltas);
+        publish(userId, version, List.of(JobChangeDTO.builder()
+                .type(JobChangeDTO.Type.BULK_CREATED)
+                .count(saved.size())
+                .build()));
+        return saved.stream().map(JobApplication::getId).toList();
+    }
+
+    private JobApplication newJob(Long userId, CreateJobRequest request, long version) {
+        return JobApplication.builder()
                 .userId(userId)
+                .changeSeq(version)
                 .title(request.getTitle())
                 .company(request.getCompany())
                 .url(request.getUrl())
@@ -30,30 +99,77 @@ public class JobService {
                         request.getSourceType() != null ? request.getSourceType() : JobApplication.SourceType.MANUAL)
                 .notes(request.getNotes())
                 .build();
+    }
 
-        JobApplication saved = jobRepository.save(job);
-        return toDTO(saved);
+    @Transactional(readOnly = true)
+    public CursorPageDTO<JobApplicationSummaryDTO> getUserJobs(
+            Long userId, JobListFilter filter, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        JobCursor after = cursor != null && !cursor.isBlank() ? JobCursor.decode(cursor) : null;
+
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        List<JobApplicationSummaryDTO> rows = jobRepository.findPage(userId, filter, after, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            JobApplicationSummaryDTO last = rows.get(rows.size() - 1);
+            nextCursor = new JobCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return CursorPageDTO.<JobApplicationSummaryDTO>builder()
+                .items(rows)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
     }
 
     @Transactional(readOnly = true)
-    public List<JobApplicationDTO> getUserJobs(Long userId) {
-        return jobRepository.findByUserIdOrderByCreatedAtDesc(userId)
-                .stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+    public CursorPageDTO<JobSearchResultDTO> searchJobs(Long userId, String query, String cursor, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query is required");
+        }
+        if (query.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Search query must be at most " + MAX_SEARCH_QUERY_LENGTH + " characters");
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_SEARCH_PAGE_SIZE));
+        JobSearchCursor after = cursor != null && !cursor.isBlank() ? JobSearchCursor.decode(cursor) : null;
+
+        List<JobSearchResultDTO> rows = jobRepository.search(userId, query.trim(), after, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            JobSearchResultDTO last = rows.get(rows.size() - 1);
+            nextCursor = new JobSearchCursor(last.getRank(), last.getId()).encode();
+        }
+
+        return CursorPageDTO.<JobSearchResultDTO>builder()
+                .items(rows)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
     }
 
     @Transactional(readOnly = true)
     public JobApplicationDTO getJobById(Long id, Long userId) {
         JobApplication job = jobRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new IllegalArgumentException("Job application not found"));
-        return toDTO(job);
+        return JobMapper.toDTO(job);
     }
 
     @Transactional
     public JobApplicationDTO updateJob(Long id, Long userId, UpdateJobRequest request) {
-        JobApplication job = jobRepository.findByIdAndUserId(id, userId)
+        long version = jobVersionService.bump(userId);
+        JobApplication job = jobRepository.findByIdAndUserIdForUpdate(id, userId)
                 .orElseThrow(() -> new IllegalArgumentException("Job application not found"));
+        JobApplication.Status previousStatus = job.getStatus();
 
         if (request.getTitle() != null)
             job.setTitle(request.getTitle());
@@ -67,73 +183,113 @@ public class JobService {
             job.setStatus(request.getStatus());
         if (request.getNotes() != null)
             job.setNotes(request.getNotes());
+        job.setChangeSeq(version);
 
-        JobApplication updated = jobRepository.save(job);
-        return toDTO(updated);
+        // Flush so the returned DTO carries the updatedAt set on update
+        JobApplication updated = jobRepository.saveAndFlush(job);
+        jobStatsService.recordStatusChange(userId, previousStatus, updated.getStatus());
+        boolean statusChanged = previousStatus != updated.getStatus();
+        if (statusChanged) {
+            outboxWriter.append(JobStatusChange.TYPE, userId,
+                    new JobStatusChange(updated.getId(), previousStatus, updated.getStatus(), version));
+        }
+        publish(userId, version, List.of(JobChangeDTO.builder()
+                .type(statusChanged ? JobChangeDTO.Type.STATUS_CHANGED : JobChangeDTO.Type.UPDATED)
+                .jobId(updated.getId())
+                .status(updated.getStatus())
+                .previousStatus(statusChanged ? previousStatus : null)
+                .job(JobMapper.toSummaryDTO(updated))
+                .build()));
+        return JobMapper.toDTO(updated);
     }
 
     @Transactional
     public void deleteJob(Long id, Long userId) {
-        if (!jobRepository.existsByIdAndUserId(id, userId)) {
-            throw new IllegalArgumentException("Job application not found");
+        long version = jobVersionService.bump(userId);
+        JobApplication job = jobRepository.findByIdAndUserIdForUpdate(id, userId)
+                .orElseThrow(() -> new IllegalArgumentException("Job application not found"));
+        // Keep a tombstone so delta sync clients learn about the delete; purged by JobSyncService
+        job.setDeletedAt(LocalDateTime.now());
+        job.setChangeSeq(version);
+        jobStatsService.recordDeleted(userId, job.getStatus());
+        publish(userId, version, List.of(JobChangeDTO.builder()
+                .type(JobChangeDTO.Type.DELETED)
+                .jobId(job.getId())
+                .status(job.getStatus())
+                .build()));
+    }
+
+    /**
+     * Applies a batch of status changes to one user's applications in a single transaction,
+     * e.g. from email sync. Ids that don't belong to the user are ignored, and each change is
+     * re-checked against {@code allowed} under the row lock so concurrent edits win.
+     *
+     * @return the number of applications whose status changed
+     */
+    @Transactional
+    public int applyStatusUpdates(Long userId, Map<Long, JobApplication.Status> updates,
+                                  BiPredicate<JobApplication.Status, JobApplication.Status> allowed) {
+        if (updates.isEmpty()) {
+            return 0;
+        }
+        // Bumped before the rows are locked, like every writer; a run that changes nothing leaves a gap
+        long version = jobVersionService.bump(userId);
+        Map<JobApplication.Status, Long> statusDeltas = new EnumMap<>(JobApplication.Status.class);
+        List<JobApplication> changed = new ArrayList<>();
+        Map<Long, JobApplication.Status> previousStatuses = new HashMap<>();
+        for (JobApplication job : jobRepository.findByUserIdAndIdInForUpdate(userId, updates.keySet())) {
+            JobApplication.Status next = updates.get(job.getId());
+            if (next == null || !allowed.test(job.getStatus(), next)) {
+                continue;
+            }
+            statusDeltas.merge(job.getStatus(), -1L, Long::sum);
+            statusDeltas.merge(next, 1L, Long::sum);
+            changed.add(job);
+            previousStatuses.put(job.getId(), job.getStatus());
+            job.setStatus(next);
+            job.setChangeSeq(version);
+        }
+        if (changed.isEmpty()) {
+            return 0;
+        }
+        jobStatsService.recordDeltas(userId, statusDeltas);
+        List<JobChangeDTO> changes = new ArrayList<>(changed.size());
+        List<JobStatusChange> statusChanges = new ArrayList<>(changed.size());
+        for (JobApplication job : changed) {
+            statusChanges.add(new JobStatusChange(job.getId(), previousStatuses.get(job.getId()), job.getStatus(), version));
+            changes.add(JobChangeDTO.builder()
+                    .type(JobChangeDTO.Type.STATUS_CHANGED)
+                    .jobId(job.getId())
+                    .status(job.getStatus())
+                    .previousStatus(previousStatuses.get(job.getId()))
+                    .job(JobMapper.toSummaryDTO(job))
+                    .build());
         }
-        jobRepository.deleteById(id);
+        outboxWriter.appendAll(JobStatusChange.TYPE, userId, statusChanges);
+        publish(userId, version, changes);
+        return changed.size();
     }
 
-    private JobApplicationDTO toDTO(JobApplication job) {
-        return JobApplicationDTO.builder()
-                .id(job.getId())
-                .userId(job.getUserId())
-                .url(job.getUrl())
-                .title(job.getTitle())
-                .company(job.getCompany())
-                .description(job.getDescription())
-                .status(job.getStatus())
-                .sourceType(job.getSourceType())
-                .appliedAt(job.getAppliedAt())
-                .notes(job.getNotes())
-                .createdAt(job.getCreatedAt())
-                .updatedAt(job.getUpdatedAt())
-                .build();
+    /**
+     * Version of the user's job collection; changes on every job write.
+     */
+    public long getCollectionVersion(Long userId) {
+        return jobVersionService.currentVersion(userId);
     }
 
+    /**
+     * Last modification time of one job, read without loading the job itself.
+     */
     @Transactional(readOnly = true)
-    public com.autoapply.job.dto.DashboardStatsDTO getDashboardStats(Long userId) {
-        List<Object[]> stats = jobRepository.countJobsByStatus(userId);
-
-        java.util.Map<String, Long> statusBreakdown = new java.util.HashMap<>();
-        long totalApplied = 0;
-        long totalInterviews = 0;
-        long totalOffers = 0;
-        long totalRejected = 0;
-
-        for (Object[] result : stats) {
-            JobApplication.Status status = (JobApplication.Status) result[0];
-            Long count = (Long) result[1];
-            statusBreakdown.put(status.name(), count);
-
-            // Aggregate high-level stats
-            if (status != JobApplication.Status.SAVED) {
-                totalApplied += count;
-            }
-            if (status == JobApplication.Status.INTERVIEW || status == JobApplication.Status.INTERVIEW_DONE
-                    || status == JobApplication.Status.SCREENING) {
-                totalInterviews += count;
-            }
-            if (status == JobApplication.Status.OFFER) {
-                totalOffers += count;
-            }
-            if (status == JobApplication.Status.REJECTED) {
-                totalRejected += count;
-            }
-        }
+    public Optional<LocalDateTime> getJobUpdatedAt(Long id, Long userId) {
+        return jobRepository.findUpdatedAtByIdAndUserId(id, userId);
+    }
 
-        return com.autoapply.job.dto.DashboardStatsDTO.builder()
-                .totalApplied(totalApplied)
-                .totalInterviews(totalInterviews)
-                .totalOffers(totalOffers)
-                .totalRejected(totalRejected)
-                .statusBreakdown(statusBreakdown)
-                .build();
+    public DashboardStatsDTO getDashboardStats(Long userId) {
+        return jobStatsService.getDashboardStats(userId);
+    }
+
+    private void publish(Long userId, long version, List<JobChangeDTO> changes) {
+        eventPublisher.publishEvent(new JobChangedEvent(userId, new JobChangeEventDTO(version, changes)));
     }
 }
@@ -0,0 +1,179 @@
+package com.autoapply.job.service;
+
+import com.autoapply.common.scheduling.JobLeases;
+import com.autoapply.job.dto.DashboardStatsDTO;
+import com.autoapply.job.entity.JobApplication;
+import com.autoapply.job.entity.JobStatusCounter;
+import com.autoapply.job.repository.JobStatusCounterRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-user job status counters backing the dashboard. Writers call the {@code record*}
+ * methods inside their own transaction, so counters commit or roll back with the job row.
+ * A periodic reconciliation recomputes counters from {@code job_applications} to repair drift.
+ * <p>
+ * Every path locks a user's counter rows in status name order (the byte order of
+ * {@code ORDER BY status COLLATE "C"} in {@link JobStatusCounterRepository#lockCounters}),
+ * so writers and the reconciliation cannot deadlock each other.
+ */
+@Service
+@Slf4j
+public class JobStatsService {
+    private static final Comparator<JobApplication.Status> LOCK_ORDER = Comparator.comparing(Enum::name);
+
+    private final JobStatusCounterRepository counterRepository;
+    private final JobVersionService jobVersionService;
+    private final JobLeases jobLeases;
+    private final TransactionTemplate transactionTemplate;
+    private final int reconcileBatchSize;
+
+    public JobStatsService(
+            JobStatusCounterRepository counterRepository,
+            JobVersionService jobVersionService,
+            JobLeases jobLeases,
+            PlatformTransactionManager transactionManager,
+            @Value("${jobs.stats.reconcile-batch-size:500}") int reconcileBatchSize) {
+        this.counterRepository = counterRepository;
+        this.jobVersionService = jobVersionService;
+        this.jobLeases = jobLeases;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reconcileBatchSize = reconcileBatchSize;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Long userId, JobApplication.Status status) {
+        counterRepository.increment(userId, status.name(), 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(Long userId, JobApplication.Status status) {
+        counterRepository.increment(userId, status.name(), -1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStatusChange(Long userId, JobApplication.Status from, JobApplication.Status to) {
+        if (from == to) {
+            return;
+        }
+        // Touch rows in lock order so concurrent opposite transitions can't deadlock
+        if (LOCK_ORDER.compare(from, to) < 0) {
+            counterRepository.increment(userId, from.name(), -1);
+            counterRepository.increment(userId, to.name(), 1);
+        } else {
+            counterRepository.increment(userId, to.name(), 1);
+            counterRepository.increment(userId, from.name(), -1);
+        }
+    }
+
+    /**
+     * Applies aggregated per-status deltas, e.g. from a batch of writes.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeltas(Long userId, Map<JobApplication.Status, Long> deltas) {
+        Map<JobApplication.Status, Long> inLockOrder = new TreeMap<>(LOCK_ORDER);
+        inLockOrder.putAll(deltas);
+        inLockOrder.forEach((status, delta) -> {
+            if (delta != 0) {
+                counterRepository.increment(userId, status.name(), delta);
+            }
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public DashboardStatsDTO getDashboardStats(Long userId) {
+        Map<JobApplication.Status, Long> counts = new EnumMap<>(JobApplication.Status.class);
+        for (JobStatusCounter counter : counterRepository.findByIdUserId(userId)) {
+            counts.put(counter.getId().getStatus(), counter.getJobCount());
+        }
+        return toDashboardStats(counts);
+    }
+
+    public static DashboardStatsDTO toDashboardStats(Map<JobApplication.Status, Long> counts) {
+        Map<String, Long> statusBreakdown = new HashMap<>();
+        long totalApplied = 0;
+        long totalInterviews = 0;
+        long totalOffers = 0;
+        long totalRejected = 0;
+
+        for (Map.Entry<JobApplication.Status, Long> entry : counts.entrySet()) {
+            JobApplication.Status status = entry.getKey();
+            long count = entry.getValue();
+            if (count <= 0) {
+                continue;
+            }
+            statusBreakdown.put(status.name(), count);
+
+            // Aggregate high-level stats
+            if (status != JobApplication.Status.SAVED) {
+                totalApplied += count;
+            }
+            if (status == JobApplication.Status.INTERVIEW || status == JobApplication.Status.INTERVIEW_DONE
+                    || status == JobApplication.Status.SCREENING) {
+                totalInterviews += count;
+            }
+            if (status == JobApplication.Status.OFFER) {
+                totalOffers += count;
+            }
+            if (status == JobApplication.Status.REJECTED) {
+                totalRejected += count;
+            }
+        }
+
+        return DashboardStatsDTO.builder()
+                .totalApplied(totalApplied)
+                .totalInterviews(totalInterviews)
+                .totalOffers(totalOffers)
+                .totalRejected(totalRejected)
+                .statusBreakdown(statusBreakdown)
+                .build();
+    }
+
+    /**
+     * Recomputes counters from the job rows, one batch of users per transaction.
+     * Each batch locks its users' counter rows first so in-flight job writes are either
+     * fully visible to the recount or wait for it to finish. Runs on one node per schedule.
+     */
+    @Scheduled(cron = "${jobs.stats.reconcile-cron:0 17 3 * * *}")
+    public void reconcile() {
+        jobLeases.runExclusively("job-stats-reconcile", this::reconcileCounters);
+    }
+
+    private void reconcileCounters() {
+        log.info("Starting job status counter reconciliation...");
+        long afterId = 0;
+        int repaired = 0;
+        while (true) {
+            List<Long> userIds = counterRepository.findUserIdsAfter(afterId, reconcileBatchSize);
+            if (userIds.isEmpty()) {
+                break;
+            }
+            Integer batchRepaired = transactionTemplate.execute(tx -> {
+                counterRepository.lockCounters(userIds);
+                return counterRepository.recomputeCounters(userIds)
+                        + counterRepository.deleteOrphanedCounters(userIds);
+            });
+            if (batchRepaired != null && batchRepaired > 0) {
+                // Repaired stats must not be hidden behind a cached ETag. Separate transaction:
+                // writers lock the version row before counters, so holding both here could deadlock
+                transactionTemplate.executeWithoutResult(tx -> jobVersionService.bumpAll(userIds));
+            }
+            repaired += batchRepaired != null ? batchRepaired : 0;
+            afterId = userIds.get(userIds.size() - 1);
+        }
+        log.info("Job status counter reconciliation completed, {} counter rows repaired.", repaired);
+    }
+}
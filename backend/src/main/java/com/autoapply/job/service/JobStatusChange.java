@@ -0,0 +1,14 @@
+package com.autoapply.job.service;
+
+import com.autoapply.job.entity.JobApplication;
+
+/**
+ * Outbox payload written by {@link JobService} whenever an application's status changes,
+ * whether by the user or by email sync.
+ *
+ * @param version the user's job collection version of the write
+ */
+public record JobStatusChange(Long jobId, JobApplication.Status previousStatus, JobApplication.Status status,
+                              long version) {
+    public static final String TYPE = "job.status-changed";
+}
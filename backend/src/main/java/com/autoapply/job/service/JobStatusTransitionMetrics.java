@@ -0,0 +1,42 @@
+package com.autoapply.job.service;
+
+import com.autoapply.common.outbox.OutboxEvent;
+import com.autoapply.common.outbox.OutboxSubscriber;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Counts status transitions ({@code jobs.status.transitions}, by {@code from} and {@code to})
+ * from the outbox, so the write path pays nothing for it. Redeliveries can count a
+ * transition twice; the counter is a funnel trend, not an audit.
+ */
+@Component
+public class JobStatusTransitionMetrics implements OutboxSubscriber {
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public JobStatusTransitionMetrics(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Set<String> eventTypes() {
+        return Set.of(JobStatusChange.TYPE);
+    }
+
+    @Override
+    public void handle(OutboxEvent event) throws Exception {
+        JobStatusChange change = objectMapper.treeToValue(event.payload(), JobStatusChange.class);
+        Counter.builder("jobs.status.transitions")
+                .description("Job application status changes")
+                .tag("from", String.valueOf(change.previousStatus()))
+                .tag("to", String.valueOf(change.status()))
+                .register(meterRegistry)
+                .increment();
+    }
+}
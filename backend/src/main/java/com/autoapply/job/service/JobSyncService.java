@@ -0,0 +1,142 @@
+package com.autoapply.job.service;
+
+import com.autoapply.common.datasource.ReadFromPrimary;
+import com.autoapply.common.scheduling.JobLeases;
+import com.autoapply.job.dto.JobApplicationSummaryDTO;
+import com.autoapply.job.dto.JobChangesDTO;
+import com.autoapply.job.entity.UserJobVersion;
+import com.autoapply.job.repository.JobApplicationRepository;
+import com.autoapply.job.repository.JobSyncRow;
+import com.autoapply.job.repository.JobSyncToken;
+import com.autoapply.job.repository.UserJobVersionRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Delta sync for clients that keep a local copy of their jobs. Every job row carries the
+ * collection version of its last write ({@code change_seq}) and deletes leave tombstones, so
+ * "what changed since token X" is an index range scan. Tombstones are purged after a
+ * retention period; tokens older than the purge horizon are told to resync.
+ */
+@Service
+@Slf4j
+@Timed("autoapply.service")
+public class JobSyncService {
+    public static final int DEFAULT_PAGE_SIZE = 500;
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private final JobApplicationRepository jobRepository;
+    private final UserJobVersionRepository versionRepository;
+    private final JobLeases jobLeases;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration tombstoneRetention;
+    private final int purgeBatchSize;
+
+    public JobSyncService(
+            JobApplicationRepository jobRepository,
+            UserJobVersionRepository versionRepository,
+            JobLeases jobLeases,
+            PlatformTransactionManager transactionManager,
+            @Value("${jobs.sync.tombstone-retention:30d}") Duration tombstoneRetention,
+            @Value("${jobs.sync.purge-batch-size:1000}") int purgeBatchSize) {
+        this.jobRepository = jobRepository;
+        this.versionRepository = versionRepository;
+        this.jobLeases = jobLeases;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tombstoneRetention = tombstoneRetention;
+        this.purgeBatchSize = purgeBatchSize;
+    }
+
+    /**
+     * On the primary: a token from an SSE event can be ahead of a lagging replica, and would
+     * look like a bad token there.
+     */
+    @Transactional(readOnly = true)
+    @ReadFromPrimary
+    public JobChangesDTO getChanges(Long userId, String since, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        JobSyncToken token = since != null && !since.isBlank() ? JobSyncToken.decode(since) : JobSyncToken.INITIAL;
+
+        // Read the version first: rows committed after it are simply picked up again next time
+        Optional<UserJobVersion> state = versionRepository.findById(userId);
+        long currentVersion = state.map(UserJobVersion::getVersion).orElse(0L);
+        long purgedThrough = state.map(UserJobVersion::getPurgedThrough).orElse(0L);
+
+        boolean initial = token.getChangeSeq() == 0;
+        if (!initial && (token.getChangeSeq() < purgedThrough || token.getChangeSeq() > currentVersion)) {
+            return JobChangesDTO.builder()
+                    .upserts(List.of())
+                    .deletedIds(List.of())
+                    .resyncRequired(true)
+                    .build();
+        }
+
+        // A client starting from scratch has nothing to delete
+        List<JobSyncRow> rows = jobRepository.findChangesSince(userId, token, !initial, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+
+        List<JobApplicationSummaryDTO> upserts = new ArrayList<>();
+        List<Long> deletedIds = new ArrayList<>();
+        for (JobSyncRow row : rows) {
+            if (row.isDeleted()) {
+                deletedIds.add(row.getJob().getId());
+            } else {
+                upserts.add(row.getJob());
+            }
+        }
+
+        JobSyncToken next;
+        if (hasMore) {
+            JobSyncRow last = rows.get(rows.size() - 1);
+            next = new JobSyncToken(last.getChangeSeq(), last.getJob().getId());
+        } else {
+            long lastSeq = rows.isEmpty() ? token.getChangeSeq() : rows.get(rows.size() - 1).getChangeSeq();
+            next = new JobSyncToken(Math.max(currentVersion, lastSeq), null);
+        }
+
+        return JobChangesDTO.builder()
+                .upserts(upserts)
+                .deletedIds(deletedIds)
+                .syncToken(next.encode())
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Hard-deletes tombstones past the retention period in small batches, so no run holds
+     * locks on many rows at once. Runs on one node per schedule.
+     */
+    @Scheduled(cron = "${jobs.sync.purge-cron:0 47 3 * * *}")
+    public void purgeTombstones() {
+        jobLeases.runExclusively("job-tombstone-purge", this::purgeExpiredTombstones);
+    }
+
+    private void purgeExpiredTombstones() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(tombstoneRetention);
+        long purged = 0;
+        while (true) {
+            Long batch = transactionTemplate.execute(tx -> jobRepository.purgeTombstones(cutoff, purgeBatchSize));
+            long count = batch != null ? batch : 0;
+            purged += count;
+            if (count < purgeBatchSize) {
+                break;
+            }
+        }
+        log.info("Purged {} job tombstones deleted before {}.", purged, cutoff);
+    }
+}
@@ -0,0 +1,42 @@
+package com.autoapply.job.service;
+
+import com.autoapply.job.repository.UserJobVersionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Tracks a per-user version of the job collection that changes whenever any of the
+ * user's jobs (or the derived dashboard counters) change. Job writers call {@link #bump}
+ * before touching any job or counter row: the locked version row then serializes a user's
+ * writes, so versions commit in order and can double as the rows' {@code change_seq}.
+ */
+@Service
+@RequiredArgsConstructor
+public class JobVersionService {
+    private final UserJobVersionRepository versionRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long bump(Long userId) {
+        return versionRepository.bump(userId);
+    }
+
+    /**
+     * Bulk bump for maintenance jobs. Call in a transaction that holds no job or counter
+     * locks, to keep the version-first lock order of writers.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bumpAll(List<Long> userIds) {
+        if (!userIds.isEmpty()) {
+            versionRepository.bumpAll(userIds);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long currentVersion(Long userId) {
+        return versionRepository.findVersion(userId).orElse(0L);
+    }
+}
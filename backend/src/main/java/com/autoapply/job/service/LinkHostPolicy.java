@@ -0,0 +1,18 @@
+package com.autoapply.job.service;
+
+import com.autoapply.common.net.PublicHostPolicy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Public hosts only for job links, checked on every hop of a fetch: parsed results are
+ * cached for every user, so a fetch of an internal address would leak it to all of them.
+ * {@code link-parser.allow-private-hosts=true} lifts the check.
+ */
+@Component
+public class LinkHostPolicy extends PublicHostPolicy {
+
+    public LinkHostPolicy(@Value("${link-parser.allow-private-hosts:false}") boolean allowPrivateHosts) {
+        super("Job link host", allowPrivateHosts);
+    }
+}
@@ -0,0 +1,29 @@
+package com.autoapply.job.service;
+
+import lombok.Getter;
+
+/**
+ * Raised when a job link can't be fetched or parsed. The reason decides the HTTP status
+ * reported to the client.
+ */
+@Getter
+public class LinkParseException extends RuntimeException {
+    private final Reason reason;
+
+    public LinkParseException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public LinkParseException(Reason reason, String message, Throwable cause) {
+        super(message, cause);
+        this.reason = reason;
+    }
+
+    public enum Reason {
+        INVALID_URL,
+        BUSY,
+        TIMEOUT,
+        FETCH_FAILED
+    }
+}
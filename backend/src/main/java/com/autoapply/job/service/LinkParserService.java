@@ -1,61 +1,279 @@
 package com.autoapply.job.service;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import com.autoapply.job.extractor.JobPostingExtractorRegistry;
+import com.autoapply.job.extractor.ParsedJobPosting;
+import org.jsoup.Connection;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Service;
 import lombok.extern.slf4j.Slf4j;
 import com.autoapply.job.dto.JobApplicationDTO;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Fetches and parses job postings off the request thread. Fetches run on the bounded
+ * {@code linkParserExecutor}, are capped per host, and are limited in time and body size.
+ * Only public hosts are fetched ({@link LinkHostPolicy}); redirects are followed by hand so
+ * every hop is checked before it is connected to.
+ * Results are cached by canonical URL; concurrent requests for the same posting share
+ * one in-flight fetch. Each outbound fetch is timed as {@code link.parser.fetch}, tagged by
+ * host and outcome.
+ */
 @Service
 @Slf4j
+@Timed("autoapply.service")
 public class LinkParserService {
+    private static final String USER_AGENT =
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.124 Safari/537.36";
 
-    public JobApplicationDTO parseJobLink(String url) {
-        log.info("Parsing data from URL: {}", url);
-        JobApplicationDTO jobDto = new JobApplicationDTO();
-        jobDto.setUrl(url);
+    public static final String FETCH_TIMER = "link.parser.fetch";
+    private static final int MAX_REDIRECTS = 5;
+
+    private final TaskExecutor executor;
+    private final HostConcurrencyLimiter hostLimiter;
+    private final LinkHostPolicy hostPolicy;
+    private final MeterRegistry meterRegistry;
+    private final JobPostingExtractorRegistry extractorRegistry;
+    private final Duration fetchTimeout;
+    private final int maxBodySize;
+
+    /** Parsed results by canonical URL. Failed fetches are never cached. */
+    private final AsyncCache<String, JobApplicationDTO> parsedLinks;
 
+    public LinkParserService(
+            @Qualifier("linkParserExecutor") TaskExecutor executor,
+            HostConcurrencyLimiter hostLimiter,
+            LinkHostPolicy hostPolicy,
+            JobPostingExtractorRegistry extractorRegistry,
+            MeterRegistry meterRegistry,
+            @Value("${link-parser.fetch-timeout:10s}") Duration fetchTimeout,
+            @Value("${link-parser.max-body-size:2097152}") int maxBodySize,
+            @Value("${link-parser.cache.max-size:5000}") long cacheMaxSize,
+            @Value("${link-parser.cache.ttl:6h}") Duration cacheTtl) {
+        this.executor = executor;
+        this.hostLimiter = hostLimiter;
+        this.hostPolicy = hostPolicy;
+        this.meterRegistry = meterRegistry;
+        this.extractorRegistry = extractorRegistry;
+        this.fetchTimeout = fetchTimeout;
+        this.maxBodySize = maxBodySize;
+        this.parsedLinks = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .recordStats()
+                .buildAsync();
+        // Hit/miss/eviction counts as cache.* meters tagged cache=linkParser
+        CaffeineCacheMetrics.monitor(meterRegistry, parsedLinks.synchronous(), "linkParser");
+    }
+
+    public CompletableFuture<JobApplicationDTO> parseJobLinkAsync(String rawUrl) {
+        URI uri;
         try {
-            Document doc = Jsoup.connect(url)
-                    .userAgent(
-                            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.124 Safari/537.36")
-                    .get();
+            uri = validate(rawUrl);
+        } catch (LinkParseException e) {
+            return CompletableFuture.failedFuture(e);
+        }
 
-            // Basic extraction heuristics
-            String title = doc.title();
-            // TODO: Add more specific selectors for LinkedIn, Indeed, etc.
+        String canonicalUrl = UrlCanonicalizer.canonicalize(uri);
+        return parsedLinks.get(canonicalUrl, (key, cacheExecutor) -> fetch(uri, key))
+                .thenApply(LinkParserService::copyOf);
+    }
 
-            jobDto.setTitle(title);
-            // Description might be the body text or specific meta tags
-            String description = doc.select("meta[name=description]").attr("content");
-            if (description.isEmpty()) {
-                description = doc.body().text().substring(0, Math.min(doc.body().text().length(), 500)) + "...";
-            }
-            jobDto.setDescription(description);
-
-            // Company name is hard to guess generically without specific selectors
-            // Often in title "Role | Company"
-            if (title.contains("|")) {
-                String[] parts = title.split("\\|");
-                if (parts.length > 1) {
-                    jobDto.setCompany(parts[1].trim());
-                    jobDto.setTitle(parts[0].trim());
-                }
-            } else if (title.contains(" at ")) {
-                String[] parts = title.split(" at ");
-                if (parts.length > 1) {
-                    jobDto.setCompany(parts[1].trim());
-                    jobDto.setTitle(parts[0].trim());
-                }
-            }
+    private CompletableFuture<JobApplicationDTO> fetch(URI uri, String canonicalUrl) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                JobApplicationDTO parsed = parseJobLink(uri);
+                parsed.setUrl(canonicalUrl);
+                return parsed;
+            }, executor);
+        } catch (TaskRejectedException e) {
+            return CompletableFuture.failedFuture(
+                    new LinkParseException(LinkParseException.Reason.BUSY, "Link parser is busy, try again shortly", e));
+        }
+    }
 
+    /**
+     * Callers get their own copy so mutations never leak into the shared cached value.
+     */
+    private static JobApplicationDTO copyOf(JobApplicationDTO parsed) {
+        JobApplicationDTO copy = new JobApplicationDTO();
+        copy.setUrl(parsed.getUrl());
+        copy.setTitle(parsed.getTitle());
+        copy.setCompany(parsed.getCompany());
+        copy.setDescription(parsed.getDescription());
+        return copy;
+    }
+
+    private JobApplicationDTO parseJobLink(URI uri) {
+        String url = uri.toString();
+        Semaphore permit;
+        try {
+            permit = hostLimiter.tryAcquire(uri.getHost());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LinkParseException(LinkParseException.Reason.BUSY, "Interrupted while waiting to fetch link", e);
+        }
+        if (permit == null) {
+            throw new LinkParseException(LinkParseException.Reason.BUSY,
+                    "Too many concurrent fetches for " + uri.getHost() + ", try again shortly");
+        }
+
+        // Times the connection and the body read, which ends only once the last byte is in;
+        // waiting for the permit and extraction are excluded
+        Timer.Sample fetch = null;
+        String outcome = "error";
+        try {
+            log.info("Parsing data from URL: {}", url);
+            fetch = Timer.start(meterRegistry);
+            Connection.Response response = execute(uri);
+            String html = null;
+            Document document = null;
+            if (response.charset() != null) {
+                // Charset from Content-Type: decode as declared, and the registry decides
+                // whether a DOM is needed at all
+                html = body(response);
+            } else {
+                // Undeclared: jsoup detects it from a byte-order mark or <meta charset>, which
+                // body() would ignore and decode as UTF-8. Reads at most maxBodySize, as body()
+                // does, and parses while it reads, so parsing is timed too
+                document = response.parse();
+            }
+            recordFetch(fetch, uri.getHost(), "success");
+            fetch = null;
+            ParsedJobPosting posting = html != null
+                    ? extractorRegistry.extract(html, url, uri.getHost())
+                    : extractorRegistry.extract(document, uri.getHost());
+            return toDTO(posting, url);
+        } catch (SocketTimeoutException e) {
+            outcome = "timeout";
+            log.warn("Timed out fetching URL: {}", url);
+            throw new LinkParseException(LinkParseException.Reason.TIMEOUT, "Timed out fetching job link", e);
         } catch (IOException e) {
             log.error("Error parsing URL: {}", url, e);
-            throw new RuntimeException("Failed to parse job link", e);
+            throw new LinkParseException(LinkParseException.Reason.FETCH_FAILED, "Failed to parse job link", e);
+        } finally {
+            if (fetch != null) {
+                recordFetch(fetch, uri.getHost(), outcome);
+            }
+            permit.release();
+        }
+    }
+
+    /**
+     * Requests {@code uri}, following up to {@value #MAX_REDIRECTS} redirects. Each hop's host
+     * must pass the {@link LinkHostPolicy}, and all hops share one fetch timeout. jsoup applies
+     * the timeout to connecting and to reading the whole body; bodies beyond maxBodySize are
+     * truncated rather than buffered.
+     */
+    private Connection.Response execute(URI uri) throws IOException {
+        long deadline = System.nanoTime() + fetchTimeout.toNanos();
+        URI target = uri;
+        for (int redirects = 0; ; redirects++) {
+            requirePublic(target.getHost());
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remainingMillis <= 0) {
+                throw new SocketTimeoutException("Fetch timeout reached while following redirects");
+            }
+            Connection.Response response = Jsoup.connect(target.toString())
+                    .userAgent(USER_AGENT)
+                    .timeout((int) remainingMillis)
+                    .maxBodySize(maxBodySize)
+                    .followRedirects(false)
+                    .execute();
+            String location = response.header("Location");
+            if (response.statusCode() < 300 || response.statusCode() >= 400 || location == null) {
+                return response;
+            }
+            if (redirects == MAX_REDIRECTS) {
+                throw new LinkParseException(LinkParseException.Reason.FETCH_FAILED, "Job link redirected too many times");
+            }
+            target = redirectTarget(target, location);
+        }
+    }
+
+    private void requirePublic(String host) {
+        try {
+            hostPolicy.requirePublic(host);
+        } catch (IllegalArgumentException e) {
+            throw new LinkParseException(LinkParseException.Reason.INVALID_URL, e.getMessage(), e);
+        }
+    }
+
+    private static URI redirectTarget(URI from, String location) {
+        try {
+            URI target = from.resolve(new URI(location.trim()));
+            String scheme = target.getScheme() == null ? "" : target.getScheme().toLowerCase(Locale.ROOT);
+            if ((scheme.equals("http") || scheme.equals("https")) && target.getHost() != null) {
+                return target;
+            }
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            // Reported below
+        }
+        throw new LinkParseException(LinkParseException.Reason.FETCH_FAILED,
+                "Job link redirected to an unsupported location");
+    }
+
+    /** body() reads lazily and wraps read failures, including timeouts, as unchecked. */
+    private static String body(Connection.Response response) throws IOException {
+        try {
+            return response.body();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
+    }
 
+    private void recordFetch(Timer.Sample sample, String host, String outcome) {
+        sample.stop(Timer.builder(FETCH_TIMER)
+                .description("Outbound job link fetches")
+                .tag("host", host.toLowerCase(Locale.ROOT))
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
+    private JobApplicationDTO toDTO(ParsedJobPosting posting, String url) {
+        JobApplicationDTO jobDto = new JobApplicationDTO();
+        jobDto.setUrl(url);
+        jobDto.setTitle(posting.getTitle());
+        jobDto.setCompany(posting.getCompany());
+        jobDto.setDescription(posting.getDescription());
         return jobDto;
     }
+
+    private static URI validate(String rawUrl) {
+        String url = rawUrl == null ? "" : rawUrl.trim();
+        // Tolerate a JSON-encoded string body
+        if (url.length() >= 2 && url.startsWith("\"") && url.endsWith("\"")) {
+            url = url.substring(1, url.length() - 1).trim();
+        }
+        try {
+            URI uri = new URI(url);
+            String scheme = uri.getScheme() == null ? "" : uri.getScheme().toLowerCase(Locale.ROOT);
+            if (!(scheme.equals("http") || scheme.equals("https")) || uri.getHost() == null) {
+                throw new LinkParseException(LinkParseException.Reason.INVALID_URL, "Only http(s) job links can be parsed");
+            }
+            return uri;
+        } catch (URISyntaxException e) {
+            throw new LinkParseException(LinkParseException.Reason.INVALID_URL, "Invalid job link", e);
+        }
+    }
 }
@@ -0,0 +1,20 @@
+package com.autoapply.job.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * A message fetched during email sync. {@code bodyText} is only loaded for messages
+ * whose envelope matched one of the user's applications.
+ */
+@Data
+@AllArgsConstructor
+public class MailboxMessage {
+    private long uid;
+    private String from;
+    private String subject;
+    private LocalDateTime receivedAt;
+    private String bodyText;
+}
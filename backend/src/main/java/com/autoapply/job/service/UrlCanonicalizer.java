@@ -0,0 +1,77 @@
+package com.autoapply.job.service;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Normalizes job links so the same posting shared with different tracking
+ * parameters maps to one cache key: lowercases scheme and host, drops default
+ * ports, fragments, tracking query parameters and trailing slashes, and sorts
+ * the remaining query parameters.
+ */
+public final class UrlCanonicalizer {
+    private static final Set<String> TRACKING_PARAMS = Set.of(
+            "gclid", "fbclid", "msclkid", "dclid", "igshid", "mc_cid", "mc_eid", "_hsenc", "_hsmi",
+            "trk", "trkinfo", "trackingid", "refid", "ref", "referer", "referrer");
+
+    private UrlCanonicalizer() {
+    }
+
+    public static String canonicalize(URI uri) {
+        String scheme = uri.getScheme().toLowerCase(Locale.ROOT);
+        String host = uri.getHost().toLowerCase(Locale.ROOT);
+        int port = uri.getPort();
+        if ((scheme.equals("http") && port == 80) || (scheme.equals("https") && port == 443)) {
+            port = -1;
+        }
+
+        String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+        if (path.length() > 1 && path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+
+        String query = canonicalQuery(uri.getRawQuery());
+
+        StringBuilder sb = new StringBuilder(scheme).append("://").append(host);
+        if (port != -1) {
+            sb.append(':').append(port);
+        }
+        sb.append(path);
+        if (!query.isEmpty()) {
+            sb.append('?').append(query);
+        }
+        return sb.toString();
+    }
+
+    public static String canonicalize(String url) {
+        try {
+            return canonicalize(new URI(url));
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Invalid URL: " + url, e);
+        }
+    }
+
+    private static String canonicalQuery(String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return "";
+        }
+        List<String> kept = new ArrayList<>();
+        for (String pair : rawQuery.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int eq = pair.indexOf('=');
+            String name = (eq < 0 ? pair : pair.substring(0, eq)).toLowerCase(Locale.ROOT);
+            if (name.startsWith("utm_") || TRACKING_PARAMS.contains(name)) {
+                continue;
+            }
+            kept.add(pair);
+        }
+        kept.sort(null);
+        return String.join("&", kept);
+    }
+}
@@ -0,0 +1,28 @@
+package com.autoapply.mail.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * SMTP connection pool of the mail dispatcher: each worker holds one connection while it
+ * sends a batch. Platform threads for the same reason as email sync: Jakarta Mail does its
+ * socket I/O inside synchronized blocks, which would pin virtual threads' carriers.
+ */
+@Configuration
+public class MailDispatcherConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor mailDispatchExecutor(@Value("${mail.dispatcher.connections:2}") int connections) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(connections);
+        executor.setMaxPoolSize(connections);
+        // The dispatcher never has more batches in flight than it waits for
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("mail-dispatch-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
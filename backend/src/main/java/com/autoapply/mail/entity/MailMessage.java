@@ -0,0 +1,74 @@
+package com.autoapply.mail.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A queued outbound email. Rows exist until the SMTP server accepts the message, or stay
+ * as {@link Status#FAILED} (body cleared) when it cannot be delivered.
+ */
+@Entity
+@Table(name = "mail_messages")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MailMessage {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String body;
+
+    /** What the mail is for, e.g. {@code password-reset}; used in metrics and logs. */
+    @Column(nullable = false)
+    private String category;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private Status status = Status.PENDING;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "available_at", nullable = false)
+    private Instant availableAt;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = Instant.now();
+        if (availableAt == null) {
+            availableAt = createdAt;
+        }
+    }
+
+    /** Domain part of the recipient, lower-cased; rate limits apply per domain. */
+    public String recipientDomain() {
+        int at = recipient.lastIndexOf('@');
+        return recipient.substring(at + 1).toLowerCase();
+    }
+
+    public enum Status {
+        PENDING,
+        FAILED
+    }
+}
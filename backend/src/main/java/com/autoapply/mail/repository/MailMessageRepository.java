@@ -0,0 +1,53 @@
+package com.autoapply.mail.repository;
+
+import com.autoapply.mail.entity.MailMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface MailMessageRepository extends JpaRepository<MailMessage, Long> {
+
+    /**
+     * Claims up to {@code limit} due messages for this dispatcher: they count an attempt and
+     * become invisible to other dispatchers for {@code claimSeconds}, after which a message
+     * whose dispatcher died is picked up again. Call in a read-write transaction.
+     */
+    @Query(value = """
+            UPDATE mail_messages
+            SET available_at = now() + :claimSeconds * interval '1 second', attempts = attempts + 1
+            WHERE id IN (
+                SELECT id FROM mail_messages
+                WHERE status = 'PENDING' AND available_at <= now()
+                ORDER BY id
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED)
+            RETURNING *
+            """, nativeQuery = true)
+    List<MailMessage> claim(double claimSeconds, int limit);
+
+    @Modifying
+    @Query("DELETE FROM MailMessage m WHERE m.id IN :ids")
+    int deleteSent(Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "UPDATE mail_messages SET available_at = now() + :delaySeconds * interval '1 second', "
+            + "last_error = :error WHERE id = :id", nativeQuery = true)
+    int retryLater(Long id, double delaySeconds, String error);
+
+    /** Puts claimed messages back without counting the attempt, e.g. when a rate limit is reached. */
+    @Modifying
+    @Query(value = "UPDATE mail_messages SET available_at = now() + :delaySeconds * interval '1 second', "
+            + "attempts = attempts - 1 WHERE id IN (:ids)", nativeQuery = true)
+    int defer(Collection<Long> ids, double delaySeconds);
+
+    /** Bodies can hold credentials such as reset links, so they are not kept. */
+    @Modifying
+    @Query(value = "UPDATE mail_messages SET status = 'FAILED', body = '', last_error = :error WHERE id = :id",
+            nativeQuery = true)
+    int markFailed(Long id, String error);
+}
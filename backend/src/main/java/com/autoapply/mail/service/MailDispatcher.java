@@ -0,0 +1,288 @@
+package com.autoapply.mail.service;
+
+import com.autoapply.mail.entity.MailMessage;
+import com.autoapply.mail.repository.MailMessageRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+
+/**
+ * Sends queued mail. Each poll claims a batch of due messages ({@code FOR UPDATE SKIP LOCKED},
+ * so every instance can run a dispatcher), admits them through a global and a per-domain
+ * token bucket, and sends the admitted ones over {@code mail.dispatcher.connections} SMTP
+ * connections, several messages per connection. Messages over a rate limit go back to the
+ * queue without using up an attempt. Accepted messages are deleted; transient failures
+ * are retried with exponential backoff, permanent ones (rejected addresses) are not.
+ *
+ * <p>Rate limits are per instance: with N instances, the provider sees up to N times the
+ * configured rates.
+ */
+@Component
+@Slf4j
+public class MailDispatcher {
+    private static final long MIN_DEFER_NANOS = Duration.ofSeconds(1).toNanos();
+
+    private final MailMessageRepository mailRepository;
+    private final JavaMailSender mailSender;
+    private final ThreadPoolTaskExecutor executor;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final String from;
+    private final int batchSize;
+    private final int messagesPerConnection;
+    private final Duration claimTimeout;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+    private final TokenBucket globalLimit;
+    private final Cache<String, TokenBucket> domainLimits;
+    private final int perDomainPerMinute;
+
+    public MailDispatcher(
+            MailMessageRepository mailRepository,
+            JavaMailSender mailSender,
+            @Qualifier("mailDispatchExecutor") ThreadPoolTaskExecutor executor,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${mail.from}") String from,
+            @Value("${mail.dispatcher.batch-size:100}") int batchSize,
+            @Value("${mail.dispatcher.messages-per-connection:20}") int messagesPerConnection,
+            @Value("${mail.dispatcher.claim-timeout:5m}") Duration claimTimeout,
+            @Value("${mail.dispatcher.max-attempts:8}") int maxAttempts,
+            @Value("${mail.dispatcher.retry-backoff:30s}") Duration retryBackoff,
+            @Value("${mail.dispatcher.max-retry-backoff:1h}") Duration maxRetryBackoff,
+            @Value("${mail.rate-limit.global-per-second:5}") double globalPerSecond,
+            @Value("${mail.rate-limit.per-domain-per-minute:60}") int perDomainPerMinute) {
+        this.mailRepository = mailRepository;
+        this.mailSender = mailSender;
+        this.executor = executor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.from = from;
+        this.batchSize = batchSize;
+        this.messagesPerConnection = messagesPerConnection;
+        this.claimTimeout = claimTimeout;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.maxRetryBackoff = maxRetryBackoff;
+        this.globalLimit = new TokenBucket(Math.max(1, globalPerSecond), globalPerSecond);
+        this.perDomainPerMinute = perDomainPerMinute;
+        this.domainLimits = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+    }
+
+    /** Keeps claiming while batches come back full and no global limit was hit. */
+    @Scheduled(fixedDelayString = "${mail.dispatcher.poll-interval-ms:2000}")
+    public void dispatch() {
+        try {
+            while (true) {
+                List<MailMessage> batch = transactionTemplate.execute(
+                        tx -> mailRepository.claim(claimTimeout.toMillis() / 1000.0, batchSize));
+                if (batch == null || batch.isEmpty()) {
+                    return;
+                }
+                boolean throttled = dispatchBatch(batch);
+                if (throttled || batch.size() < batchSize) {
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Mail dispatch failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return whether the global limit was reached
+     */
+    private boolean dispatchBatch(List<MailMessage> batch) {
+        List<MailMessage> admitted = new ArrayList<>(batch.size());
+        Map<Long, List<Long>> deferredByDelay = new HashMap<>();
+        boolean throttled = false;
+        for (MailMessage message : batch) {
+            TokenBucket domainLimit = domainLimits.get(message.recipientDomain(),
+                    domain -> new TokenBucket(perDomainPerMinute, perDomainPerMinute / 60.0));
+            if (throttled) {
+                defer(deferredByDelay, message, globalLimit.nanosUntilAvailable());
+            } else if (!domainLimit.tryAcquire()) {
+                defer(deferredByDelay, message, domainLimit.nanosUntilAvailable());
+            } else if (!globalLimit.tryAcquire()) {
+                domainLimit.refund();
+                throttled = true;
+                defer(deferredByDelay, message, globalLimit.nanosUntilAvailable());
+            } else {
+                admitted.add(message);
+            }
+        }
+        if (!deferredByDelay.isEmpty()) {
+            transactionTemplate.executeWithoutResult(tx -> deferredByDelay.forEach(
+                    (delayNanos, ids) -> mailRepository.defer(ids, delayNanos / 1e9)));
+        }
+
+        Map<List<MailMessage>, Future<Map<Long, Exception>>> sessions = new IdentityHashMap<>();
+        for (int i = 0; i < admitted.size(); i += messagesPerConnection) {
+            List<MailMessage> chunk = admitted.subList(i, Math.min(i + messagesPerConnection, admitted.size()));
+            sessions.put(chunk, executor.submit(() -> sendSession(chunk)));
+        }
+        List<MailMessage> completed = new ArrayList<>(admitted.size());
+        Map<Long, Exception> failures = new HashMap<>();
+        for (Map.Entry<List<MailMessage>, Future<Map<Long, Exception>>> session : sessions.entrySet()) {
+            try {
+                failures.putAll(session.getValue().get());
+                completed.addAll(session.getKey());
+            } catch (Exception e) {
+                // Outcome unknown, so left claimed: the claim timeout brings these messages back
+                log.warn("Mail session did not complete: {}", e.getMessage());
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+        record(completed, failures);
+        return throttled;
+    }
+
+    private void defer(Map<Long, List<Long>> deferredByDelay, MailMessage message, long delayNanos) {
+        count(message, "deferred");
+        // Rounded to whole seconds so messages waiting on one limit share an update
+        long delay = Math.max(MIN_DEFER_NANOS, Duration.ofSeconds((delayNanos + 999_999_999) / 1_000_000_000).toNanos());
+        deferredByDelay.computeIfAbsent(delay, d -> new ArrayList<>()).add(message.getId());
+    }
+
+    /**
+     * Sends the messages over one SMTP connection.
+     *
+     * @return the ids of messages the server did not accept, with the reason
+     */
+    private Map<Long, Exception> sendSession(List<MailMessage> chunk) {
+        Map<Long, Exception> failures = new HashMap<>();
+        Map<MimeMessage, Long> ids = new IdentityHashMap<>();
+        List<MimeMessage> messages = new ArrayList<>(chunk.size());
+        for (MailMessage message : chunk) {
+            try {
+                MimeMessage mime = mailSender.createMimeMessage();
+                MimeMessageHelper helper = new MimeMessageHelper(mime, "UTF-8");
+                helper.setFrom(from);
+                helper.setTo(message.getRecipient());
+                helper.setSubject(message.getSubject());
+                helper.setText(message.getBody());
+                messages.add(mime);
+                ids.put(mime, message.getId());
+            } catch (MessagingException e) {
+                failures.put(message.getId(), e);
+            }
+        }
+        if (messages.isEmpty()) {
+            return failures;
+        }
+
+        long started = System.nanoTime();
+        String outcome = "success";
+        try {
+            mailSender.send(messages.toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            // Lists exactly the messages that were not sent; empty when only closing the connection failed
+            e.getFailedMessages().forEach((mime, cause) -> failures.put(ids.get(mime), cause));
+            outcome = e.getFailedMessages().isEmpty() ? "success" : "partial";
+        } catch (MailException e) {
+            // Connection or authentication failure: nothing was sent
+            ids.values().forEach(id -> failures.put(id, e));
+            outcome = "error";
+        }
+        Timer.builder("mail.smtp.session")
+                .description("SMTP connections used by the mail dispatcher, one batch each")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(Duration.ofNanos(System.nanoTime() - started));
+        return failures;
+    }
+
+    private void record(List<MailMessage> completed, Map<Long, Exception> failures) {
+        List<Long> sent = new ArrayList<>(completed.size());
+        for (MailMessage message : completed) {
+            if (!failures.containsKey(message.getId())) {
+                sent.add(message.getId());
+                count(message, "sent");
+            }
+        }
+        transactionTemplate.executeWithoutResult(tx -> {
+            if (!sent.isEmpty()) {
+                mailRepository.deleteSent(sent);
+            }
+            for (MailMessage message : completed) {
+                Exception failure = failures.get(message.getId());
+                if (failure != null) {
+                    recordFailure(message, failure);
+                }
+            }
+        });
+    }
+
+    private void recordFailure(MailMessage message, Exception failure) {
+        String error = failure.getClass().getSimpleName() + ": " + failure.getMessage();
+        if (isPermanent(failure) || message.getAttempts() >= maxAttempts) {
+            log.warn("Giving up on {} mail {} to domain {} after {} attempts: {}", message.getCategory(),
+                    message.getId(), message.recipientDomain(), message.getAttempts(), error);
+            mailRepository.markFailed(message.getId(), error);
+            count(message, "failed");
+            return;
+        }
+        Duration backoff = retryBackoff.multipliedBy(1L << Math.min(message.getAttempts() - 1, 20));
+        if (backoff.compareTo(maxRetryBackoff) > 0) {
+            backoff = maxRetryBackoff;
+        }
+        log.info("Retrying {} mail {} in {}: {}", message.getCategory(), message.getId(), backoff, error);
+        mailRepository.retryLater(message.getId(), backoff.toMillis() / 1000.0, error);
+        count(message, "retried");
+    }
+
+    /** Rejected or malformed addresses won't get better with retries. */
+    static boolean isPermanent(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof AddressException) {
+                return true;
+            }
+            if (cause instanceof SendFailedException sendFailed
+                    && sendFailed.getInvalidAddresses() != null && sendFailed.getInvalidAddresses().length > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void count(MailMessage message, String outcome) {
+        Counter.builder("mail.messages")
+                .description("Outbound mail handled by the dispatcher")
+                .tag("category", message.getCategory())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,33 @@
+package com.autoapply.mail.service;
+
+import com.autoapply.mail.entity.MailMessage;
+import com.autoapply.mail.repository.MailMessageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Entry point for sending mail: queues the message for {@link MailDispatcher} and returns.
+ * Joins the caller's transaction, so mail about a change (e.g. a reset token) is only sent
+ * if that change commits.
+ */
+@Service
+@RequiredArgsConstructor
+public class MailQueue {
+    private static final int MAX_SUBJECT_LENGTH = 255;
+
+    private final MailMessageRepository mailRepository;
+
+    @Transactional
+    public void enqueue(String recipient, String subject, String body, String category) {
+        if (recipient == null || recipient.indexOf('@') <= 0 || recipient.endsWith("@")) {
+            throw new IllegalArgumentException("Invalid recipient address");
+        }
+        mailRepository.save(MailMessage.builder()
+                .recipient(recipient.trim())
+                .subject(subject.length() > MAX_SUBJECT_LENGTH ? subject.substring(0, MAX_SUBJECT_LENGTH) : subject)
+                .body(body)
+                .category(category)
+                .build());
+    }
+}
@@ -0,0 +1,51 @@
+package com.autoapply.mail.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.time.Duration;
+
+/**
+ * Queues the password reset email linking to the frontend's reset page
+ * ({@code /reset-password?token=...}).
+ */
+@Service
+public class PasswordResetMailer {
+    public static final String CATEGORY = "password-reset";
+
+    private final MailQueue mailQueue;
+    private final String frontendUrl;
+
+    public PasswordResetMailer(
+            MailQueue mailQueue,
+            @Value("${app.frontend-url:http://localhost:3000}") String frontendUrl) {
+        this.mailQueue = mailQueue;
+        this.frontendUrl = frontendUrl;
+    }
+
+    /**
+     * @param rawToken the token as the user must present it; only its hash is stored
+     */
+    @Transactional
+    public void sendResetLink(String email, String firstName, String rawToken, Duration validFor) {
+        String link = UriComponentsBuilder.fromUriString(frontendUrl)
+                .path("/reset-password")
+                .queryParam("token", rawToken)
+                .toUriString();
+        String greeting = firstName != null && !firstName.isBlank() ? "Hi " + firstName + "," : "Hi,";
+        String body = """
+                %s
+
+                We received a request to reset the password of your AutoApply account.
+                Open this link to choose a new password:
+
+                %s
+
+                The link expires in %d minutes and can be used once. If you did not ask for a
+                reset, you can ignore this email; your password stays the same.
+                """.formatted(greeting, link, validFor.toMinutes());
+        mailQueue.enqueue(email, "Reset your AutoApply password", body, CATEGORY);
+    }
+}
@@ -0,0 +1,51 @@
+package com.autoapply.auth.config;
+
+import com.autoapply.support.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Only health is public; the Prometheus endpoint takes the scrape token, not a user's JWT.
+ */
+@TestPropertySource(properties = "metrics.scrape-token=test-scrape-token")
+class ActuatorSecurityTest extends IntegrationTest {
+
+    @Test
+    void healthIsPublic() {
+        assertThat(rest.getForEntity("/actuator/health", String.class).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void prometheusNeedsTheScrapeToken() {
+        assertThat(scrape(null).getStatusCode().is4xxClientError()).isTrue();
+        assertThat(scrape("wrong-token").getStatusCode().is4xxClientError()).isTrue();
+
+        ResponseEntity<String> scraped = scrape("test-scrape-token");
+        assertThat(scraped.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(scraped.getBody()).contains("jvm_memory_used_bytes");
+    }
+
+    @Test
+    void usersCannotReadMetrics() {
+        String token = registerUser().getAccessToken();
+
+        assertThat(scrape(token).getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(rest.exchange("/actuator/metrics", HttpMethod.GET, new HttpEntity<>(bearer(token)), String.class)
+                .getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+    }
+
+    private ResponseEntity<String> scrape(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        if (token != null) {
+            headers.setBearerAuth(token);
+        }
+        return rest.exchange("/actuator/prometheus", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+}
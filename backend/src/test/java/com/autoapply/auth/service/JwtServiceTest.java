@@ -0,0 +1,69 @@
+package com.autoapply.auth.service;
+
+import com.autoapply.common.metrics.QueryScope;
+import com.autoapply.support.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A bearer token is verified once: the first request pays for one HMAC check and at most
+ * the epoch lookup, and later requests with the same token pay for neither.
+ */
+class JwtServiceTest extends IntegrationTest {
+    @Autowired
+    private JwtService jwtService;
+
+    @Test
+    void verifiesAFreshTokenOnceThenServesItFromTheCache() {
+        String token = registerUser().getAccessToken();
+        long before = jwtService.getSignatureVerificationCount();
+
+        try (QueryScope queries = QueryScope.open()) {
+            assertThat(jwtService.verify(token)).isPresent();
+            // The token epoch, unless it is already cached
+            queries.assertStatementsAtMost(1);
+        }
+        assertThat(jwtService.getSignatureVerificationCount()).isEqualTo(before + 1);
+
+        try (QueryScope queries = QueryScope.open()) {
+            for (int i = 0; i < 10; i++) {
+                assertThat(jwtService.verify(token)).isPresent();
+            }
+            queries.assertStatementsAtMost(0);
+        }
+        assertThat(jwtService.getSignatureVerificationCount()).isEqualTo(before + 1);
+    }
+
+    @Test
+    void eachRequestVerifiesItsTokenAtMostOnce() {
+        String token = registerUser().getAccessToken();
+        long before = jwtService.getSignatureVerificationCount();
+
+        for (int i = 0; i < 3; i++) {
+            ResponseEntity<String> response = rest.exchange(
+                    "/api/jobs", HttpMethod.GET, new HttpEntity<>(bearer(token)), String.class);
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        }
+
+        // One HMAC check for the first request, none for the rest
+        assertThat(jwtService.getSignatureVerificationCount()).isEqualTo(before + 1);
+    }
+
+    @Test
+    void rejectedTokensAreNotCached() {
+        String token = registerUser().getAccessToken();
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        long before = jwtService.getSignatureVerificationCount();
+
+        assertThat(jwtService.verify(tampered)).isEmpty();
+        assertThat(jwtService.verify(tampered)).isEmpty();
+
+        assertThat(jwtService.getSignatureVerificationCount()).isEqualTo(before + 2);
+    }
+}
@@ -0,0 +1,262 @@
+package com.autoapply.auth.service;
+
+import com.autoapply.auth.dto.AuthResponse;
+import com.autoapply.auth.dto.ForgotPasswordRequest;
+import com.autoapply.auth.dto.LoginRequest;
+import com.autoapply.auth.dto.ResetPasswordRequest;
+import com.autoapply.auth.repository.PasswordResetTokenRepository;
+import com.autoapply.common.metrics.QueryScope;
+import com.autoapply.support.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reset tokens are single use, expire, are invalidated together once one is redeemed, and
+ * are swept in batches; a reset ends every session opened with the old password. The
+ * sweep batch is shrunk to three rows so batching is visible.
+ */
+@TestPropertySource(properties = "auth.password-reset.sweep-batch-size=3")
+class PasswordResetServiceTest extends IntegrationTest {
+    private static final Pattern RESET_TOKEN = Pattern.compile("token=([A-Za-z0-9_-]+)");
+    private static final String OLD_PASSWORD = "correct-horse-battery";
+    private static final String NEW_PASSWORD = "staple-battery-horse";
+
+    @Autowired
+    private PasswordResetService passwordResetService;
+    @Autowired
+    private PasswordResetTokenRepository tokenRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void resetRevokesTokensIssuedBeforeIt() throws Exception {
+        AuthResponse account = registerUser();
+        String oldToken = account.getAccessToken();
+        assertThat(listJobs(oldToken).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        ForgotPasswordRequest forgot = new ForgotPasswordRequest();
+        forgot.setEmail(account.getEmail());
+        assertThat(rest.postForEntity("/api/auth/forgot-password", forgot, String.class).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+        ResetPasswordRequest reset = new ResetPasswordRequest();
+        reset.setToken(resetToken(account.getEmail()));
+        reset.setNewPassword(NEW_PASSWORD);
+        assertThat(rest.postForEntity("/api/auth/reset-password", reset, String.class).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+
+        assertThat(listJobs(oldToken).getStatusCode().is4xxClientError()).isTrue();
+
+        LoginRequest login = new LoginRequest();
+        login.setEmail(account.getEmail());
+        login.setPassword(NEW_PASSWORD);
+        ResponseEntity<AuthResponse> loggedIn = rest.postForEntity("/api/auth/login", login, AuthResponse.class);
+        assertThat(loggedIn.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(listJobs(loggedIn.getBody().getAccessToken()).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void consumeMarksATokenUsedOnce() throws Exception {
+        AuthResponse account = registerUser();
+        String hash = PasswordResetService.hash(requestToken(account.getEmail()));
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        assertThat(transaction.execute(tx -> tokenRepository.consume(hash, LocalDateTime.now())))
+                .contains(account.getUserId());
+        assertThat(transaction.execute(tx -> tokenRepository.consume(hash, LocalDateTime.now())))
+                .isEmpty();
+        assertThat(unusedTokens(account.getUserId())).isZero();
+    }
+
+    @Test
+    void aTokenResetsThePasswordOnlyOnce() throws Exception {
+        AuthResponse account = registerUser();
+        String token = requestToken(account.getEmail());
+
+        assertThat(reset(token, NEW_PASSWORD)).isEqualTo(HttpStatus.OK);
+        assertThat(reset(token, "another-new-password")).isEqualTo(HttpStatus.BAD_REQUEST);
+
+        assertThat(login(account.getEmail(), NEW_PASSWORD)).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void concurrentRedemptionsOfOneTokenSucceedOnce() throws Exception {
+        AuthResponse account = registerUser();
+        String token = requestToken(account.getEmail());
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<CompletableFuture<HttpStatusCode>> attempts = new ArrayList<>();
+        for (String password : List.of(NEW_PASSWORD, "another-new-password")) {
+            attempts.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    start.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return reset(token, password);
+            }));
+        }
+        start.countDown();
+
+        List<HttpStatusCode> statuses = new ArrayList<>();
+        for (CompletableFuture<HttpStatusCode> attempt : attempts) {
+            statuses.add(attempt.get(20, TimeUnit.SECONDS));
+        }
+        assertThat(statuses).containsExactlyInAnyOrder(HttpStatus.OK, HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void anExpiredTokenIsRejected() throws Exception {
+        AuthResponse account = registerUser();
+        String token = requestToken(account.getEmail());
+        try (Connection connection = openConnection();
+             PreparedStatement expire = connection.prepareStatement(
+                     "UPDATE password_reset_tokens SET expiry_date = ? WHERE user_id = ?")) {
+            // Written and compared in the backend's local time, as the service does
+            expire.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now().minusMinutes(1)));
+            expire.setLong(2, account.getUserId());
+            expire.executeUpdate();
+        }
+
+        assertThat(reset(token, NEW_PASSWORD)).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(login(account.getEmail(), OLD_PASSWORD)).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void redeemingOneTokenInvalidatesTheUsersOthers() throws Exception {
+        AuthResponse account = registerUser();
+        String older = requestToken(account.getEmail());
+        String newer = requestToken(account.getEmail());
+        assertThat(unusedTokens(account.getUserId())).isEqualTo(2);
+
+        assertThat(reset(newer, NEW_PASSWORD)).isEqualTo(HttpStatus.OK);
+
+        assertThat(unusedTokens(account.getUserId())).isZero();
+        assertThat(reset(older, "another-new-password")).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(login(account.getEmail(), NEW_PASSWORD)).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void sweepDeletesExpiredTokensInBatchesAndKeepsLiveOnes() throws Exception {
+        // Expired tokens left by other tests would change the batch count
+        passwordResetService.sweepExpiredTokens();
+        Long userId = registerUser().getUserId();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 7; i++) {
+            insertToken(userId, now.minusMinutes(1 + i));
+        }
+        insertToken(userId, now.plusMinutes(30));
+        insertToken(userId, now.plusMinutes(30));
+
+        try (QueryScope queries = QueryScope.open()) {
+            passwordResetService.sweepExpiredTokens();
+            // 3 + 3 + 1: the short batch ends the sweep
+            long deletes = queries.statements().stream()
+                    .filter(statement -> statement.sql().startsWith("DELETE FROM password_reset_tokens"))
+                    .mapToInt(QueryScope.StatementStats::count)
+                    .sum();
+            assertThat(deletes).isEqualTo(3);
+        }
+
+        try (Connection connection = openConnection();
+             PreparedStatement select = connection.prepareStatement(
+                     "SELECT COUNT(*) FILTER (WHERE expiry_date < ?), COUNT(*) "
+                             + "FROM password_reset_tokens WHERE user_id = ?")) {
+            select.setTimestamp(1, Timestamp.valueOf(now));
+            select.setLong(2, userId);
+            try (ResultSet rs = select.executeQuery()) {
+                assertThat(rs.next()).isTrue();
+                assertThat(rs.getInt(1)).isZero();
+                assertThat(rs.getInt(2)).isEqualTo(2);
+            }
+        }
+    }
+
+    /** Requests a reset and returns the raw token from the mail. */
+    private String requestToken(String email) throws Exception {
+        ForgotPasswordRequest forgot = new ForgotPasswordRequest();
+        forgot.setEmail(email);
+        assertThat(rest.postForEntity("/api/auth/forgot-password", forgot, String.class).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+        return resetToken(email);
+    }
+
+    private HttpStatusCode reset(String token, String newPassword) {
+        ResetPasswordRequest reset = new ResetPasswordRequest();
+        reset.setToken(token);
+        reset.setNewPassword(newPassword);
+        return rest.postForEntity("/api/auth/reset-password", reset, String.class).getStatusCode();
+    }
+
+    private HttpStatusCode login(String email, String password) {
+        LoginRequest login = new LoginRequest();
+        login.setEmail(email);
+        login.setPassword(password);
+        return rest.postForEntity("/api/auth/login", login, String.class).getStatusCode();
+    }
+
+    private static int unusedTokens(Long userId) throws Exception {
+        try (Connection connection = openConnection();
+             PreparedStatement select = connection.prepareStatement(
+                     "SELECT COUNT(*) FROM password_reset_tokens WHERE user_id = ? AND NOT used")) {
+            select.setLong(1, userId);
+            try (ResultSet rs = select.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        }
+    }
+
+    private static void insertToken(Long userId, LocalDateTime expiry) throws Exception {
+        try (Connection connection = openConnection();
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO password_reset_tokens (token, user_id, expiry_date) VALUES (?, ?, ?)")) {
+            insert.setString(1, PasswordResetService.hash(UUID.randomUUID().toString()));
+            insert.setLong(2, userId);
+            insert.setTimestamp(3, Timestamp.valueOf(expiry));
+            insert.executeUpdate();
+        }
+    }
+
+    private ResponseEntity<String> listJobs(String token) {
+        return rest.exchange("/api/jobs", HttpMethod.GET, new HttpEntity<>(bearer(token)), String.class);
+    }
+
+    /** Read from the queued mail, as the user would from the link. */
+    private static String resetToken(String email) throws Exception {
+        try (Connection connection = openConnection();
+             PreparedStatement select = connection.prepareStatement(
+                     "SELECT body FROM mail_messages WHERE recipient = ? ORDER BY id DESC LIMIT 1")) {
+            select.setString(1, email);
+            try (ResultSet rs = select.executeQuery()) {
+                assertThat(rs.next()).as("reset mail to %s", email).isTrue();
+                Matcher matcher = RESET_TOKEN.matcher(rs.getString(1));
+                assertThat(matcher.find()).isTrue();
+                return matcher.group(1);
+            }
+        }
+    }
+}
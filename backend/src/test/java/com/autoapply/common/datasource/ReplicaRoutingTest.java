@@ -0,0 +1,153 @@
+package com.autoapply.common.datasource;
+
+import com.autoapply.job.dto.CreateJobRequest;
+import com.autoapply.job.dto.JobApplicationDTO;
+import com.autoapply.support.IntegrationTest;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routing against a second, standalone Postgres as the replica. It has the schema but none of
+ * the primary's data, so a read that lands there misses what was just written. The
+ * read-your-writes window is zero, so every request behaves as if another instance had
+ * served the write and only {@value ReadYourWritesFilter#HEADER} can keep reads consistent.
+ */
+@TestPropertySource(properties = {
+        "replica-routing.enabled=true",
+        "replica-routing.max-lag=0s",
+        "replica-routing.lag-check-interval-ms=0"
+})
+class ReplicaRoutingTest extends IntegrationTest {
+    private static final PostgreSQLContainer<?> REPLICA = startReplica();
+
+    @Autowired
+    private ReplicaSet replicaSet;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @DynamicPropertySource
+    static void replica(DynamicPropertyRegistry registry) {
+        registry.add("replica-routing.urls", REPLICA::getJdbcUrl);
+        registry.add("replica-routing.username", REPLICA::getUsername);
+        registry.add("replica-routing.password", REPLICA::getPassword);
+    }
+
+    private static PostgreSQLContainer<?> startReplica() {
+        PostgreSQLContainer<?> replica = new PostgreSQLContainer<>("postgres:16-alpine")
+                .withDatabaseName("replica");
+        replica.start();
+        try (Connection connection = DriverManager.getConnection(
+                replica.getJdbcUrl(), replica.getUsername(), replica.getPassword())) {
+            migrate(connection);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not apply migrations to the replica", e);
+        }
+        return replica;
+    }
+
+    @BeforeEach
+    void checkLag() {
+        // Scheduling is off in tests; no replica is eligible before a check
+        replicaSet.checkLag();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() {
+        assertThat(database(true)).isEqualTo("replica");
+        assertThat(database(false)).isEqualTo("autoapply");
+        // Outside a transaction the read-only flag is unknown
+        assertThat(jdbc.queryForObject("SELECT current_database()", String.class)).isEqualTo("autoapply");
+    }
+
+    @Test
+    void readsAfterAPositionSkipReplicasThatHaveNotReplayedIt() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(ReadYourWritesFilter.HEADER, "0/1");
+        AtomicReference<String> database = new AtomicReference<>();
+
+        new ReadYourWritesFilter().doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> database.set(database(true)));
+
+        // A standalone server has replayed none of the primary's WAL
+        assertThat(database.get()).isEqualTo("autoapply");
+    }
+
+    @Test
+    void malformedPositionsAreIgnored() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(ReadYourWritesFilter.HEADER, "not-a-position");
+        AtomicReference<String> database = new AtomicReference<>();
+
+        new ReadYourWritesFilter().doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> database.set(database(true)));
+
+        assertThat(database.get()).isEqualTo("replica");
+    }
+
+    @Test
+    void writeResponseCarriesThePositionThatRoutesLaterReads() {
+        String token = registerUser().getAccessToken();
+        CreateJobRequest job = new CreateJobRequest();
+        job.setTitle("Backend Engineer");
+        job.setCompany("Acme Robotics");
+
+        ResponseEntity<JobApplicationDTO> created = rest.exchange(
+                "/api/jobs", HttpMethod.POST, authorized(token, job), JobApplicationDTO.class);
+
+        assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        String position = created.getHeaders().getFirst(ReadYourWritesFilter.HEADER);
+        assertThat(position).matches("[0-9A-F]+/[0-9A-F]+");
+        Long jobId = created.getBody().getId();
+
+        // Served by the replica, which doesn't have the write
+        assertThat(listedJobIds(token, null)).doesNotContain(jobId);
+        // Sent back, the position keeps the read on the primary
+        assertThat(listedJobIds(token, position)).contains(jobId);
+    }
+
+    private String database(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(tx -> jdbc.queryForObject("SELECT current_database()", String.class));
+    }
+
+    private List<Long> listedJobIds(String token, String position) {
+        HttpHeaders headers = bearer(token);
+        if (position != null) {
+            headers.set(ReadYourWritesFilter.HEADER, position);
+        }
+        ResponseEntity<JsonNode> response = rest.exchange(
+                "/api/jobs", HttpMethod.GET, new HttpEntity<>(headers), JsonNode.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        List<Long> ids = new ArrayList<>();
+        response.getBody().path("items").forEach(item -> ids.add(item.path("id").asLong()));
+        return ids;
+    }
+}
@@ -0,0 +1,110 @@
+package com.autoapply.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.images.builder.Transferable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Lag checks against real servers: a standalone Postgres, and a standby that has never
+ * reached a primary. The standby has replayed everything it received, which is nothing, so
+ * only the WAL receiver status tells it apart from a caught-up replica.
+ */
+class ReplicaSetTest {
+    private static final PostgreSQLContainer<?> STANDALONE = new PostgreSQLContainer<>("postgres:16-alpine");
+    private static final PostgreSQLContainer<?> STALLED_STANDBY = new PostgreSQLContainer<>("postgres:16-alpine")
+            // Sourced once the database is initialised; the server then restarts into recovery
+            .withCopyToContainer(Transferable.of("touch \"$PGDATA/standby.signal\"\n"),
+                    "/docker-entrypoint-initdb.d/standby.sh")
+            .waitingFor(Wait.forLogMessage(".*database system is ready to accept read-only connections.*\\s", 1));
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeAll
+    static void startServers() {
+        STANDALONE.start();
+        STALLED_STANDBY.start();
+    }
+
+    @AfterAll
+    static void stopServers() {
+        STANDALONE.stop();
+        STALLED_STANDBY.stop();
+    }
+
+    @Test
+    void standbyWithoutAStreamingReceiverIsLagging() {
+        try (ReplicaSet replicas = replicaSet(STALLED_STANDBY, STANDALONE)) {
+            replicas.checkLag();
+
+            assertThat(lag("replica-0")).isNaN();
+            assertThat(meterRegistry.get("db.replica.eligible").gauge().value()).isEqualTo(1);
+            for (int i = 0; i < 4; i++) {
+                assertThat(replicas.pick(null, WalPosition.NONE).name()).isEqualTo("replica-1");
+            }
+        }
+    }
+
+    @Test
+    void standaloneServerHasNoLagButNoReplayPosition() {
+        try (ReplicaSet replicas = replicaSet(STANDALONE)) {
+            assertThat(replicas.pick(null, WalPosition.NONE)).as("no check yet").isNull();
+
+            replicas.checkLag();
+
+            assertThat(lag("replica-0")).isZero();
+            assertThat(replicas.pick(42L, WalPosition.NONE).name()).isEqualTo("replica-0");
+            assertThat(replicas.pick(42L, WalPosition.parse("0/1"))).isNull();
+        }
+    }
+
+    @Test
+    void failedCheckTakesTheReplicaOutOfRotation() {
+        try (ReplicaSet replicas = replicaSet(STANDALONE)) {
+            replicas.checkLag();
+            assertThat(replicas.pick(null, WalPosition.NONE)).isNotNull();
+
+            replicas.all().get(0).dataSource().close();
+            replicas.checkLag();
+
+            assertThat(lag("replica-0")).isNaN();
+            assertThat(replicas.pick(null, WalPosition.NONE)).isNull();
+        }
+    }
+
+    @Test
+    void walPositionsRoundTripAndOrder() {
+        assertThat(WalPosition.format(WalPosition.parse("16/B374D848"))).isEqualTo("16/B374D848");
+        assertThat(WalPosition.parse("1/0")).isGreaterThan(WalPosition.parse("0/FFFFFFFF"));
+        assertThat(WalPosition.parse("0/0")).isGreaterThan(WalPosition.NONE);
+    }
+
+    private ReplicaSet replicaSet(PostgreSQLContainer<?>... servers) {
+        List<ReplicaSet.Replica> replicas = new ArrayList<>();
+        for (PostgreSQLContainer<?> server : servers) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl(server.getJdbcUrl());
+            dataSource.setUsername(server.getUsername());
+            dataSource.setPassword(server.getPassword());
+            dataSource.setMaximumPoolSize(1);
+            dataSource.setConnectionTimeout(1_000);
+            replicas.add(new ReplicaSet.Replica("replica-" + replicas.size(), dataSource));
+        }
+        return new ReplicaSet(replicas, Duration.ofSeconds(5), Duration.ofSeconds(2), meterRegistry);
+    }
+
+    private double lag(String replica) {
+        return meterRegistry.get("db.replica.lag").tag("replica", replica).gauge().value();
+    }
+}
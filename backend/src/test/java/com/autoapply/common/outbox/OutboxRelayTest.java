@@ -0,0 +1,256 @@
+package com.autoapply.common.outbox;
+
+import com.autoapply.job.dto.CreateJobRequest;
+import com.autoapply.job.dto.UpdateJobRequest;
+import com.autoapply.job.entity.JobApplication;
+import com.autoapply.job.service.JobService;
+import com.autoapply.job.service.JobStatusChange;
+import com.autoapply.support.IntegrationTest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The outbox end to end, with the relay drained by hand: events commit and roll back with
+ * the change they describe, concurrent relays split the work, failures back off and are
+ * parked, and a failing subscriber does not keep the event from the others of its type.
+ */
+@TestPropertySource(properties = {
+        "outbox.batch-size=25",
+        "outbox.max-attempts=3",
+        "outbox.retry-backoff=200ms",
+        "outbox.max-retry-backoff=1s"
+})
+class OutboxRelayTest extends IntegrationTest {
+    private static final String RECORDED = "test.recorded";
+    private static final String FAILING = "test.failing";
+
+    @Autowired
+    private OutboxRelay relay;
+    @Autowired
+    private OutboxWriter outboxWriter;
+    @Autowired
+    private JobService jobService;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private NamedParameterJdbcTemplate jdbc;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private RecordingSubscriber recorder;
+
+    private TransactionTemplate transactionTemplate;
+    private Long userId;
+
+    @TestConfiguration
+    static class Subscribers {
+        @Bean
+        RecordingSubscriber recordingSubscriber() {
+            return new RecordingSubscriber();
+        }
+
+        // Ahead of the recorder, so its failures come first
+        @Bean
+        @Order(Ordered.HIGHEST_PRECEDENCE)
+        OutboxSubscriber failingSubscriber() {
+            return new OutboxSubscriber() {
+                @Override
+                public Set<String> eventTypes() {
+                    return Set.of(FAILING);
+                }
+
+                @Override
+                public void handle(OutboxEvent event) {
+                    throw new IllegalStateException("subscriber down");
+                }
+            };
+        }
+    }
+
+    static class RecordingSubscriber implements OutboxSubscriber {
+        private final Queue<OutboxEvent> received = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public Set<String> eventTypes() {
+            return Set.of(JobStatusChange.TYPE, RECORDED, FAILING);
+        }
+
+        @Override
+        public void handle(OutboxEvent event) {
+            received.add(event);
+        }
+
+        List<OutboxEvent> receivedFor(Long userId) {
+            return received.stream().filter(event -> userId.equals(event.userId())).toList();
+        }
+    }
+
+    @BeforeEach
+    void newUser() {
+        // Other test classes leave events behind; they belong to other users
+        relay.drain();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        userId = registerUser().getUserId();
+    }
+
+    @Test
+    void statusChangeEventCommitsWithTheWrite() {
+        Long jobId = createJob();
+        double transitionsBefore = transitions();
+
+        jobService.updateJob(jobId, userId, interview());
+        assertThat(pending()).isEqualTo(1);
+
+        relay.drain();
+
+        List<OutboxEvent> received = recorder.receivedFor(userId);
+        assertThat(received).hasSize(1);
+        assertThat(received.get(0).type()).isEqualTo(JobStatusChange.TYPE);
+        assertThat(received.get(0).payload().get("jobId").asLong()).isEqualTo(jobId);
+        assertThat(received.get(0).payload().get("status").asText()).isEqualTo("INTERVIEW");
+        // JobStatusTransitionMetrics subscribes to the same type and got it too
+        assertThat(transitions()).isEqualTo(transitionsBefore + 1);
+        assertThat(pending()).isZero();
+    }
+
+    @Test
+    void rolledBackWriteLeavesNoEvent() {
+        Long jobId = createJob();
+
+        transactionTemplate.executeWithoutResult(tx -> {
+            jobService.updateJob(jobId, userId, interview());
+            tx.setRollbackOnly();
+        });
+
+        assertThat(pending()).isZero();
+        relay.drain();
+        assertThat(recorder.receivedFor(userId)).isEmpty();
+        assertThat(jobService.getJobById(jobId, userId).getStatus()).isEqualTo(JobApplication.Status.SAVED);
+    }
+
+    @Test
+    void concurrentDrainsNeverDeliverTheSameEvent() throws Exception {
+        int events = 300;
+        transactionTemplate.executeWithoutResult(tx -> outboxWriter.appendAll(RECORDED, userId,
+                IntStream.range(0, events).mapToObj(i -> Map.of("n", i)).toList()));
+
+        int relays = 4;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(relays);
+        try {
+            List<Future<?>> drains = new ArrayList<>();
+            for (int i = 0; i < relays; i++) {
+                drains.add(executor.submit(() -> {
+                    start.await();
+                    relay.drain();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> drain : drains) {
+                drain.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<Long> ids = recorder.receivedFor(userId).stream().map(OutboxEvent::id).toList();
+        assertThat(ids).hasSize(events).doesNotHaveDuplicates();
+        assertThat(pending()).isZero();
+    }
+
+    @Test
+    void failingEventBacksOffThenIsParked() throws InterruptedException {
+        transactionTemplate.executeWithoutResult(tx -> outboxWriter.append(FAILING, userId, Map.of("n", 1)));
+
+        relay.drain();
+        assertThat(attempts()).isEqualTo(1);
+        // Backing off: an immediate drain leaves it alone
+        relay.drain();
+        assertThat(attempts()).isEqualTo(1);
+
+        Thread.sleep(Duration.ofMillis(300));
+        relay.drain();
+        assertThat(attempts()).isEqualTo(2);
+
+        // Second backoff is doubled
+        Thread.sleep(Duration.ofMillis(250));
+        relay.drain();
+        assertThat(attempts()).isEqualTo(2);
+        Thread.sleep(Duration.ofMillis(300));
+        relay.drain();
+        assertThat(attempts()).isEqualTo(3);
+
+        // outbox.max-attempts reached: parked with the error, and never claimed again
+        Map<String, Object> parked = jdbc.queryForMap(
+                "SELECT available_at = 'infinity'::timestamptz AS parked, last_error FROM outbox_events WHERE user_id = :user",
+                new MapSqlParameterSource("user", userId));
+        assertThat(parked.get("parked")).isEqualTo(true);
+        assertThat((String) parked.get("last_error")).contains("subscriber down");
+        relay.drain();
+        assertThat(attempts()).isEqualTo(3);
+
+        // The recorder on the same type received every attempt despite the failure before it
+        assertThat(recorder.receivedFor(userId)).extracting(OutboxEvent::attempt).containsExactly(1, 2, 3);
+    }
+
+    private Long createJob() {
+        CreateJobRequest job = new CreateJobRequest();
+        job.setTitle("Backend Engineer");
+        job.setCompany("Acme Robotics");
+        job.setStatus(JobApplication.Status.SAVED);
+        return jobService.createJob(userId, job).getId();
+    }
+
+    private static UpdateJobRequest interview() {
+        UpdateJobRequest update = new UpdateJobRequest();
+        update.setStatus(JobApplication.Status.INTERVIEW);
+        return update;
+    }
+
+    private int pending() {
+        Integer count = jdbc.queryForObject("SELECT COUNT(*) FROM outbox_events WHERE user_id = :user",
+                new MapSqlParameterSource("user", userId), Integer.class);
+        return count != null ? count : 0;
+    }
+
+    private int attempts() {
+        Integer attempts = jdbc.queryForObject("SELECT attempts FROM outbox_events WHERE user_id = :user",
+                new MapSqlParameterSource("user", userId), Integer.class);
+        return attempts != null ? attempts : 0;
+    }
+
+    private double transitions() {
+        Counter counter = meterRegistry.find("jobs.status.transitions")
+                .tags("from", "SAVED", "to", "INTERVIEW")
+                .counter();
+        return counter != null ? counter.count() : 0;
+    }
+}
@@ -0,0 +1,193 @@
+package com.autoapply.common.scheduling;
+
+import com.autoapply.support.IntegrationTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Several backend instances on one database, each a {@link ClusterMembership} with its own
+ * node id: partitions end up disjoint and spread over the live nodes, and move to the
+ * others when a node leaves or stops heartbeating.
+ */
+class ClusterMembershipTest extends IntegrationTest {
+    private static final int PARTITIONS = 12;
+    private static final Duration LEASE_TTL = Duration.ofSeconds(2);
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbc;
+    @Autowired
+    private ClusterMembership applicationMembership;
+    @Autowired
+    private SchedulerRunMetrics runMetrics;
+
+    private final List<ClusterMembership> nodes = new ArrayList<>();
+
+    @BeforeEach
+    void startFromAnEmptyCluster() {
+        // Other test classes heartbeat the application's own node; it must not count here
+        applicationMembership.leave();
+        jdbc.update("DELETE FROM scheduler_nodes", new MapSqlParameterSource());
+        jdbc.update("UPDATE scheduler_partitions SET owner = NULL, expires_at = NULL", new MapSqlParameterSource());
+    }
+
+    @AfterEach
+    void leaveCluster() {
+        nodes.forEach(ClusterMembership::leave);
+    }
+
+    @Test
+    void partitionsAreDisjointAndCoverEveryPartition() {
+        ClusterMembership a = node("node-a");
+        ClusterMembership b = node("node-b");
+        ClusterMembership c = node("node-c");
+
+        settle(a, b, c);
+
+        assertDisjointAndComplete(a, b, c);
+        assertThat(a.ownedPartitions()).hasSize(PARTITIONS / 3);
+        assertThat(b.ownedPartitions()).hasSize(PARTITIONS / 3);
+        assertThat(c.ownedPartitions()).hasSize(PARTITIONS / 3);
+    }
+
+    @Test
+    void leavingHandsPartitionsToTheRest() {
+        ClusterMembership a = node("node-a");
+        ClusterMembership b = node("node-b");
+        ClusterMembership c = node("node-c");
+        settle(a, b, c);
+
+        c.leave();
+        settle(a, b);
+
+        assertThat(c.ownedPartitions()).isEmpty();
+        assertDisjointAndComplete(a, b);
+        assertThat(a.ownedPartitions()).hasSize(PARTITIONS / 2);
+        assertThat(b.ownedPartitions()).hasSize(PARTITIONS / 2);
+    }
+
+    @Test
+    void aNodeThatStopsHeartbeatingLosesItsPartitions() throws InterruptedException {
+        ClusterMembership a = node("node-a");
+        ClusterMembership b = node("node-b");
+        ClusterMembership c = node("node-c");
+        settle(a, b, c);
+        Set<Integer> stranded = c.ownedPartitions();
+        assertThat(stranded).isNotEmpty();
+
+        // c goes silent; the others keep heartbeating until its node row and leases expire
+        long deadline = System.nanoTime() + LEASE_TTL.toNanos() + Duration.ofMillis(500).toNanos();
+        while (System.nanoTime() < deadline) {
+            a.heartbeat();
+            b.heartbeat();
+            Thread.sleep(200);
+        }
+        settle(a, b);
+
+        // c stops claiming them locally too, without reaching the database
+        assertThat(c.ownedPartitions()).isEmpty();
+        assertDisjointAndComplete(a, b);
+        Set<Integer> takenOver = new HashSet<>(a.ownedPartitions());
+        takenOver.addAll(b.ownedPartitions());
+        assertThat(takenOver).containsAll(stranded);
+    }
+
+    @Test
+    void aJobLeaseRunsTheTaskOnce() throws Exception {
+        JobLeases first = leases(node("node-a"));
+        JobLeases second = leases(node("node-b"));
+        String job = "lease-test-" + UUID.randomUUID();
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        Runnable task = () -> {
+            runs.incrementAndGet();
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Boolean> ranFirst = executor.submit(() -> {
+                start.await();
+                return first.runExclusively(job, task);
+            });
+            Future<Boolean> ranSecond = executor.submit(() -> {
+                start.await();
+                return second.runExclusively(job, task);
+            });
+            start.countDown();
+
+            assertThat(List.of(ranFirst.get(), ranSecond.get())).containsExactlyInAnyOrder(true, false);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(runs).hasValue(1);
+
+        // Still within min-hold: a node that fires the same schedule a little later skips it
+        assertThat(second.runExclusively(job, task)).isFalse();
+        assertThat(runs).hasValue(1);
+    }
+
+    private ClusterMembership node(String name) {
+        ClusterMembership node = new ClusterMembership(
+                jdbc, new SimpleMeterRegistry(), name + "-" + UUID.randomUUID(), PARTITIONS, LEASE_TTL);
+        nodes.add(node);
+        return node;
+    }
+
+    private JobLeases leases(ClusterMembership node) {
+        return new JobLeases(jdbc, node, runMetrics, Duration.ofMinutes(5), Duration.ofHours(2));
+    }
+
+    /** Heartbeats every node in turn until nobody's partitions change. */
+    private static void settle(ClusterMembership... members) {
+        List<Set<Integer>> previous = null;
+        for (int round = 0; round < 10; round++) {
+            for (ClusterMembership member : members) {
+                member.heartbeat();
+            }
+            List<Set<Integer>> current = Arrays.stream(members).map(ClusterMembership::ownedPartitions).toList();
+            if (current.equals(previous)) {
+                return;
+            }
+            previous = current;
+        }
+        throw new AssertionError("Partitions did not settle: " + previous);
+    }
+
+    private static void assertDisjointAndComplete(ClusterMembership... members) {
+        Set<Integer> covered = new HashSet<>();
+        for (ClusterMembership member : members) {
+            for (Integer partition : member.ownedPartitions()) {
+                assertThat(covered.add(partition))
+                        .as("partition %d is owned by more than one node", partition)
+                        .isTrue();
+            }
+        }
+        assertThat(covered).isEqualTo(IntStream.range(0, PARTITIONS).boxed().collect(Collectors.toSet()));
+    }
+}
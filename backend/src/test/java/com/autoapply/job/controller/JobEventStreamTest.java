@@ -0,0 +1,221 @@
+package com.autoapply.job.controller;
+
+import com.autoapply.auth.dto.AuthResponse;
+import com.autoapply.job.dto.CreateJobRequest;
+import com.autoapply.job.dto.JobChangeEventDTO;
+import com.autoapply.job.entity.JobApplication;
+import com.autoapply.job.service.JobChangedEvent;
+import com.autoapply.job.service.JobEventBroadcaster;
+import com.autoapply.job.service.JobService;
+import com.autoapply.support.IntegrationTest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * GET /api/jobs/events over a real connection: a reconnect with {@code Last-Event-ID} replays
+ * what is still buffered, an id older than the buffer starts over, and change events whose
+ * after-commit callbacks arrive out of order are answered with {@code resync} rather than
+ * sent stale. The replay buffer is shrunk to three events.
+ */
+@TestPropertySource(properties = "job-events.replay-size=3")
+class JobEventStreamTest extends IntegrationTest {
+    @Autowired
+    private JobService jobService;
+    @Autowired
+    private JobEventBroadcaster broadcaster;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final List<EventStream> streams = new ArrayList<>();
+    private Long userId;
+    private String token;
+
+    @BeforeEach
+    void login() {
+        AuthResponse auth = registerUser();
+        userId = auth.getUserId();
+        token = auth.getAccessToken();
+    }
+
+    @AfterEach
+    void closeStreams() {
+        streams.forEach(EventStream::close);
+    }
+
+    @Test
+    void resumesFromABufferedEventInVersionOrder() throws Exception {
+        EventStream first = open(null);
+        long start = version(first.next("ready"));
+        for (int i = 1; i <= 3; i++) {
+            createJob(i);
+            assertThat(first.next("change").id()).isEqualTo(String.valueOf(start + i));
+        }
+        first.close();
+
+        EventStream resumed = open(start + 1);
+
+        assertThat(resumed.next("change").id()).isEqualTo(String.valueOf(start + 2));
+        assertThat(resumed.next("change").id()).isEqualTo(String.valueOf(start + 3));
+        JsonNode ready = json(resumed.next("ready"));
+        assertThat(ready.get("resumed").asBoolean()).isTrue();
+        assertThat(ready.get("version").asLong()).isEqualTo(start + 3);
+    }
+
+    @Test
+    void anIdOlderThanTheBufferStartsOver() throws Exception {
+        EventStream first = open(null);
+        long start = version(first.next("ready"));
+        for (int i = 1; i <= 5; i++) {
+            createJob(i);
+            first.next("change");
+        }
+        first.close();
+
+        // start + 1 and start + 2 have been evicted from the three-event buffer
+        EventStream stale = open(start + 1);
+
+        Event ready = stale.next();
+        assertThat(ready.name()).isEqualTo("ready");
+        assertThat(json(ready).get("resumed").asBoolean()).isFalse();
+        assertThat(version(ready)).isEqualTo(start + 5);
+    }
+
+    @Test
+    void aLateCommitIsAnsweredWithResyncNotSentStale() throws Exception {
+        EventStream stream = open(null);
+        long start = version(stream.next("ready"));
+
+        // Two commits whose after-commit callbacks run in the opposite order
+        broadcaster.onJobChanged(new JobChangedEvent(userId, new JobChangeEventDTO(start + 2, List.of())));
+        broadcaster.onJobChanged(new JobChangedEvent(userId, new JobChangeEventDTO(start + 1, List.of())));
+
+        assertThat(stream.next().id()).isEqualTo(String.valueOf(start + 2));
+        Event resync = stream.next();
+        assertThat(resync.name()).isEqualTo("resync");
+        assertThat(resync.id()).isEqualTo(String.valueOf(start + 2));
+        assertThat(version(resync)).isEqualTo(start + 2);
+        stream.close();
+
+        // A client that saw start + 2 may have missed start + 1: replayed in order, no resume
+        EventStream reconnected = open(start + 2);
+        assertThat(reconnected.next("change").id()).isEqualTo(String.valueOf(start + 1));
+        assertThat(reconnected.next("change").id()).isEqualTo(String.valueOf(start + 2));
+        assertThat(json(reconnected.next("ready")).get("resumed").asBoolean()).isFalse();
+    }
+
+    private void createJob(int n) {
+        CreateJobRequest job = new CreateJobRequest();
+        job.setTitle("Engineer " + n);
+        job.setCompany("Acme Robotics");
+        job.setStatus(JobApplication.Status.SAVED);
+        jobService.createJob(userId, job);
+    }
+
+    private EventStream open(Long lastEventId) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(rest.getRootUri() + "/api/jobs/events"))
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", "text/event-stream");
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", String.valueOf(lastEventId));
+        }
+        HttpResponse<InputStream> response = client.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+        assertThat(response.statusCode()).isEqualTo(200);
+        EventStream stream = new EventStream(response.body());
+        streams.add(stream);
+        return stream;
+    }
+
+    private JsonNode json(Event event) throws IOException {
+        return objectMapper.readTree(event.data());
+    }
+
+    private long version(Event event) throws IOException {
+        return json(event).get("version").asLong();
+    }
+
+    private record Event(String id, String name, String data) {
+    }
+
+    /** Reads server-sent events off the connection on a background thread. */
+    private static final class EventStream {
+        private final InputStream body;
+        private final BlockingQueue<Event> events = new LinkedBlockingQueue<>();
+
+        EventStream(InputStream body) {
+            this.body = body;
+            Thread reader = new Thread(this::read, "sse-test-reader");
+            reader.setDaemon(true);
+            reader.start();
+        }
+
+        Event next() throws InterruptedException {
+            Event event = events.poll(10, TimeUnit.SECONDS);
+            assertThat(event).as("next server-sent event").isNotNull();
+            return event;
+        }
+
+        Event next(String name) throws InterruptedException {
+            Event event = next();
+            assertThat(event.name()).isEqualTo(name);
+            return event;
+        }
+
+        void close() {
+            try {
+                body.close();
+            } catch (IOException e) {
+                // Already gone
+            }
+        }
+
+        private void read() {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+                String id = null;
+                String name = null;
+                StringBuilder data = new StringBuilder();
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isEmpty()) {
+                        if (name != null) {
+                            events.add(new Event(id, name, data.toString()));
+                        }
+                        id = null;
+                        name = null;
+                        data.setLength(0);
+                    } else if (line.startsWith("id:")) {
+                        id = line.substring(3).trim();
+                    } else if (line.startsWith("event:")) {
+                        name = line.substring(6).trim();
+                    } else if (line.startsWith("data:")) {
+                        data.append(line.substring(5));
+                    }
+                }
+            } catch (IOException e) {
+                // Closed by the test
+            }
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.autoapply.job.controller;
+
+import com.autoapply.common.exception.ErrorResponse;
+import com.autoapply.job.dto.JobApplicationDTO;
+import com.autoapply.job.service.LinkParserService;
+import com.autoapply.support.IntegrationTest;
+import com.autoapply.support.StubJobBoard;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * POST /api/jobs/parse end to end: the request thread hands the fetch to the link-parser
+ * executor and the response is written when the fetch completes, or mapped to an error
+ * status when it times out or the executor is full. The executor is shrunk to two slots
+ * with no queue so saturation is easy to reach; the per-host limit is lifted so it does
+ * not turn requests away first, and the stub job board on loopback is allowed.
+ */
+@TestPropertySource(properties = {
+        "link-parser.executor.core-size=2",
+        "link-parser.executor.max-size=2",
+        "link-parser.executor.queue-capacity=0",
+        "link-parser.per-host-concurrency=100",
+        "link-parser.fetch-timeout=3s",
+        "link-parser.allow-private-hosts=true"
+})
+class JobParseEndpointTest extends IntegrationTest {
+    private static final String POSTING = """
+            <html><head>
+              <title>Backend Engineer | Acme</title>
+              <meta property="og:title" content="Backend Engineer">
+              <meta property="og:site_name" content="Acme">
+            </head><body><p>Build the things.</p></body></html>
+            """;
+
+    private static StubJobBoard jobBoard;
+    private String token;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeAll
+    static void startJobBoard() throws IOException {
+        jobBoard = StubJobBoard.start();
+    }
+
+    @AfterAll
+    static void stopJobBoard() {
+        jobBoard.close();
+    }
+
+    @BeforeEach
+    void login() {
+        token = registerUser().getAccessToken();
+    }
+
+    @Test
+    void completesWithParsedPostingOnceTheFetchFinishes() {
+        AtomicInteger fetches = new AtomicInteger();
+        jobBoard.route("/jobs/1", exchange -> {
+            fetches.incrementAndGet();
+            sleep(Duration.ofMillis(300));
+            StubJobBoard.respond(exchange, "text/html; charset=utf-8", POSTING.getBytes());
+        });
+
+        ResponseEntity<JobApplicationDTO> response = parse(jobBoard.url("/jobs/1"), JobApplicationDTO.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getTitle()).isEqualTo("Backend Engineer");
+        assertThat(response.getBody().getUrl()).isEqualTo(jobBoard.url("/jobs/1"));
+        assertThat(fetches).hasValue(1);
+
+        // Served from the parsed-link cache without another fetch
+        assertThat(parse(jobBoard.url("/jobs/1"), JobApplicationDTO.class).getBody().getTitle())
+                .isEqualTo("Backend Engineer");
+        assertThat(fetches).hasValue(1);
+    }
+
+    @Test
+    void decodesPagesByTheirMetaCharsetWhenTheHeaderHasNone() {
+        String page = """
+                <html><head>
+                  <meta charset="iso-8859-1">
+                  <script type="application/ld+json">
+                    {"@type": "JobPosting", "title": "D\u00e9veloppeur Java",
+                     "hiringOrganization": {"name": "Soci\u00e9t\u00e9 G\u00e9n\u00e9rale"}, "description": "\u00c0 Paris"}
+                  </script>
+                </head><body></body></html>
+                """;
+        jobBoard.route("/jobs/latin1", exchange -> StubJobBoard.respond(exchange, "text/html",
+                page.getBytes(StandardCharsets.ISO_8859_1)));
+
+        ResponseEntity<JobApplicationDTO> response = parse(jobBoard.url("/jobs/latin1"), JobApplicationDTO.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getTitle()).isEqualTo("D\u00e9veloppeur Java");
+        assertThat(response.getBody().getCompany()).isEqualTo("Soci\u00e9t\u00e9 G\u00e9n\u00e9rale");
+        assertThat(response.getBody().getDescription()).isEqualTo("\u00c0 Paris");
+    }
+
+    @Test
+    void answersGatewayTimeoutWhenTheJobBoardIsTooSlow() {
+        jobBoard.route("/jobs/slow", exchange -> {
+            sleep(Duration.ofSeconds(10));
+            StubJobBoard.respond(exchange, "text/html", POSTING.getBytes());
+        });
+
+        long started = System.nanoTime();
+        ResponseEntity<ErrorResponse> response = parse(jobBoard.url("/jobs/slow"), ErrorResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+        assertThat(response.getBody().getMessage()).isEqualTo("Timed out fetching job link");
+        // Bounded by link-parser.fetch-timeout, not by the job board
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(8));
+    }
+
+    @Test
+    void aBodyThatStallsIsTimedAsATimeout() {
+        jobBoard.route("/jobs/stalled-body", exchange -> {
+            // Headers and the first bytes arrive at once; the rest never does in time
+            exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+            exchange.sendResponseHeaders(200, 0);
+            exchange.getResponseBody().write("<html><head><title>Backend".getBytes(StandardCharsets.UTF_8));
+            exchange.getResponseBody().flush();
+            sleep(Duration.ofSeconds(10));
+            exchange.close();
+        });
+        double timeoutsBefore = fetches("timeout");
+        double successesBefore = fetches("success");
+
+        ResponseEntity<ErrorResponse> response = parse(jobBoard.url("/jobs/stalled-body"), ErrorResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+        assertThat(fetches("timeout")).isEqualTo(timeoutsBefore + 1);
+        assertThat(fetches("success")).isEqualTo(successesBefore);
+    }
+
+    @Test
+    void answersServiceUnavailableWhileTheExecutorIsFull() throws Exception {
+        CountDownLatch arrived = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        jobBoard.route("/jobs/blocked", exchange -> {
+            arrived.countDown();
+            await(release);
+            StubJobBoard.respond(exchange, "text/html", POSTING.getBytes());
+        });
+
+        // Distinct URLs, so the two fetches are not coalesced into one
+        CompletableFuture<ResponseEntity<JobApplicationDTO>> first = CompletableFuture.supplyAsync(
+                () -> parse(jobBoard.url("/jobs/blocked/1"), JobApplicationDTO.class));
+        CompletableFuture<ResponseEntity<JobApplicationDTO>> second = CompletableFuture.supplyAsync(
+                () -> parse(jobBoard.url("/jobs/blocked/2"), JobApplicationDTO.class));
+        try {
+            assertThat(arrived.await(10, TimeUnit.SECONDS)).isTrue();
+
+            ResponseEntity<ErrorResponse> rejected = parse(jobBoard.url("/jobs/blocked/3"), ErrorResponse.class);
+
+            assertThat(rejected.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+            assertThat(rejected.getBody().getMessage()).isEqualTo("Link parser is busy, try again shortly");
+        } finally {
+            release.countDown();
+        }
+        assertThat(first.get(10, TimeUnit.SECONDS).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(second.get(10, TimeUnit.SECONDS).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        // Rejections are not cached: the same link parses once a slot is free. A slot is
+        // handed back just after its response completes, so allow for that moment.
+        ResponseEntity<JobApplicationDTO> retried = parse(jobBoard.url("/jobs/blocked/3"), JobApplicationDTO.class);
+        for (int attempt = 0; retried.getStatusCode() == HttpStatus.SERVICE_UNAVAILABLE && attempt < 20; attempt++) {
+            sleep(Duration.ofMillis(50));
+            retried = parse(jobBoard.url("/jobs/blocked/3"), JobApplicationDTO.class);
+        }
+        assertThat(retried.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    private double fetches(String outcome) {
+        Timer timer = meterRegistry.find(LinkParserService.FETCH_TIMER)
+                .tags("host", "127.0.0.1", "outcome", outcome)
+                .timer();
+        return timer != null ? timer.count() : 0;
+    }
+
+    private <T> ResponseEntity<T> parse(String url, Class<T> responseType) {
+        return rest.exchange("/api/jobs/parse", HttpMethod.POST, authorized(token, url), responseType);
+    }
+
+    static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.autoapply.job.controller;
+
+import com.autoapply.common.exception.ErrorResponse;
+import com.autoapply.job.dto.JobApplicationDTO;
+import com.autoapply.job.service.LinkHostPolicy;
+import com.autoapply.support.IntegrationTest;
+import com.autoapply.support.StubJobBoard;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doNothing;
+
+/**
+ * POST /api/jobs/parse only fetches public hosts, on the first hop and on every redirect.
+ * The stub job board listens on 127.0.0.1, which the policy refuses; the test lets the
+ * name {@code localhost} through as a stand-in for a public job board, so a redirect from it
+ * to 127.0.0.1 shows that later hops are checked too.
+ */
+class JobParseHostPolicyTest extends IntegrationTest {
+    private static final String POSTING = """
+            <html><head><meta property="og:title" content="Backend Engineer"></head><body></body></html>
+            """;
+
+    private static StubJobBoard jobBoard;
+
+    @SpyBean
+    private LinkHostPolicy hostPolicy;
+
+    private String token;
+
+    @BeforeAll
+    static void startJobBoard() throws IOException {
+        jobBoard = StubJobBoard.start();
+    }
+
+    @AfterAll
+    static void stopJobBoard() {
+        jobBoard.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        token = registerUser().getAccessToken();
+        doNothing().when(hostPolicy).requirePublic("localhost");
+    }
+
+    @Test
+    void refusesLoopbackLinks() {
+        AtomicInteger fetches = new AtomicInteger();
+        jobBoard.route("/jobs/internal", exchange -> {
+            fetches.incrementAndGet();
+            StubJobBoard.respond(exchange, "text/html", POSTING.getBytes());
+        });
+
+        ResponseEntity<ErrorResponse> response = parse(jobBoard.url("/jobs/internal"), ErrorResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody().getMessage()).contains("is not a public address");
+        assertThat(fetches).hasValue(0);
+    }
+
+    @Test
+    void refusesRedirectsToPrivateAddresses() {
+        AtomicInteger fetches = new AtomicInteger();
+        jobBoard.route("/jobs/metadata", exchange -> {
+            fetches.incrementAndGet();
+            StubJobBoard.respond(exchange, "text/html", POSTING.getBytes());
+        });
+        jobBoard.redirect("/jobs/moved", jobBoard.url("/jobs/metadata"));
+
+        ResponseEntity<ErrorResponse> response = parse(localhost("/jobs/moved"), ErrorResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(fetches).hasValue(0);
+    }
+
+    @Test
+    void followsRedirectsBetweenAllowedHosts() {
+        jobBoard.page("/jobs/current", POSTING);
+        jobBoard.redirect("/jobs/old", localhost("/jobs/current"));
+
+        ResponseEntity<JobApplicationDTO> response = parse(localhost("/jobs/old"), JobApplicationDTO.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getTitle()).isEqualTo("Backend Engineer");
+    }
+
+    @Test
+    void stopsAfterTooManyRedirects() {
+        jobBoard.redirect("/jobs/loop", localhost("/jobs/loop"));
+
+        ResponseEntity<ErrorResponse> response = parse(localhost("/jobs/loop"), ErrorResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_GATEWAY);
+        assertThat(response.getBody().getMessage()).isEqualTo("Job link redirected too many times");
+    }
+
+    private static String localhost(String path) {
+        return jobBoard.url(path).replace("127.0.0.1", "localhost");
+    }
+
+    private <T> ResponseEntity<T> parse(String url, Class<T> responseType) {
+        return rest.exchange("/api/jobs/parse", HttpMethod.POST, authorized(token, url), responseType);
+    }
+}
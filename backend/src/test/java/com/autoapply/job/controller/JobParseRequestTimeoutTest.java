@@ -0,0 +1,44 @@
+package com.autoapply.job.controller;
+
+import com.autoapply.common.exception.ErrorResponse;
+import com.autoapply.support.IntegrationTest;
+import com.autoapply.support.StubJobBoard;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A parse that outlives spring.mvc.async.request-timeout (here shorter than the fetch
+ * timeout) is answered 503 when the async request times out, not 500.
+ */
+@TestPropertySource(properties = {
+        "spring.mvc.async.request-timeout=500ms",
+        "link-parser.fetch-timeout=10s"
+})
+class JobParseRequestTimeoutTest extends IntegrationTest {
+
+    @Test
+    void answersServiceUnavailableWhenTheAsyncRequestTimesOut() throws Exception {
+        String token = registerUser().getAccessToken();
+        try (StubJobBoard jobBoard = StubJobBoard.start()) {
+            jobBoard.route("/jobs/stalled", exchange -> {
+                JobParseEndpointTest.sleep(Duration.ofSeconds(3));
+                StubJobBoard.respond(exchange, "text/html", "<html></html>".getBytes());
+            });
+
+            long started = System.nanoTime();
+            ResponseEntity<ErrorResponse> response = rest.exchange("/api/jobs/parse", HttpMethod.POST,
+                    authorized(token, jobBoard.url("/jobs/stalled")), ErrorResponse.class);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+            assertThat(response.getHeaders().getFirst("Retry-After")).isEqualTo("1");
+            assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(3));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.autoapply.job.service;
+
+import com.autoapply.job.entity.JobApplication;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmailClassifierTest {
+    private final EmailClassifier classifier = new EmailClassifier();
+
+    @Test
+    void recognisesRejectionPhrases() {
+        assertThat(classifier.classify("Your application", "We regret to inform you that the role is closed."))
+                .contains(JobApplication.Status.REJECTED);
+        assertThat(classifier.classify("Update", "We have decided to proceed with other candidates."))
+                .contains(JobApplication.Status.REJECTED);
+        assertThat(classifier.classify("Acme Robotics", "Unfortunately we will not be moving forward with your application."))
+                .contains(JobApplication.Status.REJECTED);
+    }
+
+    @Test
+    void rejectionWinsOverAnInterviewMention() {
+        assertThat(classifier.classify("Following up",
+                "Thank you for your time. After your phone screen we regret to inform you that we will not continue."))
+                .contains(JobApplication.Status.REJECTED);
+    }
+
+    @Test
+    void recognisesOffersAndInterviews() {
+        assertThat(classifier.classify("Your offer", "We are pleased to extend an offer for the role."))
+                .contains(JobApplication.Status.OFFER);
+        assertThat(classifier.classify("Next round", "We would like to invite you to an onsite interview."))
+                .contains(JobApplication.Status.INTERVIEW);
+        assertThat(classifier.classify("Next round", "Could you share your availability for a call?"))
+                .contains(JobApplication.Status.INTERVIEW);
+    }
+
+    @Test
+    void mixedSignalsDoNotReject() {
+        assertThat(classifier.classify("Re: Thursday", "Unfortunately I'm out Friday, can we move the interview?"))
+                .isEmpty();
+        assertThat(classifier.classify("Re: Acme", "We are also talking to other candidates, so a quick reply helps."))
+                .isEmpty();
+        assertThat(classifier.classify("Re: Acme",
+                "We are speaking with other candidates too, but would like to invite you to an interview."))
+                .contains(JobApplication.Status.INTERVIEW);
+    }
+
+    @Test
+    void aBareInterviewMentionIsNotAnInvitation() {
+        assertThat(classifier.classify("Interview tips", "Five things to prepare before any interview."))
+                .isEmpty();
+        assertThat(classifier.classify(null, null)).isEmpty();
+    }
+}
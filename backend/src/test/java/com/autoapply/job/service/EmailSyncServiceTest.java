@@ -0,0 +1,170 @@
+package com.autoapply.job.service;
+
+import com.autoapply.common.scheduling.ClusterMembership;
+import com.autoapply.job.dto.CreateJobRequest;
+import com.autoapply.job.dto.EmailAccountRequest;
+import com.autoapply.job.dto.UpdateJobRequest;
+import com.autoapply.job.entity.EmailAccount;
+import com.autoapply.job.entity.JobApplication;
+import com.autoapply.job.repository.EmailAccountRepository;
+import com.autoapply.support.IntegrationTest;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.user.GreenMailUser;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Email sync against a GreenMail IMAPS server: statuses move on recruiting mail, later runs
+ * resume above the UID high-water mark, and a changed UIDVALIDITY starts the mark over.
+ */
+@TestPropertySource(properties = {
+        "email-sync.credentials-key=MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=",
+        // GreenMail listens on loopback with a self-signed certificate
+        "email-sync.allow-private-hosts=true",
+        "email-sync.ssl-trust=127.0.0.1"
+})
+class EmailSyncServiceTest extends IntegrationTest {
+    private static final String PASSWORD = "mailbox-secret";
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.IMAPS);
+
+    @Autowired
+    private EmailSyncService emailSyncService;
+    @Autowired
+    private EmailAccountService emailAccountService;
+    @Autowired
+    private EmailAccountRepository accountRepository;
+    @Autowired
+    private JobService jobService;
+    @Autowired
+    private ClusterMembership membership;
+
+    private Long userId;
+    private Long jobId;
+    private String address;
+    private GreenMailUser mailbox;
+
+    @BeforeEach
+    void connectMailbox() {
+        // Scheduling is off in tests; one heartbeat gives this node every partition
+        membership.heartbeat();
+
+        userId = registerUser().getUserId();
+        CreateJobRequest job = new CreateJobRequest();
+        job.setTitle("Backend Engineer");
+        job.setCompany("Acme Robotics");
+        job.setStatus(JobApplication.Status.APPLIED);
+        jobId = jobService.createJob(userId, job).getId();
+
+        address = "candidate-" + userId + "@example.com";
+        mailbox = greenMail.setUser(address, address, PASSWORD);
+        EmailAccountRequest account = new EmailAccountRequest();
+        account.setImapHost("127.0.0.1");
+        account.setImapPort(greenMail.getImaps().getPort());
+        account.setUsername(address);
+        account.setPassword(PASSWORD);
+        emailAccountService.saveAccount(userId, account);
+    }
+
+    @Test
+    void storesThePasswordEncrypted() throws Exception {
+        try (Connection connection = openConnection();
+             PreparedStatement select = connection.prepareStatement("SELECT password FROM email_accounts WHERE user_id = ?")) {
+            select.setLong(1, userId);
+            try (ResultSet rs = select.executeQuery()) {
+                assertThat(rs.next()).isTrue();
+                assertThat(rs.getString(1)).startsWith("v1:").doesNotContain(PASSWORD);
+            }
+        }
+    }
+
+    @Test
+    void resumesAboveTheHighWaterMark() {
+        deliver("Interview with Acme Robotics", "We would like to invite you to an interview next week.");
+
+        sync();
+
+        assertThat(status()).isEqualTo(JobApplication.Status.INTERVIEW);
+        EmailAccount synced = account();
+        assertThat(synced.getLastUid()).isEqualTo(1);
+        assertThat(synced.getUidValidity()).isEqualTo(folderUidValidity());
+        assertThat(synced.getLastError()).isNull();
+
+        // Already-read mail is not read again: the status set by hand stays
+        setStatus(JobApplication.Status.APPLIED);
+        sync();
+        assertThat(status()).isEqualTo(JobApplication.Status.APPLIED);
+        assertThat(account().getLastUid()).isEqualTo(1);
+
+        deliver("Your offer from Acme Robotics", "We are pleased to extend an offer for the role.");
+        sync();
+        assertThat(status()).isEqualTo(JobApplication.Status.OFFER);
+        assertThat(account().getLastUid()).isEqualTo(2);
+    }
+
+    @Test
+    void startsOverWhenUidValidityChanges() {
+        // As if the folder had been recreated: the stored mark belongs to an older UID numbering
+        EmailAccount stale = account();
+        stale.setUidValidity(folderUidValidity() + 1);
+        stale.setLastUid(1_000);
+        accountRepository.save(stale);
+        deliver("Interview with Acme Robotics", "Please share your availability for an interview.");
+
+        sync();
+
+        assertThat(status()).isEqualTo(JobApplication.Status.INTERVIEW);
+        EmailAccount synced = account();
+        assertThat(synced.getUidValidity()).isEqualTo(folderUidValidity());
+        assertThat(synced.getLastUid()).isEqualTo(1);
+
+        deliver("Acme Robotics: next round", "Unfortunately we will not be moving forward with your application.");
+        sync();
+        assertThat(status()).isEqualTo(JobApplication.Status.REJECTED);
+        assertThat(account().getLastUid()).isEqualTo(2);
+    }
+
+    private void deliver(String subject, String body) {
+        mailbox.deliver(GreenMailUtil.createTextEmail(address, "Acme Robotics Recruiting <jobs@acme.example>",
+                subject, body, greenMail.getImaps().getServerSetup()));
+    }
+
+    private void sync() {
+        emailSyncService.syncAccounts(List.of(account()));
+    }
+
+    private EmailAccount account() {
+        return accountRepository.findByUserId(userId).orElseThrow();
+    }
+
+    private long folderUidValidity() {
+        try {
+            return greenMail.getManagers().getImapHostManager().getInbox(mailbox).getUidValidity();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private JobApplication.Status status() {
+        return jobService.getJobById(jobId, userId).getStatus();
+    }
+
+    private void setStatus(JobApplication.Status status) {
+        UpdateJobRequest update = new UpdateJobRequest();
+        update.setStatus(status);
+        jobService.updateJob(jobId, userId, update);
+    }
+}
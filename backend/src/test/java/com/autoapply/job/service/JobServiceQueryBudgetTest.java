@@ -0,0 +1,130 @@
+package com.autoapply.job.service;
+
+import com.autoapply.common.metrics.QueryScope;
+import com.autoapply.job.dto.CreateJobRequest;
+import com.autoapply.job.dto.CursorPageDTO;
+import com.autoapply.job.dto.DashboardStatsDTO;
+import com.autoapply.job.dto.JobApplicationSummaryDTO;
+import com.autoapply.job.dto.JobListFilter;
+import com.autoapply.job.dto.UpdateJobRequest;
+import com.autoapply.job.entity.JobApplication;
+import com.autoapply.support.IntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statement budgets for the hot job paths. The budgets don't depend on how many jobs the
+ * user has, so a lazy association or a per-row query shows up here as an N+1 long before
+ * it shows up in latency.
+ */
+class JobServiceQueryBudgetTest extends IntegrationTest {
+    private static final int JOBS = 60;
+
+    @Autowired
+    private JobService jobService;
+
+    private Long userId;
+    private List<Long> jobIds;
+
+    @BeforeEach
+    void seedJobs() {
+        userId = registerUser().getUserId();
+        List<CreateJobRequest> requests = new ArrayList<>();
+        for (int i = 0; i < JOBS; i++) {
+            CreateJobRequest job = new CreateJobRequest();
+            job.setTitle("Engineer " + i);
+            job.setCompany(i % 2 == 0 ? "Acme Robotics" : "Globex");
+            job.setStatus(i % 3 == 0 ? JobApplication.Status.APPLIED : JobApplication.Status.SAVED);
+            job.setNotes("Notes for " + i);
+            requests.add(job);
+        }
+        jobIds = jobService.createJobs(userId, requests);
+    }
+
+    @Test
+    void listPageIsOneQuery() {
+        CursorPageDTO<JobApplicationSummaryDTO> first;
+        try (QueryScope queries = QueryScope.open()) {
+            first = jobService.getUserJobs(userId, null, null, 50);
+            queries.assertStatementsAtMost(2);
+            queries.assertNoStatementRepeatedMoreThan(1);
+        }
+        assertThat(first.getItems()).hasSize(50);
+        assertThat(first.isHasMore()).isTrue();
+
+        try (QueryScope queries = QueryScope.open()) {
+            CursorPageDTO<JobApplicationSummaryDTO> second =
+                    jobService.getUserJobs(userId, null, first.getNextCursor(), 50);
+            queries.assertStatementsAtMost(2);
+            queries.assertNoStatementRepeatedMoreThan(1);
+            assertThat(second.getItems()).hasSize(JOBS - 50);
+        }
+    }
+
+    @Test
+    void filteredListPageIsOneQuery() {
+        JobListFilter filter = JobListFilter.builder()
+                .statuses(List.of(JobApplication.Status.APPLIED))
+                .company("Acme")
+                .build();
+        try (QueryScope queries = QueryScope.open()) {
+            CursorPageDTO<JobApplicationSummaryDTO> page = jobService.getUserJobs(userId, filter, null, 50);
+            queries.assertStatementsAtMost(2);
+            queries.assertNoStatementRepeatedMoreThan(1);
+            // i % 6 == 0 among 0..59
+            assertThat(page.getItems()).hasSize(10);
+        }
+    }
+
+    @Test
+    void dashboardStatsReadTheCounters() {
+        try (QueryScope queries = QueryScope.open()) {
+            DashboardStatsDTO stats = jobService.getDashboardStats(userId);
+            // The counter rows, not a GROUP BY over the jobs
+            queries.assertStatementsAtMost(1);
+            assertThat(stats.getStatusBreakdown())
+                    .containsEntry(JobApplication.Status.APPLIED.name(), 20L)
+                    .containsEntry(JobApplication.Status.SAVED.name(), 40L);
+        }
+    }
+
+    @Test
+    void statusUpdateStaysWithinBudget() {
+        UpdateJobRequest update = new UpdateJobRequest();
+        update.setStatus(JobApplication.Status.INTERVIEW);
+        try (QueryScope queries = QueryScope.open()) {
+            jobService.updateJob(jobIds.get(1), userId, update);
+            // Version bump, row lock, job update, two counter upserts, outbox insert
+            queries.assertStatementsAtMost(6);
+            queries.assertNoStatementRepeatedMoreThan(2);
+        }
+        assertThat(jobService.getJobById(jobIds.get(1), userId).getStatus())
+                .isEqualTo(JobApplication.Status.INTERVIEW);
+    }
+
+    @Test
+    void batchStatusUpdateDoesNotScaleWithTheBatch() {
+        Map<Long, JobApplication.Status> updates = new LinkedHashMap<>();
+        for (Long id : jobIds.subList(0, 40)) {
+            updates.put(id, JobApplication.Status.REJECTED);
+        }
+        try (QueryScope queries = QueryScope.open()) {
+            int changed = jobService.applyStatusUpdates(userId, updates, (from, to) -> true);
+            assertThat(changed).isEqualTo(40);
+            // Version bump, one locking select, one JDBC batch of updates, one counter upsert
+            // per status touched, one outbox batch
+            queries.assertStatementsAtMost(7);
+            queries.assertNoStatementRepeatedMoreThan(3);
+        }
+        assertThat(jobService.getDashboardStats(userId).getStatusBreakdown())
+                .containsEntry(JobApplication.Status.REJECTED.name(), 40L);
+    }
+}
@@ -0,0 +1,218 @@
+package com.autoapply.mail.service;
+
+import com.autoapply.support.IntegrationTest;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The mail dispatcher against a GreenMail SMTP server: batches share connections, transient
+ * failures back off exponentially, rejected addresses fail at once, and mail over the
+ * per-domain rate goes back to the queue without using up an attempt. Scheduling is off in
+ * tests, so each test runs the poll itself. Every test uses its own recipient domains, as the
+ * domain buckets live as long as the dispatcher.
+ */
+@TestPropertySource(properties = {
+        "spring.mail.host=127.0.0.1",
+        "spring.mail.port=3025",
+        "mail.dispatcher.messages-per-connection=2",
+        "mail.dispatcher.retry-backoff=30s",
+        "mail.dispatcher.max-retry-backoff=1h",
+        "mail.rate-limit.global-per-second=1000",
+        "mail.rate-limit.per-domain-per-minute=3"
+})
+class MailDispatcherTest extends IntegrationTest {
+    private static final String CATEGORY = "dispatcher-test";
+    /** Fixed port: the server is stopped and started again within a test. */
+    private static final GreenMail smtp = startSmtp();
+
+    @Autowired
+    private MailDispatcher dispatcher;
+    @Autowired
+    private MailQueue mailQueue;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private static GreenMail startSmtp() {
+        GreenMail greenMail = new GreenMail(ServerSetupTest.SMTP);
+        greenMail.start();
+        return greenMail;
+    }
+
+    @AfterAll
+    static void stopSmtp() {
+        smtp.stop();
+    }
+
+    @BeforeEach
+    void emptyQueue() throws Exception {
+        smtp.purgeEmailFromAllMailboxes();
+        try (Connection connection = openConnection(); Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DELETE FROM mail_messages");
+        }
+    }
+
+    @Test
+    void sendsABatchOverSharedConnections() throws Exception {
+        double sessionsBefore = sessions("success");
+        for (int i = 0; i < 5; i++) {
+            mailQueue.enqueue("user@" + domain("batch-" + i), "Message " + i, "Body " + i, CATEGORY);
+        }
+
+        dispatcher.dispatch();
+
+        assertThat(smtp.getReceivedMessages()).hasSize(5);
+        // Two messages per connection
+        assertThat(sessions("success") - sessionsBefore).isEqualTo(3);
+        assertThat(queued()).isZero();
+    }
+
+    @Test
+    void retriesTransientFailuresWithBackoff() throws Exception {
+        String recipient = "user@" + domain("retry");
+        mailQueue.enqueue(recipient, "Your reset link", "https://example.com/reset", CATEGORY);
+
+        smtp.stop();
+        try {
+            dispatcher.dispatch();
+            MailRow first = row(recipient);
+            assertThat(first.status()).isEqualTo("PENDING");
+            assertThat(first.attempts()).isEqualTo(1);
+            assertThat(first.lastError()).isNotBlank();
+            assertThat(first.dueInSeconds()).isBetween(25.0, 31.0);
+
+            // Not due yet: the next poll leaves it alone
+            dispatcher.dispatch();
+            assertThat(row(recipient).attempts()).isEqualTo(1);
+
+            makeDue(recipient);
+            dispatcher.dispatch();
+            MailRow second = row(recipient);
+            assertThat(second.attempts()).isEqualTo(2);
+            assertThat(second.dueInSeconds()).isBetween(55.0, 61.0);
+        } finally {
+            smtp.start();
+        }
+
+        makeDue(recipient);
+        dispatcher.dispatch();
+        assertThat(smtp.getReceivedMessages()).extracting(MimeMessage::getSubject).containsExactly("Your reset link");
+        assertThat(queued()).isZero();
+    }
+
+    @Test
+    void failsRejectedAddressesWithoutRetrying() throws Exception {
+        double failedBefore = messages("failed");
+        String recipient = "<broken@" + domain("permanent");
+        String valid = "user@" + domain("permanent-neighbour");
+        mailQueue.enqueue(recipient, "Subject", "https://example.com/reset?token=secret", CATEGORY);
+        mailQueue.enqueue(valid, "Subject", "Body", CATEGORY);
+
+        dispatcher.dispatch();
+
+        MailRow failed = row(recipient);
+        assertThat(failed.status()).isEqualTo("FAILED");
+        assertThat(failed.attempts()).isEqualTo(1);
+        assertThat(failed.lastError()).contains("AddressException");
+        // Bodies can carry credentials and are not kept for failed mail
+        assertThat(failed.body()).isEmpty();
+        assertThat(messages("failed") - failedBefore).isEqualTo(1);
+        // The rest of the session still went out
+        assertThat(smtp.getReceivedMessages()).hasSize(1);
+        assertThat(queued()).isZero();
+    }
+
+    @Test
+    void defersMailOverTheDomainRate() throws Exception {
+        double deferredBefore = messages("deferred");
+        String domain = domain("throttled");
+        for (int i = 0; i < 5; i++) {
+            mailQueue.enqueue("user" + i + "@" + domain, "Message " + i, "Body", CATEGORY);
+        }
+
+        dispatcher.dispatch();
+
+        // A bucket of 3 per minute admits 3 at once; the others wait for a refill (20 s per token)
+        assertThat(smtp.getReceivedMessagesForDomain(domain)).hasSize(3);
+        assertThat(messages("deferred") - deferredBefore).isEqualTo(2);
+        for (int i = 3; i < 5; i++) {
+            MailRow deferred = row("user" + i + "@" + domain);
+            assertThat(deferred.status()).isEqualTo("PENDING");
+            // Deferral gives the attempt back
+            assertThat(deferred.attempts()).isZero();
+            assertThat(deferred.dueInSeconds()).isGreaterThan(10.0);
+        }
+
+        // Due or not, the bucket is still empty: back to the queue again
+        makeDue("user3@" + domain);
+        dispatcher.dispatch();
+        assertThat(smtp.getReceivedMessagesForDomain(domain)).hasSize(3);
+        assertThat(row("user3@" + domain).attempts()).isZero();
+    }
+
+    private static String domain(String label) {
+        return label + "-" + UUID.randomUUID().toString().substring(0, 8) + ".example.com";
+    }
+
+    private double sessions(String outcome) {
+        Timer timer = meterRegistry.find("mail.smtp.session").tag("outcome", outcome).timer();
+        return timer != null ? timer.count() : 0;
+    }
+
+    private double messages(String outcome) {
+        Counter counter = meterRegistry.find("mail.messages").tags("category", CATEGORY, "outcome", outcome).counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    private static void makeDue(String recipient) throws SQLException {
+        try (Connection connection = openConnection();
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE mail_messages SET available_at = now() WHERE recipient = ?")) {
+            update.setString(1, recipient);
+            update.executeUpdate();
+        }
+    }
+
+    private static int queued() throws SQLException {
+        try (Connection connection = openConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT count(*) FROM mail_messages WHERE status = 'PENDING'")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private static MailRow row(String recipient) throws SQLException {
+        try (Connection connection = openConnection();
+             PreparedStatement select = connection.prepareStatement("""
+                     SELECT status, attempts, last_error, body, EXTRACT(EPOCH FROM available_at - now())
+                     FROM mail_messages WHERE recipient = ?
+                     """)) {
+            select.setString(1, recipient);
+            try (ResultSet rs = select.executeQuery()) {
+                assertThat(rs.next()).as("queued mail to %s", recipient).isTrue();
+                return new MailRow(rs.getString(1), rs.getInt(2), rs.getString(3), rs.getString(4), rs.getDouble(5));
+            }
+        }
+    }
+
+    private record MailRow(String status, int attempts, String lastError, String body, double dueInSeconds) {
+    }
+}
@@ -0,0 +1,57 @@
+package com.autoapply.mail.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenBucketTest {
+
+    @Test
+    void admitsUpToCapacityThenWaitsForARefill() {
+        TokenBucket bucket = new TokenBucket(3, 1);
+
+        assertThat(bucket.tryAcquire()).isTrue();
+        assertThat(bucket.tryAcquire()).isTrue();
+        assertThat(bucket.tryAcquire()).isTrue();
+        assertThat(bucket.tryAcquire()).isFalse();
+        assertThat(bucket.nanosUntilAvailable()).isPositive().isLessThanOrEqualTo(1_000_000_000L);
+    }
+
+    @Test
+    void refundReturnsAnUnusedToken() {
+        TokenBucket bucket = new TokenBucket(1, 0.001);
+        assertThat(bucket.tryAcquire()).isTrue();
+        assertThat(bucket.tryAcquire()).isFalse();
+
+        bucket.refund();
+
+        assertThat(bucket.nanosUntilAvailable()).isZero();
+        assertThat(bucket.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void refundNeverExceedsCapacity() {
+        TokenBucket bucket = new TokenBucket(1, 0.001);
+        bucket.refund();
+
+        assertThat(bucket.tryAcquire()).isTrue();
+        assertThat(bucket.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void refillsOverTime() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(1, 5);
+        assertThat(bucket.tryAcquire()).isTrue();
+
+        Thread.sleep(300);
+
+        assertThat(bucket.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void rejectsEmptyBuckets() {
+        assertThatThrownBy(() -> new TokenBucket(0.5, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucket(1, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,114 @@
+package com.autoapply.support;
+
+import com.autoapply.auth.dto.AuthResponse;
+import com.autoapply.auth.dto.RegisterRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the application on a random port against Postgres in Docker. One container serves
+ * every test class in the JVM; the migrations from {@code database/migrations} are applied
+ * to it in file name order, as on a fresh install. Scheduled jobs are off so tests trigger
+ * background work themselves. Test classes share the data, so each registers its own users.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.flyway.enabled=false",
+        "scheduling.enabled=false",
+        // Every test registers from localhost
+        "auth.throttle.ip.max-attempts=100000000",
+        "logging.level.org.springframework.security=WARN"
+})
+public abstract class IntegrationTest {
+    private static final Path MIGRATIONS = Path.of("../database/migrations");
+    private static final PostgreSQLContainer<?> POSTGRES = startPostgres();
+
+    @Autowired
+    protected TestRestTemplate rest;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    private static PostgreSQLContainer<?> startPostgres() {
+        PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+                .withDatabaseName("autoapply");
+        // Stopped by Testcontainers' resource reaper when the JVM exits
+        postgres.start();
+        try (Connection connection = DriverManager.getConnection(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())) {
+            migrate(connection);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not apply migrations", e);
+        }
+        return postgres;
+    }
+
+    /** Applies every migration, in file name order. */
+    protected static void migrate(Connection connection) throws SQLException {
+        List<Path> scripts;
+        try (Stream<Path> files = Files.list(MIGRATIONS)) {
+            scripts = files.filter(file -> file.getFileName().toString().endsWith(".sql")).sorted().toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try (Statement statement = connection.createStatement()) {
+            for (Path script : scripts) {
+                statement.execute(Files.readString(script));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Direct connection to the test database, outside the application's pool. */
+    protected static Connection openConnection() throws SQLException {
+        return DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+    }
+
+    /** Registers a fresh user through the API. */
+    protected AuthResponse registerUser() {
+        RegisterRequest request = new RegisterRequest();
+        request.setEmail("user-" + UUID.randomUUID() + "@example.com");
+        request.setPassword("correct-horse-battery");
+        ResponseEntity<AuthResponse> response = rest.postForEntity("/api/auth/register", request, AuthResponse.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+
+    protected static HttpHeaders bearer(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return headers;
+    }
+
+    protected static <T> HttpEntity<T> authorized(String token, T body) {
+        return new HttpEntity<>(body, bearer(token));
+    }
+}
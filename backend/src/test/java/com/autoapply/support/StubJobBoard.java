@@ -0,0 +1,78 @@
+package com.autoapply.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Local HTTP server standing in for a job board, so link parsing is tested without the
+ * network. Each request is handled on its own virtual thread, so handlers may block.
+ */
+public final class StubJobBoard implements AutoCloseable {
+    private final HttpServer server;
+    private final ExecutorService handlers;
+
+    private StubJobBoard(HttpServer server, ExecutorService handlers) {
+        this.server = server;
+        this.handlers = handlers;
+    }
+
+    public static StubJobBoard start() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        ExecutorService handlers = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(handlers);
+        server.start();
+        return new StubJobBoard(server, handlers);
+    }
+
+    /** Serves {@code handler} at {@code path}, replacing whatever was served there. */
+    public StubJobBoard route(String path, HttpHandler handler) {
+        try {
+            server.removeContext(path);
+        } catch (IllegalArgumentException e) {
+            // Not routed yet
+        }
+        server.createContext(path, handler);
+        return this;
+    }
+
+    public StubJobBoard page(String path, String html) {
+        return route(path, exchange -> respond(exchange, "text/html; charset=utf-8",
+                html.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /** Answers {@code 302 Found} pointing at {@code location}. */
+    public StubJobBoard redirect(String path, String location) {
+        return route(path, exchange -> {
+            exchange.getResponseHeaders().set("Location", location);
+            exchange.sendResponseHeaders(302, -1);
+            exchange.close();
+        });
+    }
+
+    public String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    public static void respond(HttpExchange exchange, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        handlers.shutdownNow();
+    }
+}
@@ -42,6 +42,8 @@ loginForm.addEventListener('submit', async (e) => {
         }
 
         const data = await response.json();
+        // The local copy may belong to a previous account
+        await chrome.storage.local.remove('jobReplica');
         await saveToken(data.accessToken);
         showMainContainer();
         loadJobs();
@@ -52,18 +54,38 @@ loginForm.addEventListener('submit', async (e) => {
 
 // Logout handler
 logoutBtn.addEventListener('click', async () => {
-    await chrome.storage.local.remove('token');
+    await chrome.storage.local.remove(['token', 'jobReplica']);
     showLoginContainer();
     loginForm.reset();
 });
 
-// Load jobs
+// Load jobs: sync the local copy with the server and render it
 async function loadJobs() {
     const token = await getToken();
     if (!token) return;
 
+    let replica = await getReplica();
+    if (replica.jobs && Object.keys(replica.jobs).length > 0) {
+        displayJobs(sortedJobs(replica.jobs));
+    }
+
     try {
-        const response = await fetch(`${API_BASE_URL}/jobs`, {
+        replica = await syncReplica(token, replica);
+        await chrome.storage.local.set({ jobReplica: replica });
+        displayJobs(sortedJobs(replica.jobs));
+    } catch (error) {
+        jobsList.innerHTML = `<div class="error">Failed to load jobs: ${error.message}</div>`;
+    }
+}
+
+// Pull changes since the stored sync token until caught up
+async function syncReplica(token, replica) {
+    let jobs = { ...(replica.jobs || {}) };
+    let syncToken = replica.syncToken;
+
+    while (true) {
+        const query = syncToken ? `?since=${encodeURIComponent(syncToken)}` : '';
+        const response = await fetch(`${API_BASE_URL}/jobs/changes${query}`, {
             headers: {
                 'Authorization': `Bearer ${token}`,
             },
@@ -73,13 +95,34 @@ async function loadJobs() {
             throw new Error('Failed to load jobs');
         }
 
-        const jobs = await response.json();
-        displayJobs(jobs);
-    } catch (error) {
-        jobsList.innerHTML = `<div class="error">Failed to load jobs: ${error.message}</div>`;
+        const changes = await response.json();
+        if (changes.resyncRequired) {
+            jobs = {};
+            syncToken = null;
+            continue;
+        }
+
+        changes.upserts.forEach(job => { jobs[job.id] = job; });
+        changes.deletedIds.forEach(id => { delete jobs[id]; });
+        syncToken = changes.syncToken;
+
+        if (!changes.hasMore) {
+            return { syncToken, jobs };
+        }
     }
 }
 
+function sortedJobs(jobs) {
+    return Object.values(jobs)
+        .sort((a, b) => (b.createdAt || '').localeCompare(a.createdAt || '') || b.id - a.id)
+        .slice(0, 50);
+}
+
+async function getReplica() {
+    const result = await chrome.storage.local.get('jobReplica');
+    return result.jobReplica || {};
+}
+
 // Display jobs
 function displayJobs(jobs) {
     if (jobs.length === 0) {
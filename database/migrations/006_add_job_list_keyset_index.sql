@@ -0,0 +1,11 @@
+-- Composite index backing keyset (cursor) pagination of a user's job list.
+-- Matches the list ordering (created_at DESC, id DESC) so pages are read
+-- straight off the index without a sort.
+-- Safe to run multiple times
+
+CREATE INDEX IF NOT EXISTS idx_applications_user_created_id
+    ON job_applications (user_id, created_at DESC, id DESC);
+
+-- user_id is the leading column of the index above, so the single-column
+-- index is redundant and only adds write overhead
+DROP INDEX IF EXISTS idx_applications_user_id;
@@ -0,0 +1,19 @@
+-- Per-user job status counters for the dashboard.
+-- Maintained incrementally by the backend in the same transaction as job writes
+-- and periodically reconciled against job_applications.
+-- Safe to run multiple times
+
+CREATE TABLE IF NOT EXISTS job_status_counters (
+    user_id BIGINT NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    job_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, status),
+    CONSTRAINT fk_status_counter_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+-- Backfill from existing applications
+INSERT INTO job_status_counters (user_id, status, job_count)
+SELECT user_id, status, COUNT(*)
+FROM job_applications
+GROUP BY user_id, status
+ON CONFLICT (user_id, status) DO UPDATE SET job_count = EXCLUDED.job_count;
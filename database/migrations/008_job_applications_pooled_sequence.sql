@@ -0,0 +1,6 @@
+-- Switch job_applications ids to pooled sequence allocation.
+-- The backend reserves ids 50 at a time (allocationSize = 50 on JobApplication.id),
+-- which lets Hibernate batch inserts instead of one IDENTITY round trip per row.
+-- The increment must match the entity's allocationSize.
+
+ALTER SEQUENCE job_applications_id_seq INCREMENT BY 50;
@@ -0,0 +1,29 @@
+-- IMAP mailboxes connected for email-based application status sync.
+-- uid_validity / last_uid form the per-mailbox high-water mark so each sync
+-- run only fetches messages it hasn't seen.
+-- Safe to run multiple times
+
+CREATE TABLE IF NOT EXISTS email_accounts (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL UNIQUE,
+    imap_host VARCHAR(255) NOT NULL,
+    imap_port INTEGER NOT NULL DEFAULT 993,
+    use_ssl BOOLEAN NOT NULL DEFAULT TRUE,
+    username VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    folder VARCHAR(255) NOT NULL DEFAULT 'INBOX',
+    uid_validity BIGINT,
+    last_uid BIGINT NOT NULL DEFAULT 0,
+    last_synced_at TIMESTAMP,
+    last_error TEXT,
+    enabled BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_email_account_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_email_accounts_enabled ON email_accounts(enabled) WHERE enabled;
+
+DROP TRIGGER IF EXISTS update_email_accounts_updated_at ON email_accounts;
+CREATE TRIGGER update_email_accounts_updated_at BEFORE UPDATE ON email_accounts
+    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
@@ -0,0 +1,30 @@
+-- Full-text search over a user's job applications (GET /api/jobs/search).
+-- The tsvector is a generated column so it can never drift from the source
+-- columns. Title and company weigh most, then notes, then the description.
+-- Safe to run multiple times
+
+DO $$
+BEGIN
+    IF NOT EXISTS (
+        SELECT 1
+        FROM information_schema.columns
+        WHERE table_name = 'job_applications'
+        AND column_name = 'search_vector'
+    ) THEN
+        -- The description is truncated because a tsvector is limited to 1MB
+        ALTER TABLE job_applications
+        ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+            setweight(to_tsvector('english', coalesce(job_title, '')), 'A') ||
+            setweight(to_tsvector('english', coalesce(company_name, '')), 'A') ||
+            setweight(to_tsvector('english', coalesce(notes, '')), 'B') ||
+            setweight(to_tsvector('english', left(coalesce(description, ''), 100000)), 'C')
+        ) STORED;
+    END IF;
+END $$;
+
+-- btree_gin lets user_id sit in the same GIN index as the vector, so a search
+-- only visits the calling user's matching rows
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+CREATE INDEX IF NOT EXISTS idx_applications_search
+    ON job_applications USING GIN (user_id, search_vector);
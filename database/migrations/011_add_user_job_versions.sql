@@ -0,0 +1,12 @@
+-- Per-user version of the job collection, bumped in the same transaction as
+-- every job write. Used as the ETag of GET /api/jobs and /api/jobs/stats so
+-- unchanged collections can be answered with 304 without reading job rows.
+-- A missing row means version 0.
+-- Safe to run multiple times
+
+CREATE TABLE IF NOT EXISTS user_job_versions (
+    user_id BIGINT PRIMARY KEY,
+    version BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_job_version_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
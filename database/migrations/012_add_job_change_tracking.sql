@@ -0,0 +1,29 @@
+-- Delta sync (GET /api/jobs/changes): every job row records the collection
+-- version of the write that last touched it, and deletes leave tombstones.
+-- Tombstones are purged after a retention period; user_job_versions.purged_through
+-- records the newest purged change so stale sync tokens can be told to resync.
+-- Safe to run multiple times
+
+ALTER TABLE job_applications ADD COLUMN IF NOT EXISTS change_seq BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE job_applications ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMP;
+
+ALTER TABLE user_job_versions ADD COLUMN IF NOT EXISTS purged_through BIGINT NOT NULL DEFAULT 0;
+
+-- Existing rows belong to the current version of their user's collection;
+-- every user with jobs gets a version so no row keeps change_seq 0
+INSERT INTO user_job_versions (user_id, version)
+SELECT DISTINCT user_id, 1 FROM job_applications
+ON CONFLICT (user_id) DO NOTHING;
+
+UPDATE job_applications j
+SET change_seq = v.version
+FROM user_job_versions v
+WHERE v.user_id = j.user_id AND j.change_seq = 0;
+
+CREATE INDEX IF NOT EXISTS idx_applications_user_change_seq
+    ON job_applications (user_id, change_seq, id);
+
+-- Lets the purge job find expired tombstones without scanning live rows
+CREATE INDEX IF NOT EXISTS idx_applications_deleted_at
+    ON job_applications (deleted_at)
+    WHERE deleted_at IS NOT NULL;
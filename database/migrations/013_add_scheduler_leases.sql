@@ -0,0 +1,29 @@
+-- Coordination for background jobs when several backend instances share one database.
+-- scheduler_nodes: live instances, kept alive by a heartbeat and removed when it stops.
+-- scheduler_partitions: users are split into a fixed number of partitions by user_id;
+-- each partition is leased to at most one node, which runs per-user jobs (email sync)
+-- for the users in it. Nodes take or hand back partitions as others join or leave.
+-- scheduler_leases: jobs that must run on one node at a time (counter reconciliation,
+-- tombstone purge). Partition rows are created by the backend for its configured count.
+-- Times are TIMESTAMPTZ and always come from the database clock (now()), so nodes in
+-- different time zones or with skewed clocks agree on expiry.
+-- Safe to run multiple times
+
+CREATE TABLE IF NOT EXISTS scheduler_nodes (
+    node_id VARCHAR(255) PRIMARY KEY,
+    started_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    heartbeat_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS scheduler_partitions (
+    partition_no INTEGER PRIMARY KEY,
+    owner VARCHAR(255),
+    expires_at TIMESTAMPTZ
+);
+
+CREATE TABLE IF NOT EXISTS scheduler_leases (
+    name VARCHAR(100) PRIMARY KEY,
+    owner VARCHAR(255) NOT NULL,
+    acquired_at TIMESTAMPTZ NOT NULL,
+    expires_at TIMESTAMPTZ NOT NULL
+);
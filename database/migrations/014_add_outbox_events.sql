@@ -0,0 +1,20 @@
+-- Transactional outbox: events are inserted in the same transaction as the change
+-- they describe, and a relay on each backend instance delivers them to in-process
+-- subscribers afterwards. Delivered events are deleted. A relay claims a batch by
+-- pushing available_at into the future, so a relay that dies mid-batch only delays
+-- delivery. Events that exhaust their attempts stay with last_error for inspection.
+-- Safe to run multiple times
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    event_type VARCHAR(100) NOT NULL,
+    user_id BIGINT,
+    payload JSONB NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    available_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error TEXT
+);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_events_available
+    ON outbox_events (available_at, id);
@@ -0,0 +1,23 @@
+-- Outbound mail queue. Requests only insert here; a dispatcher on each backend
+-- instance claims due messages (FOR UPDATE SKIP LOCKED), sends them over SMTP in
+-- batches per connection within global and per-domain rate limits, and deletes them
+-- once accepted by the server. Transient failures are retried with backoff; messages
+-- that fail permanently or exhaust their attempts are kept as FAILED without a body.
+-- Safe to run multiple times
+
+CREATE TABLE IF NOT EXISTS mail_messages (
+    id BIGSERIAL PRIMARY KEY,
+    recipient VARCHAR(320) NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    body TEXT NOT NULL,
+    category VARCHAR(50) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    available_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_error TEXT,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_mail_messages_pending
+    ON mail_messages (available_at, id)
+    WHERE status = 'PENDING';
@@ -0,0 +1,10 @@
+-- Password reset tokens are now stored as SHA-256 hashes (hex) in the token column;
+-- the raw token only ever appears in the reset email. Rows written before this
+-- cannot match a hashed lookup, so they are removed.
+-- The UNIQUE constraint on token already provides the lookup index, so the extra one
+-- only added write and vacuum work under heavy reset traffic.
+-- Safe to run multiple times
+
+DELETE FROM password_reset_tokens WHERE length(token) <> 64;
+
+DROP INDEX IF EXISTS idx_reset_tokens_token;
@@ -0,0 +1,7 @@
+-- Per-user token epoch, copied into every access token at issue. Verification rejects a
+-- token whose epoch is not the user's current one, so bumping it revokes every token
+-- already issued to the account (password reset, role change). Existing tokens carry
+-- no epoch and count as 0, so they stay valid until the first bump.
+-- Safe to run multiple times
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS token_epoch INTEGER NOT NULL DEFAULT 0;
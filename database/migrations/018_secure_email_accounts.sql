@@ -0,0 +1,17 @@
+-- IMAP passwords are now stored encrypted (AES-GCM, "v1:" + base64), which no longer fits
+-- VARCHAR(255). Rows written before this still hold plaintext; the backend encrypts them
+-- at startup once email-sync.credentials-key is set.
+-- Mailboxes are only read over TLS: accounts connected without it are disabled until
+-- their owner reconnects them with TLS.
+-- Safe to run multiple times
+
+ALTER TABLE email_accounts ALTER COLUMN password TYPE TEXT;
+
+UPDATE email_accounts
+SET enabled = FALSE,
+    use_ssl = TRUE,
+    last_error = 'Mailbox disabled: IMAP without TLS is no longer supported; reconnect it with TLS'
+WHERE NOT use_ssl;
+
+ALTER TABLE email_accounts DROP CONSTRAINT IF EXISTS chk_email_accounts_tls;
+ALTER TABLE email_accounts ADD CONSTRAINT chk_email_accounts_tls CHECK (use_ssl);
@@ -1,7 +1,8 @@
 import axios from 'axios'
-import { getToken } from '../utils/storage'
+import { getReadAfter, getToken, setReadAfter } from '../utils/storage'
 
 const API_BASE_URL = import.meta.env?.VITE_API_BASE_URL || ''
+const READ_AFTER_HEADER = 'X-Read-After'
 
 export const http = axios.create({
   baseURL: API_BASE_URL,
@@ -17,7 +18,30 @@ http.interceptors.request.use((config) => {
     config.headers = config.headers ?? {}
     config.headers.Authorization = `Bearer ${token}`
   }
+  const readAfter = getReadAfter()
+  if (readAfter) {
+    config.headers = config.headers ?? {}
+    config.headers[READ_AFTER_HEADER] = readAfter
+  }
   return config
 })
 
+// Responses to writes carry the database position of the write; sending the latest one back
+// keeps later reads from landing on a replica that has not caught up, on any backend instance
+http.interceptors.response.use((response) => {
+  const position = response.headers?.[READ_AFTER_HEADER.toLowerCase()]
+  if (position && isAfter(position, getReadAfter())) {
+    setReadAfter(position)
+  }
+  return response
+})
 
+// Positions look like 16/B374D848; responses to parallel requests can arrive out of order
+function isAfter(position, current) {
+  if (!current) {
+    return true
+  }
+  const [high, low] = position.split('/').map((part) => parseInt(part, 16))
+  const [currentHigh, currentLow] = current.split('/').map((part) => parseInt(part, 16))
+  return high > currentHigh || (high === currentHigh && low > currentLow)
+}
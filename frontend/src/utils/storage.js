@@ -13,3 +13,13 @@ export function clearToken() {
 }
 
 
+const READ_AFTER_KEY = 'readAfter'
+
+// Per tab: the WAL position of this tab's latest write, so a reload still reads it back
+export function getReadAfter() {
+  return sessionStorage.getItem(READ_AFTER_KEY)
+}
+
+export function setReadAfter(position) {
+  sessionStorage.setItem(READ_AFTER_KEY, position)
+}